@@ -30,13 +30,16 @@ import java.util.List;
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonPropertyOrder({ "keepAPIOnDelete", "artifacts", "importers" })
+@JsonPropertyOrder({ "keepAPIOnDelete", "maxConcurrentImports", "artifacts", "importers" })
 @Buildable(editableEnabled = false, builderPackage = "io.fabric8.kubernetes.api.builder")
 public class APISourceSpec {
 
    @JsonPropertyDescription("Flag to keep API when deleting an artifact. Default is false")
    private boolean keepAPIOnDelete = false;
 
+   @JsonPropertyDescription("Maximum number of artifacts imported concurrently. Default is 4")
+   private int maxConcurrentImports = 4;
+
    @JsonPropertyDescription("A list of Artifacts to import into Microcks instance")
    private List<ArtifactSpec> artifacts;
 
@@ -51,6 +54,14 @@ public class APISourceSpec {
       this.keepAPIOnDelete = keepAPIOnDelete;
    }
 
+   public int getMaxConcurrentImports() {
+      return maxConcurrentImports;
+   }
+
+   public void setMaxConcurrentImports(int maxConcurrentImports) {
+      this.maxConcurrentImports = maxConcurrentImports;
+   }
+
    public List<ArtifactSpec> getArtifacts() {
       return artifacts != null ? artifacts : Collections.emptyList();
    }
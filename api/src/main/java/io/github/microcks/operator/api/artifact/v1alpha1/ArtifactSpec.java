@@ -27,7 +27,7 @@ import io.sundr.builder.annotations.Buildable;
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonPropertyOrder({ "url", "mainArtifact", "secretRef" })
+@JsonPropertyOrder({ "url", "mainArtifact", "secretRef", "skipUnchanged" })
 @Buildable(editableEnabled = false, builderPackage = "io.fabric8.kubernetes.api.builder")
 public class ArtifactSpec {
 
@@ -40,6 +40,9 @@ public class ArtifactSpec {
    @JsonPropertyDescription("Reference to a Secret for accessing the artifact url")
    private String secretRef;
 
+   @JsonPropertyDescription("Let the operator fetch the artifact url to skip its import when unchanged. Defaults to false")
+   private boolean skipUnchanged = false;
+
    public String getUrl() {
       return url;
    }
@@ -63,4 +66,12 @@ public class ArtifactSpec {
    public void setSecretRef(String secretRef) {
       this.secretRef = secretRef;
    }
+
+   public boolean isSkipUnchanged() {
+      return skipUnchanged;
+   }
+
+   public void setSkipUnchanged(boolean skipUnchanged) {
+      this.skipUnchanged = skipUnchanged;
+   }
 }
@@ -36,7 +36,8 @@ import java.util.Map;
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({ "version", "microcks", "postman", "keycloak", "mongodb", "features",
-      "clusterDomain", "commonLabels", "commonAnnotations", "commonAffinities", "commonTolerations", "commonExpositions" })
+      "clusterDomain", "commonLabels", "commonAnnotations", "commonAffinities", "commonTolerations", "commonExpositions",
+      "operatorClient" })
 @Buildable(editableEnabled = false, builderPackage = "io.fabric8.kubernetes.api.builder")
 public class MicrocksSpec {
 
@@ -77,6 +78,9 @@ public class MicrocksSpec {
    @JsonPropertyDescription("Common exposition settings that applies to all managed resources")
    private ExpositionSpec commonExpositions;
 
+   @JsonPropertyDescription("Limits of the requests sent by the operator to this instance")
+   private OperatorClientSpec operatorClient;
+
    public String getVersion() {
       return version;
    }
@@ -172,4 +176,12 @@ public class MicrocksSpec {
    public void setCommonExpositions(ExpositionSpec commonExpositions) {
       this.commonExpositions = commonExpositions;
    }
+
+   public OperatorClientSpec getOperatorClient() {
+      return operatorClient;
+   }
+
+   public void setOperatorClient(OperatorClientSpec operatorClient) {
+      this.operatorClient = operatorClient;
+   }
 }
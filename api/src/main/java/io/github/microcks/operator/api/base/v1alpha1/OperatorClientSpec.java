@@ -0,0 +1,76 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.api.base.v1alpha1;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * Representation of the limits applied by the operator to the requests it sends to a Microcks installation. Unset
+ * limits default to the operator configuration.
+ * @author laurent
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Buildable(editableEnabled = false, builderPackage = "io.fabric8.kubernetes.api.builder")
+public class OperatorClientSpec {
+
+   @JsonPropertyDescription("Maximum number of concurrent requests sent by the operator to this instance and its Keycloak. Default is 8.")
+   private Integer maxConcurrentRequests;
+
+   @JsonPropertyDescription("Sustained rate of requests per second sent by the operator to this instance and its Keycloak. Default is 10.")
+   private Double requestsPerSecond;
+
+   @JsonPropertyDescription("Number of requests that may be sent at once above the sustained rate. Default is 20.")
+   private Integer burst;
+
+   @JsonPropertyDescription("Maximum delay in seconds randomly applied to the first reconciliation of existing dependent resources after an operator restart. Default is 30.")
+   private Integer initialReconcileJitterSeconds;
+
+   public Integer getMaxConcurrentRequests() {
+      return maxConcurrentRequests;
+   }
+
+   public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+      this.maxConcurrentRequests = maxConcurrentRequests;
+   }
+
+   public Double getRequestsPerSecond() {
+      return requestsPerSecond;
+   }
+
+   public void setRequestsPerSecond(Double requestsPerSecond) {
+      this.requestsPerSecond = requestsPerSecond;
+   }
+
+   public Integer getBurst() {
+      return burst;
+   }
+
+   public void setBurst(Integer burst) {
+      this.burst = burst;
+   }
+
+   public Integer getInitialReconcileJitterSeconds() {
+      return initialReconcileJitterSeconds;
+   }
+
+   public void setInitialReconcileJitterSeconds(Integer initialReconcileJitterSeconds) {
+      this.initialReconcileJitterSeconds = initialReconcileJitterSeconds;
+   }
+}
@@ -28,7 +28,7 @@ import java.util.Map;
  * @author laurent
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonPropertyOrder({ "type", "status", "lastTransitionTime", "reason", "message" })
+@JsonPropertyOrder({ "type", "status", "lastTransitionTime", "reason", "message", "fingerprint" })
 public class Condition implements AdditionalPropertyPreserving, Serializable {
 
    private static final long serialVersionUID = 1L;
@@ -49,6 +49,9 @@ public class Condition implements AdditionalPropertyPreserving, Serializable {
          + "The required format is 'yyyy-MM-ddTHH:mm:ssZ', in the UTC time zone")
    private String lastTransitionTime;
 
+   @JsonPropertyDescription("Fingerprint of the source this condition was last reconciled from, used to detect changes")
+   private String fingerprint;
+
    private Map<String, Object> additionalProperties;
 
    public Status getStatus() {
@@ -91,6 +94,14 @@ public class Condition implements AdditionalPropertyPreserving, Serializable {
       this.lastTransitionTime = lastTransitionTime;
    }
 
+   public String getFingerprint() {
+      return fingerprint;
+   }
+
+   public void setFingerprint(String fingerprint) {
+      this.fingerprint = fingerprint;
+   }
+
    public void setAdditionalProperties(Map<String, Object> additionalProperties) {
       this.additionalProperties = additionalProperties;
    }
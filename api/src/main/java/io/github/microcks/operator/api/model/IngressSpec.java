@@ -40,6 +40,9 @@ public class IngressSpec {
    @JsonPropertyDescription("Whether operator should generate self-signed certificate for this ingress")
    private boolean generateCert = true;
 
+   @JsonPropertyDescription("Key algorithm of the certificate generated for this ingress. Default is 'RSA'.")
+   private CertificateKeyAlgorithm certKeyAlgorithm = CertificateKeyAlgorithm.RSA;
+
    @JsonPropertyDescription("Existing Secret holding TLS key and certificate name")
    private String secretRef;
 
@@ -73,6 +76,14 @@ public class IngressSpec {
       this.generateCert = generateCert;
    }
 
+   public CertificateKeyAlgorithm getCertKeyAlgorithm() {
+      return certKeyAlgorithm;
+   }
+
+   public void setCertKeyAlgorithm(CertificateKeyAlgorithm certKeyAlgorithm) {
+      this.certKeyAlgorithm = certKeyAlgorithm;
+   }
+
    public String getSecretRef() {
       return secretRef;
    }
@@ -0,0 +1,201 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.benchmarks.BenchmarkFixtures;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@code desired()} builders of dependent resources for a complete Microcks custom resource. This
+ * benchmark lives in the dependent resources package to access these protected methods. ConfigMaps and Secret rendered
+ * with Qute templates are covered by {@code QuteRenderingBenchmark} as their type-safe templates are only available
+ * in a Quarkus application.
+ * @author laurent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class DesiredResourcesBenchmark {
+
+   private final AsyncMinionDeploymentDependentResource asyncMinionDeploymentDependentResource = new AsyncMinionDeploymentDependentResource();
+   private final AsyncMinionHTTPRouteDependentResource asyncMinionHTTPRouteDependentResource = new AsyncMinionHTTPRouteDependentResource();
+   private final AsyncMinionServiceDependentResource asyncMinionServiceDependentResource = new AsyncMinionServiceDependentResource();
+   private final AsyncMinionWSIngressDependentResource asyncMinionWSIngressDependentResource = new AsyncMinionWSIngressDependentResource();
+   private final AsyncMinionWSSecretDependentResource asyncMinionWSSecretDependentResource = new AsyncMinionWSSecretDependentResource();
+   private final KeycloakDatabaseDeploymentDependentResource keycloakDatabaseDeploymentDependentResource = new KeycloakDatabaseDeploymentDependentResource();
+   private final KeycloakDatabasePVCDependentResource keycloakDatabasePVCDependentResource = new KeycloakDatabasePVCDependentResource();
+   private final KeycloakDatabaseServiceDependentResource keycloakDatabaseServiceDependentResource = new KeycloakDatabaseServiceDependentResource();
+   private final KeycloakDeploymentDependentResource keycloakDeploymentDependentResource = new KeycloakDeploymentDependentResource();
+   private final KeycloakSecretDependentResource keycloakSecretDependentResource = new KeycloakSecretDependentResource();
+   private final KeycloakServiceDependentResource keycloakServiceDependentResource = new KeycloakServiceDependentResource();
+   private final MicrocksDeploymentDependentResource microcksDeploymentDependentResource = new MicrocksDeploymentDependentResource();
+   private final MicrocksGRPCIngressDependentResource microcksGRPCIngressDependentResource = new MicrocksGRPCIngressDependentResource();
+   private final MicrocksGRPCRouteDependentResource microcksGRPCRouteDependentResource = new MicrocksGRPCRouteDependentResource();
+   private final MicrocksGRPCSecretDependentResource microcksGRPCSecretDependentResource = new MicrocksGRPCSecretDependentResource();
+   private final MicrocksGRPCServiceDependentResource microcksGRPCServiceDependentResource = new MicrocksGRPCServiceDependentResource();
+   private final MicrocksServiceDependentResource microcksServiceDependentResource = new MicrocksServiceDependentResource();
+   private final MongoDBConfigMapDependantResource mongoDBConfigMapDependantResource = new MongoDBConfigMapDependantResource();
+   private final MongoDBDeploymentDependentResource mongoDBDeploymentDependentResource = new MongoDBDeploymentDependentResource();
+   private final MongoDBPVCDependentResource mongoDBPVCDependentResource = new MongoDBPVCDependentResource();
+   private final MongoDBSecretDependentResource mongoDBSecretDependentResource = new MongoDBSecretDependentResource();
+   private final MongoDBServiceDependentResource mongoDBServiceDependentResource = new MongoDBServiceDependentResource();
+   private final PostmanRuntimeDeploymentDependentResource postmanRuntimeDeploymentDependentResource = new PostmanRuntimeDeploymentDependentResource();
+   private final PostmanRuntimeServiceDependentResource postmanRuntimeServiceDependentResource = new PostmanRuntimeServiceDependentResource();
+
+   private Microcks microcks;
+
+   @Setup
+   public void setUp() throws Exception {
+      microcks = BenchmarkFixtures.loadCompleteMicrocks(BenchmarkFixtures.FULL_MICROCKS);
+   }
+
+   @Benchmark
+   public HasMetadata asyncMinionDeployment() {
+      return asyncMinionDeploymentDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata asyncMinionHTTPRoute() {
+      return asyncMinionHTTPRouteDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata asyncMinionService() {
+      return asyncMinionServiceDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata asyncMinionWSIngress() {
+      return asyncMinionWSIngressDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata asyncMinionWSSecret() {
+      return asyncMinionWSSecretDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata keycloakDatabaseDeployment() {
+      return keycloakDatabaseDeploymentDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata keycloakDatabasePVC() {
+      return keycloakDatabasePVCDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata keycloakDatabaseService() {
+      return keycloakDatabaseServiceDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata keycloakDeployment() {
+      return keycloakDeploymentDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata keycloakSecret() {
+      return keycloakSecretDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata keycloakService() {
+      return keycloakServiceDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata microcksDeployment() {
+      return microcksDeploymentDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata microcksGRPCIngress() {
+      return microcksGRPCIngressDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata microcksGRPCRoute() {
+      return microcksGRPCRouteDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata microcksGRPCSecret() {
+      return microcksGRPCSecretDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata microcksGRPCService() {
+      return microcksGRPCServiceDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata microcksService() {
+      return microcksServiceDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata mongoDBConfigMap() {
+      return mongoDBConfigMapDependantResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata mongoDBDeployment() {
+      return mongoDBDeploymentDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata mongoDBPVC() {
+      return mongoDBPVCDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata mongoDBSecret() {
+      return mongoDBSecretDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata mongoDBService() {
+      return mongoDBServiceDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata postmanRuntimeDeployment() {
+      return postmanRuntimeDeploymentDependentResource.desired(microcks, null);
+   }
+
+   @Benchmark
+   public HasMetadata postmanRuntimeService() {
+      return postmanRuntimeServiceDependentResource.desired(microcks, null);
+   }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.benchmarks;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.base.v1alpha1.MicrocksSpec;
+import io.github.microcks.operator.base.MicrocksReconciler;
+import io.github.microcks.operator.model.ResourceMerger;
+
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+
+/**
+ * Realistic inputs shared by the benchmarks.
+ * @author laurent
+ */
+public final class BenchmarkFixtures {
+
+   /** A Microcks custom resource with urls, ingress annotations, extra properties and async feature. */
+   public static final String FULL_MICROCKS = "/benchmarks/microcks-full.yml";
+
+   private BenchmarkFixtures() {
+      // Private constructor for utility class.
+   }
+
+   /**
+    * Build a reconciler for loading default specs. It has no Kubernetes client: the shared event loop of
+    * fabric8 client would prevent JMH forked VMs from exiting.
+    * @return A MicrocksReconciler
+    */
+   public static MicrocksReconciler buildReconciler() {
+      return new MicrocksReconciler(null);
+   }
+
+   /**
+    * Load a Microcks custom resource as provided by users.
+    * @param path The classpath path of custom resource
+    * @return The Microcks custom resource
+    */
+   public static Microcks loadMicrocks(String path) {
+      return ReconcilerUtils.loadYaml(Microcks.class, BenchmarkFixtures.class, path);
+   }
+
+   /**
+    * Load a Microcks custom resource and complete its spec with defaults, like the reconciler does.
+    * @param path The classpath path of custom resource
+    * @return The Microcks custom resource with a complete spec
+    * @throws Exception If defaults cannot be loaded or merged
+    */
+   public static Microcks loadCompleteMicrocks(String path) throws Exception {
+      Microcks microcks = loadMicrocks(path);
+      microcks.setSpec(new ResourceMerger().mergeResources(loadDefaultSpec(microcks.getSpec().getVersion()), microcks.getSpec()));
+      return microcks;
+   }
+
+   /**
+    * Load the default Microcks spec of a version, like the reconciler does.
+    * @param version The Microcks version
+    * @return The default spec for this version
+    * @throws Exception If defaults cannot be loaded
+    */
+   public static MicrocksSpec loadDefaultSpec(String version) throws Exception {
+      return buildReconciler().loadDefaultMicrocksSpec(version);
+   }
+}
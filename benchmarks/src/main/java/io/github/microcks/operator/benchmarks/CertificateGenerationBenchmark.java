@@ -0,0 +1,75 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.benchmarks;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.model.CertificateKeyAlgorithm;
+import io.github.microcks.operator.model.CertificateService;
+import io.github.microcks.operator.model.IngressSpecUtil;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation of certificates secrets for ingresses. Back-to-back generations drain the pool of key pairs
+ * generated in advance, so these figures are closer to the worst case than to the reconciliation one.
+ * @author laurent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CertificateGenerationBenchmark {
+
+   @Param({ "RSA", "ECDSA" })
+   public CertificateKeyAlgorithm algorithm;
+
+   private final Map<String, String> labels = Map.of("app", "microcks", "group", "microcks");
+   private final Microcks microcks = BenchmarkFixtures.loadMicrocks(BenchmarkFixtures.FULL_MICROCKS);
+
+   @Benchmark
+   public Secret generateSingleHostCertificate() {
+      return IngressSpecUtil.generateSelfSignedCertificateSecret("microcks-ingress-secret", labels, "microcks.example.com");
+   }
+
+   @Benchmark
+   public Secret generateMultiHostsCertificate() {
+      return IngressSpecUtil.generateSelfSignedCertificateSecret("microcks-grpc-secret", labels,
+            List.of("microcks-grpc.example.com", "microcks-grpc", "microcks-grpc.microcks.svc.cluster.local"));
+   }
+
+   @Benchmark
+   public Secret generateInstanceCertificate() {
+      return CertificateService.getInstance().generateCertificateSecret(microcks, "microcks-grpc-secret",
+            labels, List.of("microcks-grpc.example.com", "microcks-grpc", "microcks-grpc.microcks.svc.cluster.local"),
+            algorithm);
+   }
+}
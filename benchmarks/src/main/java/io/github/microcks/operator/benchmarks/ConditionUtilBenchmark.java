@@ -0,0 +1,79 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.benchmarks;
+
+import io.github.microcks.operator.api.artifact.v1alpha1.APISourceStatus;
+import io.github.microcks.operator.api.model.Condition;
+import io.github.microcks.operator.model.ConditionUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conditions lookups on large status objects, like the one of an APISource holding many artifacts.
+ * @author laurent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionUtilBenchmark {
+
+   @Param({ "10", "100", "1000" })
+   public int conditionsCount;
+
+   private APISourceStatus status;
+   private String lastType;
+
+   @Setup
+   public void setUp() {
+      status = new APISourceStatus();
+      for (int i = 0; i < conditionsCount; i++) {
+         Condition condition = new Condition();
+         condition.setType("https://example.com/artifacts/openapi-" + i + ".yaml");
+         status.addCondition(condition);
+      }
+      lastType = "https://example.com/artifacts/openapi-" + (conditionsCount - 1) + ".yaml";
+   }
+
+   @Benchmark
+   public Condition getLastCondition() {
+      return ConditionUtil.getCondition(status, lastType);
+   }
+
+   @Benchmark
+   public Condition getOrCreateExistingCondition() {
+      return ConditionUtil.getOrCreateCondition(status, lastType);
+   }
+
+   @Benchmark
+   public Condition getMissingCondition() {
+      return ConditionUtil.getCondition(status, "https://example.com/artifacts/missing.yaml");
+   }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.benchmarks;
+
+import io.github.microcks.operator.TransformingItemStore;
+
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.informers.cache.BasicItemStore;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained by an informer cache holding 1,000 Secrets, as received from the API server, with the
+ * default item store or with the metadata-only one used by the SecretSource and Test reconcilers. The retained heap
+ * is reported by the {@code retainedBytes} secondary result; as event counters are summed over iterations, there's a
+ * single measurement iteration. It is estimated from used heap after full GCs, so the benchmark runs with a small
+ * fixed heap and the serial collector to keep it stable.
+ * @author laurent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms256m", "-Xmx256m", "-XX:+UseSerialGC" })
+public class InformerCacheMemoryBenchmark {
+
+   private static final int SECRETS_COUNT = 1000;
+
+   @Param({ "default", "metadataOnly" })
+   public String store;
+
+   /** Secrets as received from the API server: they're unmarshalled when filling the cache, like informers do. */
+   private List<String> secretsJson;
+
+   /** Heap retained by the filled cache. */
+   @State(Scope.Thread)
+   @AuxCounters(AuxCounters.Type.EVENTS)
+   public static class HeapCounters {
+      public long retainedBytes;
+   }
+
+   @Setup
+   public void setUp() {
+      secretsJson = new ArrayList<>(SECRETS_COUNT);
+      for (int i = 0; i < SECRETS_COUNT; i++) {
+         secretsJson.add(Serialization.asJson(buildSecret(i)));
+      }
+   }
+
+   @Benchmark
+   public ItemStore<Secret> fillCache(HeapCounters counters) {
+      long before = usedHeapAfterGC();
+      ItemStore<Secret> itemStore = "default".equals(store) ? new BasicItemStore<>(Cache::metaNamespaceKeyFunc)
+            : TransformingItemStore.metadataOnlySecrets();
+      for (String json : secretsJson) {
+         Secret secret = Serialization.unmarshal(json, Secret.class);
+         itemStore.put(itemStore.getKey(secret), secret);
+      }
+      counters.retainedBytes = usedHeapAfterGC() - before;
+      return itemStore;
+   }
+
+   private static long usedHeapAfterGC() {
+      Runtime runtime = Runtime.getRuntime();
+      for (int i = 0; i < 3; i++) {
+         System.gc();
+      }
+      return runtime.totalMemory() - runtime.freeMemory();
+   }
+
+   /** Build a TLS like Secret applied with kubectl, holding a certificate, a key and a CA bundle. */
+   private static Secret buildSecret(int index) {
+      String certificate = Base64.getEncoder().encodeToString(("-----BEGIN CERTIFICATE-----\n"
+            + "MIIDazCCAlOgAwIBAgIUe".repeat(60) + index + "\n-----END CERTIFICATE-----\n").getBytes());
+      Map<String, String> data = Map.of("tls.crt", certificate, "tls.key", certificate.substring(0, 1600),
+            "ca.crt", certificate);
+      String lastApplied = "{\"apiVersion\":\"v1\",\"kind\":\"Secret\",\"metadata\":{\"name\":\"secret-" + index
+            + "\",\"namespace\":\"microcks\"},\"data\":" + Serialization.asJson(data) + "}";
+      return new SecretBuilder()
+            .withNewMetadata().withName("secret-" + index).withNamespace("microcks")
+            .withUid("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f" + (index % 10)).withResourceVersion(String.valueOf(1000 + index))
+            .withLabels(Map.of("app", "microcks", "group", "tests"))
+            .withAnnotations(Map.of("kubectl.kubernetes.io/last-applied-configuration", lastApplied))
+            .withManagedFields(new ManagedFieldsEntryBuilder().withManager("kubectl-client-side-apply")
+                  .withOperation("Update").withApiVersion("v1").withTime("2026-01-01T00:00:00Z")
+                  .withFieldsType("FieldsV1").withNewFieldsV1()
+                  .addToAdditionalProperties("f:data", Map.of("f:tls.crt", Map.of(), "f:tls.key", Map.of(), "f:ca.crt", Map.of()))
+                  .addToAdditionalProperties("f:metadata", Map.of("f:annotations", Map.of(".", Map.of(),
+                        "f:kubectl.kubernetes.io/last-applied-configuration", Map.of()), "f:labels", Map.of()))
+                  .addToAdditionalProperties("f:type", Map.of())
+                  .endFieldsV1().build())
+            .endMetadata()
+            .withType("kubernetes.io/tls").withData(data).build();
+   }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.benchmarks;
+
+import io.github.microcks.operator.base.resources.ManifestPrototypes;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a Deployment from a base manifest parsed on each reconciliation (the former behaviour of
+ * {@code desired()} methods) with building it from a parsed prototype.
+ * @author laurent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ManifestPrototypesBenchmark {
+
+   @Param({ "/k8s/microcks-deployment.yml", "/k8s/mongodb-deployment.yml", "/k8s/keycloak-26-deployment.yml",
+         "/k8s/keycloak-postgresql-deployment.yml", "/k8s/postman-runtime-deployment.yml", "/k8s/async-minion-deployment.yml" })
+   public String manifest;
+
+   @Benchmark
+   public Deployment loadYaml() {
+      Deployment deployment = ReconcilerUtils.loadYaml(Deployment.class, ManifestPrototypes.class, manifest);
+      return new DeploymentBuilder(deployment).editMetadata().withName("microcks").endMetadata().build();
+   }
+
+   @Benchmark
+   public Deployment prototypeBuilder() {
+      return ManifestPrototypes.deploymentBuilder(manifest).editMetadata().withName("microcks").endMetadata().build();
+   }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.benchmarks;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.base.v1alpha1.MicrocksSpec;
+import io.github.microcks.operator.base.resources.TemplateRenderCache;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rendering of Microcks configuration templates, directly and through the render cache. Type-safe
+ * templates accessors are only generated by a Quarkus build so templates are parsed here by a standalone Qute engine
+ * resolving values by reflection: absolute figures are a bit pessimistic.
+ * @author laurent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuteRenderingBenchmark {
+
+   private static final String TEMPLATES_PATH = "/templates/MicrocksConfigMapDependentResource/";
+
+   private Microcks microcks;
+   private Template application;
+   private Template features;
+   private Template logback;
+
+   @Setup
+   public void setUp() throws Exception {
+      microcks = BenchmarkFixtures.loadCompleteMicrocks(BenchmarkFixtures.FULL_MICROCKS);
+      Engine engine = Engine.builder().addDefaults().addValueResolver(new ReflectionValueResolver())
+            .strictRendering(false).build();
+      application = engine.parse(readTemplate("application.properties"));
+      features = engine.parse(readTemplate("features.properties"));
+      logback = engine.parse(readTemplate("logback.xml"));
+   }
+
+   @Benchmark
+   public Map<String, String> renderMicrocksConfig() {
+      return render(microcks.getMetadata().getName(), microcks.getMetadata().getNamespace(), microcks.getSpec());
+   }
+
+   @Benchmark
+   public Map<String, String> renderMicrocksConfigWithCache() {
+      final String name = microcks.getMetadata().getName();
+      final String namespace = microcks.getMetadata().getNamespace();
+      final MicrocksSpec spec = microcks.getSpec();
+      return TemplateRenderCache.getInstance().getOrRender("microcks-config", namespace, name,
+            new Object[] { name, namespace, spec, 1, 14, "microcks-ws.example.com" }, () -> render(name, namespace, spec));
+   }
+
+   private Map<String, String> render(String name, String namespace, MicrocksSpec spec) {
+      return Map.of(
+            "application.properties", application.data("name", name).data("namespace", namespace).data("spec", spec)
+                  .data("majorVersion", 1).data("minorVersion", 14).render(),
+            "features.properties", features.data("name", name).data("namespace", namespace).data("spec", spec)
+                  .data("wsUrl", "microcks-ws.example.com").render(),
+            "logback.xml", logback.data("spec", spec).render());
+   }
+
+   private static String readTemplate(String name) {
+      try (InputStream is = QuteRenderingBenchmark.class.getResourceAsStream(TEMPLATES_PATH + name)) {
+         return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+      } catch (IOException ioe) {
+         throw new UncheckedIOException(ioe);
+      }
+   }
+}
@@ -20,19 +20,29 @@ import io.github.microcks.operator.api.base.v1alpha1.Microcks;
 import io.github.microcks.operator.api.model.Status;
 import io.github.microcks.operator.api.model.StatusPreserving;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.api.model.HasMetadata;
-import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.MixedOperation;
-import io.fabric8.kubernetes.client.dsl.Resource;
+import io.javaoperatorsdk.operator.api.config.informer.InformerEventSourceConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.DeleteControl;
+import io.javaoperatorsdk.operator.api.reconciler.ErrorStatusUpdateControl;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
 import org.jboss.logging.Logger;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Abstract class that provides common methods for reconcilers that depend on a Microcks instance.
@@ -47,6 +57,21 @@ public abstract class AbstractMicrocksDependantReconciler<R extends CustomResour
 
    protected static final String API_EXCEPTION_ERROR_LOG = "Message '%s' and response body '%s'";
 
+   /** Name of the primary cache index of custom resources by referenced Microcks instance. */
+   protected static final String MICROCKS_INSTANCE_INDEX = "byMicrocksInstance";
+
+   /**
+    * Safety net for resources waiting on a Microcks instance that is not ready. They're normally woken up by the
+    * instance transition to ready, this delay only covers a missed event.
+    */
+   protected static final Duration MICROCKS_NOT_READY_RESCHEDULE = Duration.ofMinutes(5);
+
+   /** Mapper used to snapshot and compare statuses. */
+   private static final ObjectMapper statusMapper = new ObjectMapper();
+
+   /** Uids of the custom resources that have already been reconciled by this operator process. */
+   private final Set<String> reconciledResources = ConcurrentHashMap.newKeySet();
+
    protected KubernetesClient client;
    protected KeycloakHelper keycloakHelper;
 
@@ -55,40 +80,119 @@ public abstract class AbstractMicrocksDependantReconciler<R extends CustomResour
     */
    protected abstract R buildCustomResourceInstance();
 
+   /**
+    * Build an event source that keeps Microcks instances in a local cache and triggers the reconciliation of the
+    * custom resources referencing an instance when it becomes ready. Implementations must register it from their
+    * {@code prepareEventSources()} method so that Microcks instances lookups are served from this cache.
+    * @param context The event source context of the reconciler implementation
+    * @return An informer event source for the Microcks instances
+    */
+   protected InformerEventSource<Microcks, R> buildMicrocksEventSource(EventSourceContext<R> context) {
+      // Custom resources are indexed by instance so that we don't have to traverse the whole cache on each event.
+      context.getPrimaryCache().addIndexer(MICROCKS_INSTANCE_INDEX, AbstractMicrocksDependantReconciler::getMicrocksInstanceIndexKeys);
+
+      InformerEventSourceConfiguration<Microcks> configuration =
+            InformerEventSourceConfiguration.from(Microcks.class, context.getPrimaryResourceClass())
+                  .withSecondaryToPrimaryMapper((Microcks microcks) -> context.getPrimaryCache()
+                        .byIndex(MICROCKS_INSTANCE_INDEX, getMicrocksInstanceIndexKey(microcks.getMetadata().getName(), microcks.getMetadata().getNamespace()))
+                        .stream()
+                        .map(ResourceID::fromResource)
+                        .collect(Collectors.toSet()))
+                  .withPrimaryToSecondaryMapper((R primary) -> {
+                     String microcksName = getMicrocksInstanceName(primary);
+                     return microcksName != null ? Set.of(new ResourceID(microcksName, primary.getMetadata().getNamespace())) : Set.of();
+                  })
+                  // Only the transition to ready is of interest: other instance changes don't affect dependants.
+                  .withOnAddFilter(AbstractMicrocksDependantReconciler::isReady)
+                  .withOnUpdateFilter((newMicrocks, oldMicrocks) -> isReady(newMicrocks) && !isReady(oldMicrocks))
+                  .withOnDeleteFilter((microcks, deletedFinalStateUnknown) -> false)
+                  // Instances are only read from this cache, no need to retain their managed fields.
+                  .withItemStore(TransformingItemStore.strippingMetadata())
+                  .build();
+
+      return new InformerEventSource<>(configuration, context);
+   }
+
+   /**
+    * Get the keys of a custom resource into the Microcks instance index.
+    * @param customResource The custom resource to index
+    * @return The index keys (at most one) for the referenced Microcks instance
+    */
+   protected static List<String> getMicrocksInstanceIndexKeys(HasMetadata customResource) {
+      String microcksName = getMicrocksInstanceName(customResource);
+      if (microcksName == null) {
+         return List.of();
+      }
+      return List.of(getMicrocksInstanceIndexKey(microcksName, customResource.getMetadata().getNamespace()));
+   }
+
+   /**
+    * Get the Microcks instance index key for an instance name and namespace.
+    * @param microcksName The name of the Microcks instance
+    * @param namespace    The namespace of the Microcks instance
+    * @return The index key
+    */
+   protected static String getMicrocksInstanceIndexKey(String microcksName, String namespace) {
+      return microcksName + "#" + namespace;
+   }
+
+   private static String getMicrocksInstanceName(HasMetadata customResource) {
+      Map<String, String> annotations = customResource.getMetadata().getAnnotations();
+      return annotations != null ? annotations.get(MicrocksOperatorConfig.INSTANCE_SELECTOR) : null;
+   }
+
+   private static boolean isReady(Microcks microcks) {
+      return microcks.getStatus() != null && microcks.getStatus().getStatus() == Status.READY;
+   }
+
    /**
     * For a given custom resource, prepare the reconciliation by checking that the Microcks instance
-    * is specified, exists and is ready in the current namespace.
+    * is specified, exists and is ready in the current namespace. The first reconciliation of a resource that already
+    * has a status is delayed by a random jitter, so that the resources of an instance don't all hit it at startup.
     * @param customResource The custom resource to reconcile
+    * @param context        The reconciliation context holding the cached Microcks instance
     * @return Either an UpdateControl is something goes wrong or the target Microcks instance.
     */
-   public UpdateControlOrMicrocks<R> prepareReconciliationWithMicrocksInstance(R customResource) {
+   public UpdateControlOrMicrocks<R> prepareReconciliationWithMicrocksInstance(R customResource, Context<R> context) {
+      JsonNode observedStatus = snapshotStatus(customResource);
+
       // Check that microcks instance specification is there.
-      Map<String, String> annotations = customResource.getMetadata().getAnnotations();
-      String microcksName = annotations.get(MicrocksOperatorConfig.INSTANCE_SELECTOR);
+      String microcksName = getMicrocksInstanceName(customResource);
       if (microcksName == null) {
          logger.errorf("No Microcks instance specified for %s '%s'", customResource.getKind(), customResource.getMetadata().getName());
          customResource.getStatus().setStatus(Status.ERROR);
          customResource.getStatus().setMessage("No Microcks instance specified for APISource. Expected annotation 'microcks.io/instance'");
-         return new UpdateControlOrMicrocks<>(UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(customResource)), null);
+         return new UpdateControlOrMicrocks<>(patchStatusIfChanged(customResource, observedStatus), null);
       }
 
-      MixedOperation<Microcks, KubernetesResourceList<Microcks>, Resource<Microcks>> microcksClient = client.resources(Microcks.class);
-
       // Check that microcks instance is found in current namespace.
-      Microcks microcks = microcksClient.inNamespace(customResource.getMetadata().getNamespace()).withName(microcksName).get();
+      Microcks microcks = context.getSecondaryResource(Microcks.class).orElse(null);
       if (microcks == null) {
          logger.errorf("No Microcks instance found for %s '%s'", customResource.getKind(), customResource.getMetadata().getName());
          customResource.getStatus().setStatus(Status.ERROR);
          customResource.getStatus().setMessage("No Microcks instance found for " + customResource.getKind() + ". Annotation 'microcks.io/instance' doesn't refer an existing instance");
-         return new UpdateControlOrMicrocks<>(UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(customResource)), null);
+         return new UpdateControlOrMicrocks<>(patchStatusIfChanged(customResource, observedStatus), null);
       }
 
-      // Check that microcks instance is in ready status.
-      if (microcks.getStatus().getStatus() != Status.READY) {
+      // Check that microcks instance is in ready status. We'll be triggered again when it becomes ready.
+      if (!isReady(microcks)) {
          logger.errorf("Microcks instance '%s' is not yet ready for %s '%s'", microcksName, customResource.getKind(), customResource.getMetadata().getName());
          customResource.getStatus().setStatus(Status.ERROR);
-         customResource.getStatus().setMessage("Microcks instance is not yet ready for " + customResource.getKind() + ". Current status is " + microcks.getStatus().getStatus());
-         return new UpdateControlOrMicrocks<>(UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(customResource)).rescheduleAfter(Duration.ofSeconds(5)), null);
+         customResource.getStatus().setMessage("Microcks instance is not yet ready for " + customResource.getKind() + ". Current status is "
+               + (microcks.getStatus() != null ? microcks.getStatus().getStatus() : null));
+         return new UpdateControlOrMicrocks<>(patchStatusIfChanged(customResource, observedStatus).rescheduleAfter(MICROCKS_NOT_READY_RESCHEDULE), null);
+      }
+
+      // Existing resources are all reconciled at once after an operator restart: spread their first reconciliation.
+      String uid = customResource.getMetadata().getUid();
+      boolean firstReconciliation = uid != null && reconciledResources.add(uid);
+      if (firstReconciliation && customResource.getStatus() != null && customResource.getStatus().getStatus() != null) {
+         Duration jitter = MicrocksTrafficLimiter.getInstance().getInitialReconcileJitter(microcks);
+         if (!jitter.isZero()) {
+            logger.debugf("Delaying first reconciliation of %s '%s' by %d ms", customResource.getKind(),
+                  customResource.getMetadata().getName(), jitter.toMillis());
+            return new UpdateControlOrMicrocks<>(UpdateControl.<R>noUpdate().rescheduleAfter(jitter), null);
+         }
       }
 
       return new UpdateControlOrMicrocks<>(null, microcks);
@@ -98,21 +202,23 @@ public abstract class AbstractMicrocksDependantReconciler<R extends CustomResour
     * For a given custom resource, prepare the cleanup by checking that the Microcks instance
     * is specified and exists in the current namespace.
     * @param customResource The custom resource to cleanup
+    * @param context        The cleanup context holding the cached Microcks instance
     * @return Either a DeleteControl is something goes wrong or the target Microcks instance.
     */
-   public DeleteControlOrMicrocks prepareCleanupWithMicrocksInstance(R customResource) {
+   public DeleteControlOrMicrocks prepareCleanupWithMicrocksInstance(R customResource, Context<R> context) {
+      if (customResource.getMetadata().getUid() != null) {
+         reconciledResources.remove(customResource.getMetadata().getUid());
+      }
+
       // Check that microcks instance specification is there.
-      Map<String, String> annotations = customResource.getMetadata().getAnnotations();
-      String microcksName = annotations.get(MicrocksOperatorConfig.INSTANCE_SELECTOR);
+      String microcksName = getMicrocksInstanceName(customResource);
       if (microcksName == null) {
          logger.errorf("No Microcks instance specified for %s '%s'", customResource.getKind(), customResource.getMetadata().getName());
          return new DeleteControlOrMicrocks(DeleteControl.defaultDelete(), null);
       }
 
-      MixedOperation<Microcks, KubernetesResourceList<Microcks>, Resource<Microcks>> microcksClient = client.resources(Microcks.class);
-
       // Check that microcks instance is found in current namespace.
-      Microcks microcks = microcksClient.inNamespace(customResource.getMetadata().getNamespace()).withName(microcksName).get();
+      Microcks microcks = context.getSecondaryResource(Microcks.class).orElse(null);
       if (microcks == null) {
          logger.errorf("No Microcks instance found for %s '%s'", customResource.getKind(), customResource.getMetadata().getName());
          return new DeleteControlOrMicrocks(DeleteControl.defaultDelete(), null);
@@ -135,21 +241,50 @@ public abstract class AbstractMicrocksDependantReconciler<R extends CustomResour
          oauthToken = keycloakHelper.getOAuthToken(customResource.getMetadata(), microcks);
       } catch (UnsatisfiedRequirementException ure) {
          logger.errorf("Unsatisfied requirement for connecting to Keycloak: %s", ure.getMessage());
-         return new UpdateControlOrApiClient<>(UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(customResource)).rescheduleAfter(Duration.ofSeconds(120)), null);
+         return new UpdateControlOrApiClient<>(UpdateControl.<R>noUpdate().rescheduleAfter(Duration.ofSeconds(120)), null);
+      } catch (ThrottledRequestException tre) {
+         logger.infof("Throttled while getting OAuth token for Keycloak server: %s", tre.getMessage());
+         return new UpdateControlOrApiClient<>(UpdateControl.<R>noUpdate().rescheduleAfter(tre.getRetryAfter()), null);
       } catch (Exception e) {
          logger.errorf("Error while getting OAuth token for Keycloak server: %s", e.getMessage());
-         return new UpdateControlOrApiClient<>(UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(customResource)).rescheduleAfter(Duration.ofSeconds(10)), null);
+         return new UpdateControlOrApiClient<>(UpdateControl.<R>noUpdate().rescheduleAfter(Duration.ofSeconds(10)), null);
       }
 
-      // Build a needed ApiCLient to interact with Microcks API.
-      ApiClient apiClient = new ApiClient();
-      apiClient.updateBaseUri("http://" + microcks.getMetadata().getName() + "." + microcks.getMetadata().getNamespace()
-            + ".svc."  + microcks.getSpec().getClusterDomain() + ":8080/api");
-      apiClient.setRequestInterceptor(request -> request.header("Authorization", "Bearer " + oauthToken));
+      // Get a needed ApiClient to interact with Microcks API, reusing the instance connection pool.
+      ApiClient apiClient = MicrocksApiClientManager.getInstance().getApiClient(microcks, oauthToken);
 
       return new UpdateControlOrApiClient<>(null, apiClient);
    }
 
+   /**
+    * Reschedule the reconciliation of a custom resource whose requests toward Microcks have been throttled, instead of
+    * retrying it with the default error processing. Other errors keep the default error processing.
+    * @param customResource The custom resource whose reconciliation failed
+    * @param context        The reconciliation context
+    * @param e              The exception thrown by the reconciliation
+    * @return A control rescheduling the reconciliation after the throttling delay, or the default error processing
+    */
+   public ErrorStatusUpdateControl<R> updateErrorStatus(R customResource, Context<R> context, Exception e) {
+      ThrottledRequestException throttled = getThrottledCause(e);
+      if (throttled != null) {
+         logger.infof("Requests of %s '%s' are throttled, rescheduling reconciliation: %s", customResource.getKind(),
+               customResource.getMetadata().getName(), throttled.getMessage());
+         return ErrorStatusUpdateControl.<R>noStatusUpdate().withNoRetry().rescheduleAfter(throttled.getRetryAfter());
+      }
+      return ErrorStatusUpdateControl.defaultErrorProcessing();
+   }
+
+   /** Find a ThrottledRequestException in the causes chain of an exception, unwrapping the ones from futures. */
+   private static ThrottledRequestException getThrottledCause(Throwable t) {
+      while (t != null) {
+         if (t instanceof ThrottledRequestException tre) {
+            return tre;
+         }
+         t = t.getCause() != t ? t.getCause() : null;
+      }
+      return null;
+   }
+
    public record UpdateControlOrMicrocks<R extends HasMetadata>(UpdateControl<R> updateControl, Microcks microcks) {
    }
 
@@ -170,4 +305,30 @@ public abstract class AbstractMicrocksDependantReconciler<R extends CustomResour
       customResourcePatch.setStatus(customResource.getStatus());
       return customResourcePatch;
    }
+
+   /**
+    * Take a snapshot of the status of a custom resource as observed at the beginning of a reconciliation, so that it
+    * can later be compared with the computed one.
+    * @param customResource The custom resource to snapshot status of
+    * @return A tree representation of the status, or null if the custom resource has no status yet
+    */
+   protected static JsonNode snapshotStatus(CustomResource<?, ?> customResource) {
+      return customResource.getStatus() != null ? statusMapper.valueToTree(customResource.getStatus()) : null;
+   }
+
+   /**
+    * Build an UpdateControl that patches the status of a custom resource only if it differs from the observed one.
+    * Steady-state reconciliations this way don't produce any write on the API server nor new watch events.
+    * @param customResource The custom resource holding the computed status
+    * @param observedStatus The status snapshot taken at the beginning of reconciliation
+    * @return A patchStatus control if status has changed, a noUpdate control otherwise
+    */
+   protected UpdateControl<R> patchStatusIfChanged(R customResource, JsonNode observedStatus) {
+      if (!Objects.equals(observedStatus, snapshotStatus(customResource))) {
+         logger.debugf("Status of %s '%s' has changed, patching it", customResource.getKind(), customResource.getMetadata().getName());
+         return UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(customResource));
+      }
+      logger.debugf("Status of %s '%s' is unchanged, skipping patch", customResource.getKind(), customResource.getMetadata().getName());
+      return UpdateControl.noUpdate();
+   }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Metrics about the requests sent by the operator on behalf of a Microcks instance, either to the Microcks API or to
+ * the Keycloak server protecting it. Requests latencies are recorded into histograms tagged by the response status,
+ * and the number of requests in flight is tracked by a gauge. All the metrics are tagged with the {@code namespace}
+ * and {@code instance} of Microcks, the {@code target} server and the {@code operation} and are removed when the
+ * Microcks instance is deleted.
+ * @author laurent
+ */
+public class ApiClientMetrics {
+
+   /** Name of the timer tracking requests latencies and status. */
+   public static final String REQUESTS_METRIC_NAME = "microcks.operator.client.requests";
+   /** Name of the gauge tracking requests in flight. */
+   public static final String IN_FLIGHT_METRIC_NAME = "microcks.operator.client.requests.inflight";
+   /** Name of the timer tracking artifacts imports durations and outcome. */
+   public static final String ARTIFACT_IMPORTS_METRIC_NAME = "microcks.operator.artifact.imports";
+
+   /** Target of the requests sent to Microcks API. */
+   public static final String MICROCKS_TARGET = "microcks";
+   /** Target of the requests sent to Keycloak. */
+   public static final String KEYCLOAK_TARGET = "keycloak";
+
+   /** Status of requests that did not get a response. */
+   public static final String IO_ERROR_STATUS = "io_error";
+   /** Status of requests that failed with an unknown response status. */
+   public static final String ERROR_STATUS = "error";
+
+   private static final String NAMESPACE_TAG = "namespace";
+   private static final String INSTANCE_TAG = "instance";
+
+   /** Path segments holding resource identifiers (object ids, uuids or numbers) that must not end up in tags. */
+   private static final Pattern ID_SEGMENT = Pattern.compile("[0-9a-fA-F]{24}|[0-9a-fA-F-]{36}|\\d+|.*[:%].*");
+
+   /** Singleton's internal instance. */
+   private static final ApiClientMetrics singleton = new ApiClientMetrics(Metrics.globalRegistry);
+
+   private final MeterRegistry registry;
+
+   /** Registries only keep weak references to gauges values, so we have to hold them. */
+   private final Map<RequestKey, AtomicInteger> inFlightRequests = new ConcurrentHashMap<>();
+
+   ApiClientMetrics(MeterRegistry registry) {
+      this.registry = registry;
+   }
+
+   /**
+    * Retrieve the current and unique instance of ApiClient metrics.
+    * @return An ApiClientMetrics instance
+    */
+   public static ApiClientMetrics getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Start observing a request.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    * @param target       The target server of request
+    * @param operation    The operation of request
+    * @return An observation to stop once the request has completed
+    */
+   public RequestObservation startRequest(String namespace, String microcksName, String target, String operation) {
+      RequestKey key = new RequestKey(namespace, microcksName, target, operation);
+      AtomicInteger inFlight = inFlightRequests.computeIfAbsent(key,
+            k -> registry.gauge(IN_FLIGHT_METRIC_NAME, k.tags(), new AtomicInteger()));
+      inFlight.incrementAndGet();
+      return new RequestObservation(key, inFlight, System.nanoTime());
+   }
+
+   /**
+    * Record the duration of an artifact import, including the check of its fingerprint.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    * @param outcome      The outcome of import: {@code imported}, {@code skipped} or {@code error}
+    * @param duration     The duration of import
+    */
+   public void recordArtifactImport(String namespace, String microcksName, String outcome, Duration duration) {
+      Timer.builder(ARTIFACT_IMPORTS_METRIC_NAME)
+            .tags(NAMESPACE_TAG, namespace, INSTANCE_TAG, microcksName, "outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(5))
+            .maximumExpectedValue(Duration.ofMinutes(1))
+            .register(registry)
+            .record(duration);
+   }
+
+   /**
+    * Remove all the metrics of a Microcks instance if any.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      inFlightRequests.keySet().removeIf(key -> key.namespace().equals(namespace) && key.name().equals(microcksName));
+      for (String metricName : List.of(REQUESTS_METRIC_NAME, IN_FLIGHT_METRIC_NAME, ARTIFACT_IMPORTS_METRIC_NAME)) {
+         for (Meter meter : registry.find(metricName).tags(NAMESPACE_TAG, namespace, INSTANCE_TAG, microcksName).meters()) {
+            registry.remove(meter);
+         }
+      }
+   }
+
+   /**
+    * Build the operation name of an http request, replacing identifiers in path by a placeholder.
+    * @param method The http method of request
+    * @param path   The path of request, relative to the API base path
+    * @return The operation name, like {@code GET /jobs/{id}}
+    */
+   public static String getOperation(String method, String path) {
+      StringBuilder operation = new StringBuilder(method).append(' ');
+      for (String segment : path.split("/")) {
+         if (!segment.isEmpty()) {
+            operation.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+         }
+      }
+      return operation.charAt(operation.length() - 1) == ' ' ? operation.append('/').toString() : operation.toString();
+   }
+
+   /** An ongoing request observation. */
+   public class RequestObservation {
+      private final RequestKey key;
+      private final AtomicInteger inFlight;
+      private final long startTime;
+
+      private RequestObservation(RequestKey key, AtomicInteger inFlight, long startTime) {
+         this.key = key;
+         this.inFlight = inFlight;
+         this.startTime = startTime;
+      }
+
+      /**
+       * Stop observing the request, recording its latency.
+       * @param status The response status code, {@link #IO_ERROR_STATUS} if there's no response or
+       *               {@link #ERROR_STATUS} if response status is unknown
+       */
+      public void stop(String status) {
+         inFlight.decrementAndGet();
+         Timer.builder(REQUESTS_METRIC_NAME)
+               .tags(key.tags().and("status", status))
+               .publishPercentileHistogram()
+               .minimumExpectedValue(Duration.ofMillis(5))
+               .maximumExpectedValue(Duration.ofMinutes(1))
+               .register(registry)
+               .record(Duration.ofNanos(System.nanoTime() - startTime));
+      }
+   }
+
+   private record RequestKey(String namespace, String name, String target, String operation) {
+      Tags tags() {
+         return Tags.of(NAMESPACE_TAG, namespace, INSTANCE_TAG, name, "target", target, "operation", operation);
+      }
+   }
+}
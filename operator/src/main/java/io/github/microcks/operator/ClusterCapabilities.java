@@ -0,0 +1,215 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.fabric8.kubernetes.api.model.APIGroup;
+import io.fabric8.kubernetes.api.model.APIGroupList;
+import io.fabric8.kubernetes.api.model.APIResource;
+import io.fabric8.kubernetes.api.model.APIResourceList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * A cache of the capabilities of the cluster the operator is running on. The API groups available on the cluster are
+ * discovered on first use and then refreshed on a slow period, so that reconciliations do not issue discovery requests
+ * to the API server each time they need to know if OpenShift, Gateway API or Strimzi are present.
+ * @author laurent
+ */
+public class ClusterCapabilities {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   /** Singleton's internal instance. */
+   private static final ClusterCapabilities singleton = new ClusterCapabilities(Duration.ofMinutes(5));
+
+   /** API group of OpenShift routes. */
+   public static final String OPENSHIFT_ROUTE_GROUP = "route.openshift.io";
+   /** API group of Strimzi Kafka resources. */
+   public static final String STRIMZI_KAFKA_GROUP = "kafka.strimzi.io";
+   /** API group of Gateway API resources. */
+   public static final String GATEWAY_API_GROUP = "gateway.networking.k8s.io";
+   /** API version of Gateway API resources we're using. */
+   public static final String GATEWAY_API_VERSION = GATEWAY_API_GROUP + "/v1";
+
+   /** The group versions we must also discover the resources kinds for. */
+   private static final List<String> DISCOVERED_KINDS_VERSIONS = List.of(GATEWAY_API_VERSION);
+
+   private final Duration refreshPeriod;
+   private final ReentrantLock refreshLock = new ReentrantLock();
+   private volatile Snapshot snapshot;
+
+   ClusterCapabilities(Duration refreshPeriod) {
+      this.refreshPeriod = refreshPeriod;
+   }
+
+   /**
+    * Retrieve the current and unique instance of cluster capabilities.
+    * @return A ClusterCapabilities instance
+    */
+   public static ClusterCapabilities getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Tell if the cluster is an OpenShift one, supporting routes.
+    * @param client The client to use for discovery if needed
+    * @return True if OpenShift routes are available
+    */
+   public boolean isOpenShift(KubernetesClient client) {
+      return hasApiGroup(client, OPENSHIFT_ROUTE_GROUP);
+   }
+
+   /**
+    * Tell if Strimzi Kafka resources are available on the cluster.
+    * @param client The client to use for discovery if needed
+    * @return True if Strimzi CRDs are installed
+    */
+   public boolean hasStrimziKafka(KubernetesClient client) {
+      return hasApiGroup(client, STRIMZI_KAFKA_GROUP);
+   }
+
+   /**
+    * Tell if Gateway API HTTPRoutes are available on the cluster.
+    * @param client The client to use for discovery if needed
+    * @return True if HTTPRoute is supported
+    */
+   public boolean supportsHTTPRoute(KubernetesClient client) {
+      return supports(client, GATEWAY_API_VERSION, "HTTPRoute");
+   }
+
+   /**
+    * Tell if Gateway API GRPCRoutes are available on the cluster.
+    * @param client The client to use for discovery if needed
+    * @return True if GRPCRoute is supported
+    */
+   public boolean supportsGRPCRoute(KubernetesClient client) {
+      return supports(client, GATEWAY_API_VERSION, "GRPCRoute");
+   }
+
+   /**
+    * Tell if an API group is available on the cluster.
+    * @param client The client to use for discovery if needed
+    * @param group  The API group name
+    * @return True if group is available
+    */
+   public boolean hasApiGroup(KubernetesClient client, String group) {
+      return hasApiGroup(client, group, false);
+   }
+
+   /**
+    * Tell if an API group is available on the cluster, optionally discovering capabilities again if it is missing from
+    * current snapshot. This is meant for callers treating a missing group as an error, as the group may have been
+    * installed since last discovery.
+    * @param client           The client to use for discovery if needed
+    * @param group            The API group name
+    * @param refreshIfMissing Whether to discover capabilities again if group is missing from current snapshot
+    * @return True if group is available
+    */
+   public boolean hasApiGroup(KubernetesClient client, String group, boolean refreshIfMissing) {
+      Snapshot current = getSnapshot(client, false);
+      if (!current.apiGroups().contains(group) && refreshIfMissing) {
+         current = getSnapshot(client, true);
+      }
+      return current.apiGroups().contains(group);
+   }
+
+   /**
+    * Tell if a resource kind is available on the cluster. Only kinds of some well-known group versions are discovered.
+    * @param client     The client to use for discovery if needed
+    * @param apiVersion The group version of resource
+    * @param kind       The kind of resource
+    * @return True if kind is available
+    */
+   public boolean supports(KubernetesClient client, String apiVersion, String kind) {
+      Set<String> kinds = getSnapshot(client, false).kindsByApiVersion().get(apiVersion);
+      return kinds != null && kinds.contains(kind);
+   }
+
+   /** Get the current snapshot, discovering it if missing or refreshing it if it's too old or if forced to. */
+   private Snapshot getSnapshot(KubernetesClient client, boolean forceRefresh) {
+      Snapshot current = snapshot;
+      if (current != null && !forceRefresh && current.discoveredAt().plus(refreshPeriod).isAfter(Instant.now())) {
+         return current;
+      }
+      if (current != null && !refreshLock.tryLock()) {
+         // Someone else is already refreshing, keep using the current one.
+         return current;
+      }
+      if (current == null) {
+         refreshLock.lock();
+      }
+      try {
+         // Check again in case someone refreshed it while we were waiting.
+         if (snapshot != current && snapshot != null) {
+            return snapshot;
+         }
+         snapshot = discover(client);
+         logger.debugf("Discovered cluster API groups: %s", snapshot.apiGroups());
+      } catch (KubernetesClientException kce) {
+         if (current == null) {
+            throw kce;
+         }
+         logger.warnf("Failed refreshing cluster capabilities, keeping previous ones: %s", kce.getMessage());
+         snapshot = new Snapshot(current.apiGroups(), current.kindsByApiVersion(), Instant.now());
+      } finally {
+         refreshLock.unlock();
+      }
+      return snapshot;
+   }
+
+   /**
+    * Discover the capabilities of the cluster.
+    * @param client The client to use for discovery
+    * @return A new snapshot of capabilities
+    */
+   Snapshot discover(KubernetesClient client) {
+      APIGroupList groupList = client.getApiGroups();
+      Set<String> apiGroups = groupList == null ? Set.of()
+            : groupList.getGroups().stream().map(APIGroup::getName).collect(Collectors.toUnmodifiableSet());
+
+      Map<String, Set<String>> kindsByApiVersion = new HashMap<>();
+      for (String apiVersion : DISCOVERED_KINDS_VERSIONS) {
+         if (apiGroups.contains(apiVersion.substring(0, apiVersion.indexOf('/')))) {
+            APIResourceList resourceList = client.getApiResources(apiVersion);
+            if (resourceList != null) {
+               kindsByApiVersion.put(apiVersion, resourceList.getResources().stream().map(APIResource::getKind)
+                     .collect(Collectors.toUnmodifiableSet()));
+            }
+         }
+      }
+      return new Snapshot(apiGroups, Map.copyOf(kindsByApiVersion), Instant.now());
+   }
+
+   /**
+    * A snapshot of discovered capabilities.
+    * @param apiGroups         The names of available API groups
+    * @param kindsByApiVersion The available kinds for discovered group versions
+    * @param discoveredAt      The instant this snapshot has been taken
+    */
+   record Snapshot(Set<String> apiGroups, Map<String, Set<String>> kindsByApiVersion, Instant discoveredAt) {
+   }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An immutable consistent hash ring distributing keys (namespaces) among members (operator replicas). Each member is
+ * placed many times on the ring using virtual nodes so that keys are evenly spread, and when a member joins or leaves
+ * only the keys of its ring segments move to another member.
+ * @author laurent
+ */
+public class ConsistentHashRing {
+
+   /** Default number of virtual nodes per member. */
+   public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+   private final NavigableMap<Long, String> ring = new TreeMap<>();
+   private final Set<String> members;
+
+   /**
+    * Build a new ring with default number of virtual nodes.
+    * @param members The members to place on ring
+    */
+   public ConsistentHashRing(Collection<String> members) {
+      this(members, DEFAULT_VIRTUAL_NODES);
+   }
+
+   /**
+    * Build a new ring.
+    * @param members      The members to place on ring
+    * @param virtualNodes The number of virtual nodes per member
+    */
+   public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+      this.members = Set.copyOf(new TreeSet<>(members));
+      for (String member : this.members) {
+         for (int i = 0; i < virtualNodes; i++) {
+            // On (very unlikely) hash collisions, keep the lowest member so that every replica builds the same ring.
+            ring.merge(hash(member + "#" + i), member, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+         }
+      }
+   }
+
+   /**
+    * Get the members of this ring.
+    * @return The members
+    */
+   public Set<String> getMembers() {
+      return members;
+   }
+
+   /**
+    * Get the member owning a key.
+    * @param key The key to look for
+    * @return The owner of key or null if ring has no member
+    */
+   public String getOwner(String key) {
+      if (ring.isEmpty()) {
+         return null;
+      }
+      Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+      return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+   }
+
+   private static long hash(String value) {
+      try {
+         byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+         return ByteBuffer.wrap(digest).getLong();
+      } catch (NoSuchAlgorithmException e) {
+         // SHA-256 is mandatory in every Java platform.
+         throw new IllegalStateException(e);
+      }
+   }
+}
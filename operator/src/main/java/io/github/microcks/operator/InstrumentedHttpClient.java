@@ -0,0 +1,186 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * An http client recording {@link ApiClientMetrics} for the requests sent to a Microcks instance API. It delegates to
+ * the long-lived client of the instance. Instrumenting the client rather than using ApiClient interceptors allows to
+ * observe requests that fail without any response. Requests are also throttled by the {@link MicrocksTrafficLimiter}
+ * of the instance before being sent: throttled requests fail with a {@link ThrottledRequestException} without waiting,
+ * directly from {@code send} and through the returned future from {@code sendAsync}.
+ * @author laurent
+ */
+class InstrumentedHttpClient extends HttpClient {
+
+   private final HttpClient delegate;
+   private final String namespace;
+   private final String microcksName;
+   private final String basePath;
+   private final ApiClientMetrics metrics;
+   private final MicrocksTrafficLimiter limiter;
+
+   /**
+    * Build a new instrumented client.
+    * @param delegate     The actual http client
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    * @param baseUri      The base uri of Microcks instance API, stripped from operations names
+    * @param metrics      The metrics to record requests into
+    * @param limiter      The limiter throttling requests toward Microcks instance
+    */
+   InstrumentedHttpClient(HttpClient delegate, String namespace, String microcksName, String baseUri,
+         ApiClientMetrics metrics, MicrocksTrafficLimiter limiter) {
+      this.delegate = delegate;
+      this.namespace = namespace;
+      this.microcksName = microcksName;
+      this.basePath = URI.create(baseUri).getPath();
+      this.metrics = metrics;
+      this.limiter = limiter;
+   }
+
+   @Override
+   public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+         throws IOException, InterruptedException {
+      try (MicrocksTrafficLimiter.Permit permit = limiter.tryAcquire(namespace, microcksName,
+            ApiClientMetrics.MICROCKS_TARGET)) {
+         ApiClientMetrics.RequestObservation observation = startRequest(request);
+         String status = ApiClientMetrics.IO_ERROR_STATUS;
+         try {
+            HttpResponse<T> response = delegate.send(request, responseBodyHandler);
+            status = String.valueOf(response.statusCode());
+            return response;
+         } finally {
+            observation.stop(status);
+         }
+      }
+   }
+
+   @Override
+   public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+         HttpResponse.BodyHandler<T> responseBodyHandler) {
+      MicrocksTrafficLimiter.Permit permit;
+      try {
+         permit = limiter.tryAcquire(namespace, microcksName, ApiClientMetrics.MICROCKS_TARGET);
+      } catch (ThrottledRequestException tre) {
+         return CompletableFuture.failedFuture(tre);
+      }
+      return observeAsync(startRequest(request), () -> delegate.sendAsync(request, responseBodyHandler), permit);
+   }
+
+   @Override
+   public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+         HttpResponse.BodyHandler<T> responseBodyHandler, HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+      MicrocksTrafficLimiter.Permit permit;
+      try {
+         permit = limiter.tryAcquire(namespace, microcksName, ApiClientMetrics.MICROCKS_TARGET);
+      } catch (ThrottledRequestException tre) {
+         return CompletableFuture.failedFuture(tre);
+      }
+      return observeAsync(startRequest(request),
+            () -> delegate.sendAsync(request, responseBodyHandler, pushPromiseHandler), permit);
+   }
+
+   @Override
+   public Optional<CookieHandler> cookieHandler() {
+      return delegate.cookieHandler();
+   }
+
+   @Override
+   public Optional<Duration> connectTimeout() {
+      return delegate.connectTimeout();
+   }
+
+   @Override
+   public Redirect followRedirects() {
+      return delegate.followRedirects();
+   }
+
+   @Override
+   public Optional<ProxySelector> proxy() {
+      return delegate.proxy();
+   }
+
+   @Override
+   public SSLContext sslContext() {
+      return delegate.sslContext();
+   }
+
+   @Override
+   public SSLParameters sslParameters() {
+      return delegate.sslParameters();
+   }
+
+   @Override
+   public Optional<Authenticator> authenticator() {
+      return delegate.authenticator();
+   }
+
+   @Override
+   public Version version() {
+      return delegate.version();
+   }
+
+   @Override
+   public Optional<Executor> executor() {
+      return delegate.executor();
+   }
+
+   @Override
+   public WebSocket.Builder newWebSocketBuilder() {
+      return delegate.newWebSocketBuilder();
+   }
+
+   private ApiClientMetrics.RequestObservation startRequest(HttpRequest request) {
+      String path = request.uri().getPath();
+      if (path != null && path.startsWith(basePath)) {
+         path = path.substring(basePath.length());
+      }
+      return metrics.startRequest(namespace, microcksName, ApiClientMetrics.MICROCKS_TARGET,
+            ApiClientMetrics.getOperation(request.method(), path == null ? "" : path));
+   }
+
+   /** Release the permit and stop the observation once the response completes, even if sending fails at once. */
+   private static <T> CompletableFuture<HttpResponse<T>> observeAsync(ApiClientMetrics.RequestObservation observation,
+         Supplier<CompletableFuture<HttpResponse<T>>> sender, MicrocksTrafficLimiter.Permit permit) {
+      CompletableFuture<HttpResponse<T>> response;
+      try {
+         response = sender.get();
+      } catch (RuntimeException e) {
+         response = CompletableFuture.failedFuture(e);
+      }
+      return response.whenComplete((r, t) -> {
+         permit.close();
+         observation.stop(r != null ? String.valueOf(r.statusCode()) : ApiClientMetrics.IO_ERROR_STATUS);
+      });
+   }
+}
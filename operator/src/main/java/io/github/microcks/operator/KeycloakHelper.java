@@ -33,6 +33,9 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import org.jboss.logging.Logger;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Iterator;
 import java.util.Map;
@@ -49,8 +52,14 @@ public class KeycloakHelper {
 
    private static final String OIDC_TOKEN_ENDPOINT_SUFFIX = "/protocol/openid-connect/token";
 
+   /** Lifetime to consider when token expiration cannot be read from the token itself. */
+   private static final Duration DEFAULT_TOKEN_LIFETIME = Duration.ofSeconds(60);
+   /** Lifetime of the fake token used when Keycloak is disabled, so that a config change is picked up. */
+   private static final Duration ANONYMOUS_TOKEN_LIFETIME = Duration.ofMinutes(5);
+
    final KubernetesClient client;
    final ObjectMapper mapper;
+   final KeycloakTokenCache tokenCache;
 
    /**
     * Default constructor with injected Kubernetes client.
@@ -59,6 +68,7 @@ public class KeycloakHelper {
    public KeycloakHelper(KubernetesClient client) {
       this.client = client;
       this.mapper = new ObjectMapper();
+      this.tokenCache = KeycloakTokenCache.getInstance();
    }
 
    /**
@@ -68,9 +78,7 @@ public class KeycloakHelper {
     * @throws ApiException If an error occurs while connecting to Microcks API
     */
    public KeycloakConfig getKeycloakConfig(Microcks completeMicrocks) throws ApiException {
-      ApiClient apiClient = new ApiClient();
-      apiClient.updateBaseUri("http://" + completeMicrocks.getMetadata().getName() + "."
-            + completeMicrocks.getMetadata().getNamespace() + ".svc." + completeMicrocks.getSpec().getClusterDomain() + ":8080/api");
+      ApiClient apiClient = MicrocksApiClientManager.getInstance().getApiClient(completeMicrocks);
       logger.infof("Connecting to Microcks on '%s'", apiClient.getBaseUri());
 
       ConfigApi configApi = new ConfigApi(apiClient);
@@ -80,7 +88,8 @@ public class KeycloakHelper {
    /**
     * Get an OAuth token for a given resource metadata and Microcks instance. Depending on Keycloak config
     * and the target Microcks instance this will either use a service account secret or a default service account.
-    * It will then authenticate to the Keycloak server token endpoint and return the OAuth token.
+    * Tokens are cached per Microcks instance and service account until they're close to their expiration; it will
+    * then authenticate to the Keycloak server token endpoint to get a fresh OAuth token.
     * @param resourceMetadata The metadata of the resource that relates to a Microcks instance
     * @param completeMicrocks The Microcks instance that relates to the resource
     * @return An OAuth token than can be used as a bearer when calling Microcks API secured endpoints
@@ -90,32 +99,87 @@ public class KeycloakHelper {
     */
    public String getOAuthToken(ObjectMeta resourceMetadata, Microcks completeMicrocks)
          throws UnsatisfiedRequirementException, ApiException, IOException {
+      KeycloakTokenCache.TokenKey key = new KeycloakTokenCache.TokenKey(completeMicrocks.getMetadata().getNamespace(),
+            completeMicrocks.getMetadata().getName(), getServiceAccountSecret(resourceMetadata));
+      return tokenCache.getToken(key, () -> fetchOAuthToken(resourceMetadata, completeMicrocks));
+   }
+
+   /** Fetch a fresh OAuth token from Keycloak, along with its expiration. */
+   private KeycloakTokenCache.CachedToken fetchOAuthToken(ObjectMeta resourceMetadata, Microcks completeMicrocks)
+         throws UnsatisfiedRequirementException, ApiException, IOException {
       KeycloakConfig keycloakConfig = getKeycloakConfig(completeMicrocks);
 
-      String oauthToken;
       if (Boolean.TRUE.equals(keycloakConfig.getEnabled())) {
          ServiceAccountAndCredentials saAndCredentials = getServiceAccountAndCredentials(resourceMetadata, completeMicrocks);
 
          String keycloakEndpoint = getKeycloakEndpoint(completeMicrocks, keycloakConfig);
          logger.infof("Using keycloakEndpoints: %s", keycloakEndpoint);
-         oauthToken = KeycloakClient.connectAndGetOAuthToken(
-               saAndCredentials.getServiceAccountName(),
-               saAndCredentials.getServiceAccountCredentials(),
-               keycloakEndpoint);
+         String oauthToken = connectAndGetOAuthToken(completeMicrocks, saAndCredentials, keycloakEndpoint);
          logger.info("Authentication to Keycloak server succeed!");
 
-      } else {
-         oauthToken = "<anonymous-admin-token>";
-         logger.info("Keycloak protection is not enabled, using a fake token");
+         return KeycloakTokenCache.CachedToken.expiringAfter(oauthToken, getTokenLifetime(oauthToken));
+      }
+
+      logger.info("Keycloak protection is not enabled, using a fake token");
+      return KeycloakTokenCache.CachedToken.expiringAfter("<anonymous-admin-token>", ANONYMOUS_TOKEN_LIFETIME);
+   }
+
+   /**
+    * Authenticate to Keycloak token endpoint, recording the request into ApiClient metrics. The request is part of the
+    * traffic budget of the Microcks instance and fails with a ThrottledRequestException when exceeding it.
+    */
+   private String connectAndGetOAuthToken(Microcks completeMicrocks, ServiceAccountAndCredentials saAndCredentials,
+         String keycloakEndpoint) throws ApiException, IOException {
+      String namespace = completeMicrocks.getMetadata().getNamespace();
+      String microcksName = completeMicrocks.getMetadata().getName();
+      try (MicrocksTrafficLimiter.Permit permit = MicrocksTrafficLimiter.getInstance().tryAcquire(namespace, microcksName,
+            ApiClientMetrics.KEYCLOAK_TARGET)) {
+         ApiClientMetrics.RequestObservation observation = ApiClientMetrics.getInstance().startRequest(namespace,
+               microcksName, ApiClientMetrics.KEYCLOAK_TARGET, ApiClientMetrics.getOperation("POST", OIDC_TOKEN_ENDPOINT_SUFFIX));
+         String status = ApiClientMetrics.IO_ERROR_STATUS;
+         try {
+            String oauthToken = KeycloakClient.connectAndGetOAuthToken(saAndCredentials.getServiceAccountName(),
+                  saAndCredentials.getServiceAccountCredentials(), keycloakEndpoint);
+            status = "200";
+            return oauthToken;
+         } catch (ApiException ae) {
+            // Keycloak client does not report the status code of unsuccessful responses.
+            status = ae.getCode() > 0 ? String.valueOf(ae.getCode()) : ApiClientMetrics.ERROR_STATUS;
+            throw ae;
+         } finally {
+            observation.stop(status);
+         }
+      }
+   }
+
+   /** Read the remaining lifetime of a JWT access token from its 'exp' claim, or use a default one. */
+   private Duration getTokenLifetime(String oauthToken) {
+      String[] parts = oauthToken.split("\\.");
+      if (parts.length >= 2) {
+         try {
+            JsonNode claims = mapper.readTree(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+            if (claims.has("exp")) {
+               Duration lifetime = Duration.between(Instant.now(), Instant.ofEpochSecond(claims.get("exp").asLong()));
+               if (!lifetime.isNegative() && !lifetime.isZero()) {
+                  return lifetime;
+               }
+            }
+         } catch (IllegalArgumentException | JsonProcessingException e) {
+            logger.debugf("Cannot read expiration from OAuth token: %s", e.getMessage());
+         }
       }
+      return DEFAULT_TOKEN_LIFETIME;
+   }
 
-      return oauthToken;
+   /** Get the service account secret specified on resource if any. */
+   private String getServiceAccountSecret(ObjectMeta resourceMetadata) {
+      Map<String, String> annotations = resourceMetadata.getAnnotations();
+      return annotations != null ? annotations.get(MicrocksOperatorConfig.SERVICE_ACCOUNT_SECRET_SELECTOR) : null;
    }
 
    /** */
    private ServiceAccountAndCredentials getServiceAccountAndCredentials(ObjectMeta resourceMetadata, Microcks completeMicrocks) throws UnsatisfiedRequirementException {
-      Map<String, String> annotations = resourceMetadata.getAnnotations();
-      String serviceAccountSecret = annotations.get(MicrocksOperatorConfig.SERVICE_ACCOUNT_SECRET_SELECTOR);
+      String serviceAccountSecret = getServiceAccountSecret(resourceMetadata);
 
       String serviceAccountName = KeycloakConfigSecretDependentResource.OPERATOR_SERVICE_ACCOUNT;
       String serviceAccountCredentials = null;
@@ -0,0 +1,200 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.github.microcks.client.ApiException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A cache for OAuth tokens retrieved from Keycloak on behalf of a Microcks instance. Tokens are stored per Microcks
+ * instance and per service account, kept until they're close to expiry and then refreshed proactively. Concurrent
+ * refreshes of the same token are collapsed into a single in-flight request.
+ * @author laurent
+ */
+public class KeycloakTokenCache {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   /** Singleton's internal instance. */
+   private static final KeycloakTokenCache singleton = new KeycloakTokenCache();
+
+   /** Name of the counter tracking cache lookups. */
+   public static final String CACHE_METRIC_NAME = "microcks.operator.keycloak.token.cache";
+
+   /** Tokens are refreshed when they enter this window before their expiry. */
+   private static final Duration REFRESH_MARGIN = Duration.ofSeconds(30);
+
+   private final ConcurrentHashMap<TokenKey, CachedToken> tokens = new ConcurrentHashMap<>();
+   private final ConcurrentHashMap<TokenKey, CompletableFuture<CachedToken>> inFlightRefreshes = new ConcurrentHashMap<>();
+
+   private final Counter hitCounter = Metrics.counter(CACHE_METRIC_NAME, "result", "hit");
+   private final Counter missCounter = Metrics.counter(CACHE_METRIC_NAME, "result", "miss");
+   private final Counter refreshCounter = Metrics.counter(CACHE_METRIC_NAME, "result", "refresh");
+
+   KeycloakTokenCache() {
+   }
+
+   /**
+    * Retrieve the current and unique instance of token cache.
+    * @return A KeycloakTokenCache instance
+    */
+   public static KeycloakTokenCache getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Get a valid token for the given key, using the loader if none is cached or if cached one should be refreshed.
+    * @param key    The key identifying Microcks instance and service account
+    * @param loader The loader to use for retrieving a fresh token
+    * @return A valid OAuth token
+    * @throws UnsatisfiedRequirementException If a configuration requirement is not satisfied
+    * @throws ApiException If an error occurs while connecting to Microcks API
+    * @throws IOException If the underlying http connection fails
+    */
+   public String getToken(TokenKey key, TokenLoader loader) throws UnsatisfiedRequirementException, ApiException, IOException {
+      Instant now = Instant.now();
+      CachedToken cached = tokens.get(key);
+      if (cached != null && !cached.shouldBeRefreshed(now)) {
+         hitCounter.increment();
+         return cached.token();
+      }
+
+      CompletableFuture<CachedToken> refresh = new CompletableFuture<>();
+      CompletableFuture<CachedToken> inFlight = inFlightRefreshes.putIfAbsent(key, refresh);
+      if (inFlight == null) {
+         // We're in charge of the refresh for this key.
+         if (cached == null) {
+            missCounter.increment();
+         } else {
+            refreshCounter.increment();
+         }
+         try {
+            CachedToken fresh = loader.load();
+            tokens.put(key, fresh);
+            refresh.complete(fresh);
+            return fresh.token();
+         } catch (UnsatisfiedRequirementException | ApiException | IOException | RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+         } finally {
+            inFlightRefreshes.remove(key, refresh);
+         }
+      }
+
+      // Another reconciliation is refreshing this token. Keep using the current one while it's still valid.
+      if (cached != null && !cached.isExpired(now)) {
+         hitCounter.increment();
+         return cached.token();
+      }
+      return awaitRefresh(inFlight).token();
+   }
+
+   /**
+    * Invalidate all the tokens related to a Microcks instance.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      logger.debugf("Invalidating cached tokens for Microcks instance '%s/%s'", namespace, microcksName);
+      tokens.keySet().removeIf(key -> key.namespace().equals(namespace) && key.microcksName().equals(microcksName));
+   }
+
+   /** Wait for an in-flight refresh to complete, unwrapping the typed exceptions it may have raised. */
+   private CachedToken awaitRefresh(CompletableFuture<CachedToken> inFlight)
+         throws UnsatisfiedRequirementException, ApiException, IOException {
+      try {
+         return inFlight.get();
+      } catch (InterruptedException ie) {
+         Thread.currentThread().interrupt();
+         throw new IOException("Interrupted while waiting for token refresh", ie);
+      } catch (ExecutionException ee) {
+         Throwable cause = ee.getCause();
+         if (cause instanceof UnsatisfiedRequirementException ure) {
+            throw ure;
+         } else if (cause instanceof ApiException ae) {
+            throw ae;
+         } else if (cause instanceof IOException ioe) {
+            throw ioe;
+         } else if (cause instanceof RuntimeException re) {
+            throw re;
+         }
+         throw new IOException("Token refresh failed", cause);
+      }
+   }
+
+   /**
+    * A key for cached tokens.
+    * @param namespace      The namespace of Microcks instance
+    * @param microcksName   The name of Microcks instance
+    * @param serviceAccount The service account secret name or null if using the default one
+    */
+   public record TokenKey(String namespace, String microcksName, String serviceAccount) {
+   }
+
+   /**
+    * A cached token with its refresh and expiration instants.
+    * @param token     The OAuth token
+    * @param refreshAt The instant after which the token should be proactively refreshed
+    * @param expiresAt The instant after which the token is no longer valid
+    */
+   public record CachedToken(String token, Instant refreshAt, Instant expiresAt) {
+
+      /**
+       * Build a cached token expiring after the given lifetime. Refresh is planned within the last 30 seconds
+       * of this lifetime (or within its second half for very short-lived tokens).
+       * @param token    The OAuth token
+       * @param lifetime The duration this token is valid for
+       * @return A new cached token
+       */
+      public static CachedToken expiringAfter(String token, Duration lifetime) {
+         Instant now = Instant.now();
+         Duration margin = REFRESH_MARGIN.compareTo(lifetime.dividedBy(2)) < 0 ? REFRESH_MARGIN : lifetime.dividedBy(2);
+         return new CachedToken(token, now.plus(lifetime).minus(margin), now.plus(lifetime));
+      }
+
+      boolean isExpired(Instant now) {
+         return !now.isBefore(expiresAt);
+      }
+
+      boolean shouldBeRefreshed(Instant now) {
+         return !now.isBefore(refreshAt);
+      }
+   }
+
+   /** A loader for fresh tokens. */
+   @FunctionalInterface
+   public interface TokenLoader {
+      /**
+       * Load a fresh token.
+       * @return A fresh token with its expiration
+       * @throws UnsatisfiedRequirementException If a configuration requirement is not satisfied
+       * @throws ApiException If an error occurs while connecting to Microcks API
+       * @throws IOException If the underlying http connection fails
+       */
+      CachedToken load() throws UnsatisfiedRequirementException, ApiException, IOException;
+   }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.github.microcks.client.ApiClient;
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jboss.logging.Logger;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A manager for the connections to Microcks instances API. It keeps one long-lived, keep-alive http client per
+ * Microcks instance so that reconciliations of dependent resources reuse the same connection pool. Requests sent
+ * through these clients are recorded into {@link ApiClientMetrics} and throttled by the {@link MicrocksTrafficLimiter}
+ * of the instance. Clients are invalidated when the Microcks instance changes or is deleted.
+ * @author laurent
+ */
+public class MicrocksApiClientManager {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   /** Singleton's internal instance. */
+   private static final MicrocksApiClientManager singleton = new MicrocksApiClientManager();
+
+   private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+   /** Manager is baked by a concurrent hash map where instance clients are stored according a key. */
+   private final ConcurrentHashMap<InstanceKey, InstanceClient> clients = new ConcurrentHashMap<>();
+
+   /** Jackson mapper is thread-safe and costly to create so share it between clients. */
+   private final ObjectMapper mapper = ApiClient.createDefaultObjectMapper();
+
+   MicrocksApiClientManager() {
+   }
+
+   /**
+    * Retrieve the current and unique instance of ApiClient manager.
+    * @return A MicrocksApiClientManager instance
+    */
+   public static MicrocksApiClientManager getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Get an anonymous ApiClient for interacting with a Microcks instance.
+    * @param microcks The target Microcks instance
+    * @return An ApiClient reusing the instance connection pool
+    */
+   public ApiClient getApiClient(Microcks microcks) {
+      return new PooledApiClient(getInstanceClient(microcks), mapper);
+   }
+
+   /**
+    * Get an ApiClient authenticated with a bearer token for interacting with a Microcks instance.
+    * @param microcks   The target Microcks instance
+    * @param oauthToken The OAuth token to use as a bearer
+    * @return An ApiClient reusing the instance connection pool
+    */
+   public ApiClient getApiClient(Microcks microcks, String oauthToken) {
+      ApiClient apiClient = getApiClient(microcks);
+      apiClient.setRequestInterceptor(request -> request.header("Authorization", "Bearer " + oauthToken));
+      return apiClient;
+   }
+
+   /**
+    * Invalidate the client of a Microcks instance if any.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      logger.debugf("Invalidating ApiClient for Microcks instance '%s/%s'", namespace, microcksName);
+      clients.keySet().removeIf(key -> key.namespace().equals(namespace) && key.name().equals(microcksName));
+   }
+
+   /** Get or build the client for this instance, building a new one if the instance has changed. */
+   private InstanceClient getInstanceClient(Microcks microcks) {
+      InstanceKey key = new InstanceKey(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName(),
+            microcks.getSpec().getClusterDomain());
+      Long generation = microcks.getMetadata().getGeneration();
+
+      return clients.compute(key, (k, existing) -> {
+         if (existing != null && Objects.equals(existing.generation(), generation)) {
+            return existing;
+         }
+         MicrocksTrafficLimiter.getInstance().configure(microcks);
+         if (existing != null) {
+            logger.infof("Microcks instance '%s/%s' has changed, renewing its ApiClient", k.namespace(), k.name());
+            KeycloakTokenCache.getInstance().invalidate(k.namespace(), k.name());
+         }
+         String baseUri = "http://" + k.name() + "." + k.namespace() + ".svc." + k.clusterDomain() + ":8080/api";
+         HttpClient httpClient = HttpClient.newBuilder()
+               .version(HttpClient.Version.HTTP_1_1)
+               .connectTimeout(CONNECT_TIMEOUT)
+               .build();
+         return new InstanceClient(new InstrumentedHttpClient(httpClient, k.namespace(), k.name(), baseUri,
+               ApiClientMetrics.getInstance(), MicrocksTrafficLimiter.getInstance()), baseUri, generation);
+      });
+   }
+
+   /**
+    * The key of an instance client.
+    * @param namespace     The namespace of Microcks instance
+    * @param name          The name of Microcks instance
+    * @param clusterDomain The cluster domain used to reach Microcks instance
+    */
+   private record InstanceKey(String namespace, String name, String clusterDomain) {
+   }
+
+   /**
+    * The long-lived client of an instance.
+    * @param httpClient The shared and instrumented http client and its connection pool
+    * @param baseUri    The base uri of Microcks instance API
+    * @param generation The generation of Microcks instance this client was built for
+    */
+   private record InstanceClient(HttpClient httpClient, String baseUri, Long generation) {
+   }
+
+   /** An ApiClient that always returns the shared http client instead of building a new one. */
+   private static class PooledApiClient extends ApiClient {
+      private final HttpClient httpClient;
+
+      PooledApiClient(InstanceClient instanceClient, ObjectMapper mapper) {
+         super(HttpClient.newBuilder(), mapper, instanceClient.baseUri());
+         this.httpClient = instanceClient.httpClient();
+         updateBaseUri(instanceClient.baseUri());
+      }
+
+      @Override
+      public HttpClient getHttpClient() {
+         return httpClient;
+      }
+   }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.base.v1alpha1.OperatorClientSpec;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the requests sent by the operator to each Microcks instance and its Keycloak, so that reconciling many
+ * dependent resources at once (typically after an operator restart) does not overload small instances. Each instance
+ * has a concurrency limit and a token bucket rate limit. Requests exceeding them never wait on the reconciliation
+ * threads: they fail with a {@link ThrottledRequestException} telling when to retry, so that the reconciliation is
+ * rescheduled and a throttled instance cannot hold the threads reconciling other instances. Limits come from the
+ * {@code operatorClient} spec of the Microcks instance, defaulting to the {@code microcks.operator.client.*} operator
+ * configuration. Throttled requests are counted tagged with the {@code namespace} and {@code instance} of Microcks
+ * and the {@code target} server.
+ * @author laurent
+ */
+public class MicrocksTrafficLimiter {
+
+   /** Get a JBoss logging logger. */
+   private static final Logger logger = Logger.getLogger(MicrocksTrafficLimiter.class);
+
+   /** Name of the counter tracking the requests that did not get their turn. */
+   public static final String THROTTLE_METRIC_NAME = "microcks.operator.client.throttled";
+
+   /** Minimum delay before retrying a throttled request, so that rescheduled reconciliations don't spin. */
+   static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(1);
+
+   private static final String NAMESPACE_TAG = "namespace";
+   private static final String INSTANCE_TAG = "instance";
+
+   /** Singleton's internal instance. */
+   private static final MicrocksTrafficLimiter singleton = new MicrocksTrafficLimiter(Metrics.globalRegistry,
+         Limits.fromConfig(), System::nanoTime);
+
+   private final MeterRegistry registry;
+   private final Limits defaults;
+   private final LongSupplier nanoClock;
+
+   /** Limiters are stored per instance, along with the limits they have been built for. */
+   private final Map<InstanceKey, InstanceLimiter> limiters = new ConcurrentHashMap<>();
+
+   MicrocksTrafficLimiter(MeterRegistry registry, Limits defaults, LongSupplier nanoClock) {
+      this.registry = registry;
+      this.defaults = defaults;
+      this.nanoClock = nanoClock;
+   }
+
+   /**
+    * Retrieve the current and unique instance of traffic limiter.
+    * @return A MicrocksTrafficLimiter instance
+    */
+   public static MicrocksTrafficLimiter getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Get the effective limits of a Microcks instance, merging its spec with operator defaults.
+    * @param microcks The Microcks instance
+    * @return The effective limits
+    */
+   public Limits getLimits(Microcks microcks) {
+      OperatorClientSpec spec = microcks.getSpec() != null ? microcks.getSpec().getOperatorClient() : null;
+      if (spec == null) {
+         return defaults;
+      }
+      return new Limits(
+            spec.getMaxConcurrentRequests() != null ? spec.getMaxConcurrentRequests() : defaults.maxConcurrentRequests(),
+            spec.getRequestsPerSecond() != null ? spec.getRequestsPerSecond() : defaults.requestsPerSecond(),
+            spec.getBurst() != null ? spec.getBurst() : defaults.burst(),
+            spec.getInitialReconcileJitterSeconds() != null ? Duration.ofSeconds(spec.getInitialReconcileJitterSeconds())
+                  : defaults.initialReconcileJitter());
+   }
+
+   /**
+    * Apply the limits of a Microcks instance, replacing its limiter only if limits have changed.
+    * @param microcks The Microcks instance
+    */
+   public void configure(Microcks microcks) {
+      Limits limits = getLimits(microcks);
+      limiters.compute(new InstanceKey(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName()),
+            (key, existing) -> {
+               if (existing != null && existing.limits().equals(limits)) {
+                  return existing;
+               }
+               logger.debugf("Applying limits %s to requests toward Microcks instance '%s/%s'", limits,
+                     key.namespace(), key.name());
+               return new InstanceLimiter(limits, new TokenBucket(limits.burst(), limits.requestsPerSecond(),
+                     nanoClock.getAsLong()));
+            });
+   }
+
+   /**
+    * Try to get the turn of a request toward a Microcks instance or its Keycloak, without waiting for it.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    * @param target       The target server of request
+    * @return A permit to close once the request has completed
+    * @throws ThrottledRequestException If the request cannot be sent now, holding the delay before retrying
+    */
+   public Permit tryAcquire(String namespace, String microcksName, String target) {
+      InstanceLimiter limiter = limiters.computeIfAbsent(new InstanceKey(namespace, microcksName),
+            key -> new InstanceLimiter(defaults, new TokenBucket(defaults.burst(), defaults.requestsPerSecond(),
+                  nanoClock.getAsLong())));
+
+      if (!limiter.concurrency().tryAcquire()) {
+         throw throttled(namespace, microcksName, target, MIN_RETRY_DELAY);
+      }
+      long rateWait = limiter.bucket().tryConsume(nanoClock.getAsLong());
+      if (rateWait > 0) {
+         limiter.concurrency().release();
+         throw throttled(namespace, microcksName, target, Duration.ofNanos(rateWait));
+      }
+      return new Permit(limiter.concurrency());
+   }
+
+   /**
+    * Get a random delay to apply to the first reconciliation of an existing dependent resource of a Microcks instance.
+    * @param microcks The Microcks instance
+    * @return A delay between zero and the initial reconcile jitter of instance
+    */
+   public Duration getInitialReconcileJitter(Microcks microcks) {
+      long maxJitter = getLimits(microcks).initialReconcileJitter().toMillis();
+      return maxJitter > 0 ? Duration.ofMillis(ThreadLocalRandom.current().nextLong(maxJitter)) : Duration.ZERO;
+   }
+
+   /**
+    * Remove the limiter and the metrics of a Microcks instance if any.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      limiters.remove(new InstanceKey(namespace, microcksName));
+      for (Meter meter : registry.find(THROTTLE_METRIC_NAME).tags(NAMESPACE_TAG, namespace, INSTANCE_TAG, microcksName).meters()) {
+         registry.remove(meter);
+      }
+   }
+
+   private ThrottledRequestException throttled(String namespace, String microcksName, String target, Duration wait) {
+      registry.counter(THROTTLE_METRIC_NAME, NAMESPACE_TAG, namespace, INSTANCE_TAG, microcksName, "target", target)
+            .increment();
+      Duration retryAfter = wait.compareTo(MIN_RETRY_DELAY) > 0 ? wait : MIN_RETRY_DELAY;
+      return new ThrottledRequestException("Too many requests toward Microcks instance '" + namespace + "/"
+            + microcksName + "', retrying in " + retryAfter.toMillis() + " ms", retryAfter);
+   }
+
+   /**
+    * The limits applied to the requests toward a Microcks instance.
+    * @param maxConcurrentRequests  The maximum number of concurrent requests
+    * @param requestsPerSecond      The sustained rate of requests per second
+    * @param burst                  The number of requests that may be sent at once above the sustained rate
+    * @param initialReconcileJitter The maximum delay applied to the first reconciliation of existing resources
+    */
+   public record Limits(int maxConcurrentRequests, double requestsPerSecond, int burst, Duration initialReconcileJitter) {
+
+      /** Default limits, when not overridden by operator configuration. */
+      public static final Limits DEFAULTS = new Limits(8, 10, 20, Duration.ofSeconds(30));
+
+      public Limits {
+         maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+         requestsPerSecond = requestsPerSecond > 0 ? requestsPerSecond : DEFAULTS.requestsPerSecond();
+         burst = Math.max(1, burst);
+      }
+
+      /**
+       * Read the default limits from the {@code microcks.operator.client.*} operator configuration.
+       * @return The default limits
+       */
+      static Limits fromConfig() {
+         try {
+            Config config = ConfigProvider.getConfig();
+            return new Limits(
+                  config.getOptionalValue("microcks.operator.client.max-concurrent-requests", Integer.class)
+                        .orElse(DEFAULTS.maxConcurrentRequests()),
+                  config.getOptionalValue("microcks.operator.client.requests-per-second", Double.class)
+                        .orElse(DEFAULTS.requestsPerSecond()),
+                  config.getOptionalValue("microcks.operator.client.burst", Integer.class).orElse(DEFAULTS.burst()),
+                  config.getOptionalValue("microcks.operator.client.initial-reconcile-jitter-seconds", Integer.class)
+                        .map(Duration::ofSeconds).orElse(DEFAULTS.initialReconcileJitter()));
+         } catch (IllegalStateException e) {
+            logger.warnf("Cannot read operator client limits configuration, using defaults: %s", e.getMessage());
+            return DEFAULTS;
+         }
+      }
+   }
+
+   /** A permit to send a request, to close once the request has completed. */
+   public static class Permit implements AutoCloseable {
+      private final Semaphore concurrency;
+      private boolean released = false;
+
+      private Permit(Semaphore concurrency) {
+         this.concurrency = concurrency;
+      }
+
+      @Override
+      public synchronized void close() {
+         if (!released) {
+            released = true;
+            concurrency.release();
+         }
+      }
+   }
+
+   /** A token bucket refilled at the sustained rate, up to its capacity. */
+   static class TokenBucket {
+      private final double capacity;
+      private final double tokensPerNano;
+      private double tokens;
+      private long lastRefill;
+
+      TokenBucket(int capacity, double tokensPerSecond, long now) {
+         this.capacity = capacity;
+         this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+         this.tokens = capacity;
+         this.lastRefill = now;
+      }
+
+      /**
+       * Consume a token if one is available.
+       * @param now The current time in nanoseconds
+       * @return Zero if a token has been consumed, or the time in nanoseconds before a token is available
+       */
+      synchronized long tryConsume(long now) {
+         if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+         }
+         if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+         }
+         return (long) Math.ceil((1 - tokens) / tokensPerNano);
+      }
+   }
+
+   private record InstanceKey(String namespace, String name) {
+   }
+
+   private record InstanceLimiter(Limits limits, TokenBucket bucket, Semaphore concurrency) {
+      InstanceLimiter(Limits limits, TokenBucket bucket) {
+         this(limits, bucket, new Semaphore(limits.maxConcurrentRequests(), true));
+      }
+   }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.Operator;
+import io.javaoperatorsdk.operator.RegisteredController;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Partitions the cluster namespaces among the operator replicas when running in cluster-wide watch mode. Replicas
+ * register themselves through a {@link ShardMembership} and namespaces are assigned to them using a
+ * {@link ConsistentHashRing} over the live members: each replica only watches the namespaces of its shard. Membership
+ * and namespaces are checked periodically, so that shards are rebalanced when a replica joins or leaves, or when
+ * namespaces are created. In the default {@code namespace} watch mode, this manager does nothing and controllers
+ * watch the operator namespace.
+ * <p>
+ * Replicas rebalance independently of each other, so the ownership of a moving namespace does not change at the same
+ * time on both sides. To avoid two replicas reconciling the same namespace, a replica releases the namespaces leaving
+ * its shard immediately but only starts watching a namespace entering its shard after it has been computed twice in a
+ * row, so one renew period later: by then, the previous owner has seen the new members in its own rebalance. This
+ * trades the overlap for a hand-over gap of up to one renew period where nobody reconciles the moving namespace.
+ * @author laurent
+ */
+@ApplicationScoped
+public class NamespaceShardManager {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   /** Watch mode where replicas partition the cluster namespaces among themselves. */
+   public static final String CLUSTER_WATCH_MODE = "cluster";
+
+   /**
+    * Namespace watched by controllers when a replica has no namespace in its shard, as an empty set of namespaces means
+    * watching all of them. It must not exist in the cluster.
+    */
+   public static final String IDLE_NAMESPACE = "microcks-operator-idle-shard";
+
+   private final KubernetesClient client;
+   private final Operator operator;
+   private final String watchMode;
+   private final Optional<String> namespaceSelector;
+   private final Duration leaseDuration;
+   private final Duration renewPeriod;
+   private final Optional<String> memberName;
+
+   private ScheduledExecutorService scheduler;
+   private ShardMembership membership;
+   private Set<String> currentShard;
+   private Set<String> previousComputedShard = Set.of();
+   private Instant lastRenew;
+
+   /**
+    * Build a new shard manager with injected Kubernetes client, operator and configuration.
+    * @param client            A Kubernetes client for interacting with the cluster
+    * @param operator          The operator holding the controllers to assign namespaces to
+    * @param watchMode         The watch mode: {@code namespace} or {@code cluster}
+    * @param namespaceSelector An optional label selector restricting the namespaces to partition
+    * @param leaseDuration     The duration after which a replica that did not renew its lease leaves the members
+    * @param renewPeriod       The period of lease renewal and shards rebalancing
+    * @param memberName        The optional name of this replica, defaults to pod name
+    */
+   public NamespaceShardManager(KubernetesClient client, Operator operator,
+         @ConfigProperty(name = "microcks.operator.watch-mode", defaultValue = "namespace") String watchMode,
+         @ConfigProperty(name = "microcks.operator.sharding.namespace-selector") Optional<String> namespaceSelector,
+         @ConfigProperty(name = "microcks.operator.sharding.lease-duration", defaultValue = "30s") Duration leaseDuration,
+         @ConfigProperty(name = "microcks.operator.sharding.renew-period", defaultValue = "10s") Duration renewPeriod,
+         @ConfigProperty(name = "microcks.operator.sharding.member-name") Optional<String> memberName) {
+      this.client = client;
+      this.operator = operator;
+      this.watchMode = watchMode;
+      this.namespaceSelector = namespaceSelector;
+      this.leaseDuration = leaseDuration;
+      this.renewPeriod = renewPeriod;
+      this.memberName = memberName;
+   }
+
+   /**
+    * Join the shard members once the operator has started, if running in cluster-wide watch mode.
+    * @param event The startup event
+    */
+   void onStartup(@Observes @Priority(3124) StartupEvent event) {
+      if (!CLUSTER_WATCH_MODE.equals(watchMode)) {
+         return;
+      }
+      membership = new ShardMembership(client, client.getNamespace(), memberName.orElseGet(this::getHostName),
+            leaseDuration);
+      logger.infof("Running in cluster-wide watch mode, namespaces are sharded among operator replicas");
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         Thread thread = new Thread(runnable, "microcks-operator-sharding");
+         thread.setDaemon(true);
+         return thread;
+      });
+      scheduler.scheduleWithFixedDelay(this::rebalance, 0, renewPeriod.toMillis(), TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Leave the shard members so that other replicas take over our namespaces without waiting for lease expiration.
+    * @param event The shutdown event
+    */
+   void onShutdown(@Observes ShutdownEvent event) {
+      if (scheduler != null) {
+         scheduler.shutdownNow();
+         try {
+            membership.leave();
+         } catch (Exception e) {
+            logger.warnf("Failed deleting the shard membership lease: %s", e.getMessage());
+         }
+      }
+   }
+
+   /** Renew membership, compute the shard of this replica and assign it to controllers if it has changed. */
+   void rebalance() {
+      Instant now = Instant.now();
+      try {
+         membership.renew(now);
+         lastRenew = now;
+
+         Set<String> members = new TreeSet<>(membership.getLiveMembers(now));
+         members.add(membership.getIdentity());
+         List<String> namespaces = (namespaceSelector.isPresent()
+               ? client.namespaces().withLabelSelector(namespaceSelector.get()).list()
+               : client.namespaces().list()).getItems().stream()
+               .map(namespace -> namespace.getMetadata().getName())
+               .toList();
+
+         Set<String> computedShard = computeShard(namespaces, new ConsistentHashRing(members),
+               membership.getIdentity());
+         assignShard(fenceShard(computedShard, previousComputedShard, currentShard), members);
+         previousComputedShard = computedShard;
+      } catch (Exception e) {
+         logger.warnf("Failed rebalancing namespaces shards: %s", e.getMessage());
+         // Other replicas take over our namespaces once our lease has expired: stop watching them before.
+         if (lastRenew == null || now.isAfter(lastRenew.plus(leaseDuration))) {
+            assignShard(Set.of(), Set.of());
+            previousComputedShard = Set.of();
+         }
+      }
+   }
+
+   /**
+    * Compute the namespaces owned by a member.
+    * @param namespaces The namespaces to partition
+    * @param ring       The consistent hash ring of live members
+    * @param member     The member to compute shard for
+    * @return The namespaces owned by member
+    */
+   static Set<String> computeShard(Collection<String> namespaces, ConsistentHashRing ring, String member) {
+      return namespaces.stream()
+            .filter(namespace -> member.equals(ring.getOwner(namespace)))
+            .collect(Collectors.toCollection(TreeSet::new));
+   }
+
+   /**
+    * Fence the shard to watch so that namespaces taken over from other members are only watched once they have been
+    * computed in two successive rebalances. Namespaces leaving the shard are released immediately.
+    * @param computedShard         The shard computed in this rebalance
+    * @param previousComputedShard The shard computed in previous rebalance
+    * @param currentShard          The shard currently watched, may be null if none has been assigned yet
+    * @return The shard to watch
+    */
+   static Set<String> fenceShard(Set<String> computedShard, Set<String> previousComputedShard,
+         Set<String> currentShard) {
+      return computedShard.stream()
+            .filter(namespace -> previousComputedShard.contains(namespace)
+                  || (currentShard != null && currentShard.contains(namespace)))
+            .collect(Collectors.toCollection(TreeSet::new));
+   }
+
+   private void assignShard(Set<String> shard, Set<String> members) {
+      if (shard.equals(currentShard)) {
+         return;
+      }
+      logger.infof("Watching %d namespace(s) shared with %d member(s): %s", shard.size(), members.size(), shard);
+      Set<String> watched = shard.isEmpty() ? Set.of(IDLE_NAMESPACE) : shard;
+      for (RegisteredController<?> controller : operator.getRegisteredControllers()) {
+         controller.changeNamespaces(watched);
+      }
+      currentShard = shard;
+   }
+
+   private String getHostName() {
+      String podName = System.getenv("POD_NAME");
+      if (podName != null) {
+         return podName;
+      }
+      try {
+         return InetAddress.getLocalHost().getHostName();
+      } catch (UnknownHostException e) {
+         throw new IllegalStateException("Cannot determine the shard member name, set microcks.operator.sharding.member-name", e);
+      }
+   }
+}
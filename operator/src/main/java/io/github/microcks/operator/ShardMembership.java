@@ -0,0 +1,150 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Membership of the operator replicas sharing namespaces in cluster-wide watch mode. Each replica holds its own
+ * {@code Lease} in the operator namespace and renews it periodically; the live members are the holders of the leases
+ * that have not expired. Leases of replicas that left without deleting them are garbage collected by the other members.
+ * @author laurent
+ */
+public class ShardMembership {
+
+   /** Get a JBoss logging logger. */
+   private static final Logger logger = Logger.getLogger(ShardMembership.class);
+
+   /** Label value for selecting shard membership leases. */
+   public static final String MEMBER_LABEL_SELECTOR = "app.kubernetes.io/component=shard-member,"
+         + MicrocksOperatorConfig.RESOURCE_LABEL_SELECTOR;
+
+   private static final String LEASE_NAME_PREFIX = MicrocksOperatorConfig.OPERATOR_NAME + "-shard-";
+
+   private final KubernetesClient client;
+   private final String namespace;
+   private final String identity;
+   private final Duration leaseDuration;
+
+   /**
+    * Build a new membership for an operator replica.
+    * @param client        A Kubernetes client for interacting with the cluster
+    * @param namespace     The namespace where leases are held (the operator one)
+    * @param identity      The identity of this replica (its pod name)
+    * @param leaseDuration The duration after which a non renewed lease is considered as expired
+    */
+   public ShardMembership(KubernetesClient client, String namespace, String identity, Duration leaseDuration) {
+      this.client = client;
+      this.namespace = namespace;
+      this.identity = identity;
+      this.leaseDuration = leaseDuration;
+   }
+
+   /**
+    * Get the identity of this replica.
+    * @return The identity
+    */
+   public String getIdentity() {
+      return identity;
+   }
+
+   /**
+    * Create or renew the lease of this replica.
+    * @param now The current time
+    */
+   public void renew(Instant now) {
+      ZonedDateTime renewTime = ZonedDateTime.ofInstant(now, ZoneOffset.UTC);
+      Lease lease = client.leases().inNamespace(namespace).withName(getLeaseName(identity)).get();
+      if (lease == null) {
+         logger.infof("Joining the operator shard members as '%s'", identity);
+         client.leases().inNamespace(namespace).resource(new LeaseBuilder()
+               .withNewMetadata().withName(getLeaseName(identity)).withNamespace(namespace)
+                  .withLabels(Map.of("app.kubernetes.io/component", "shard-member",
+                        "app.kubernetes.io/managed-by", MicrocksOperatorConfig.OPERATOR_NAME))
+               .endMetadata()
+               .withNewSpec().withHolderIdentity(identity).withLeaseDurationSeconds((int) leaseDuration.toSeconds())
+                  .withAcquireTime(renewTime).withRenewTime(renewTime)
+               .endSpec()
+               .build()).create();
+      } else {
+         lease.getSpec().setRenewTime(renewTime);
+         lease.getSpec().setLeaseDurationSeconds((int) leaseDuration.toSeconds());
+         client.leases().inNamespace(namespace).resource(lease).update();
+      }
+   }
+
+   /**
+    * Get the identities of live members, garbage collecting the leases that expired long ago.
+    * @param now The current time
+    * @return The identities of live members, sorted
+    */
+   public Set<String> getLiveMembers(Instant now) {
+      Set<String> members = new TreeSet<>();
+      for (Lease lease : client.leases().inNamespace(namespace).withLabelSelector(MEMBER_LABEL_SELECTOR).list().getItems()) {
+         if (isLive(lease, now)) {
+            members.add(lease.getSpec().getHolderIdentity());
+         } else if (isLive(lease, now.minus(leaseDuration.multipliedBy(10)))) {
+            logger.debugf("Shard member '%s' has expired", lease.getSpec().getHolderIdentity());
+         } else {
+            logger.infof("Removing the lease of shard member '%s' that expired long ago", lease.getSpec().getHolderIdentity());
+            client.leases().inNamespace(namespace).resource(lease).delete();
+         }
+      }
+      return members;
+   }
+
+   /** Leave the shard members, deleting the lease of this replica. */
+   public void leave() {
+      logger.infof("Leaving the operator shard members as '%s'", identity);
+      client.leases().inNamespace(namespace).withName(getLeaseName(identity)).delete();
+   }
+
+   /**
+    * Tell if a membership lease is still live.
+    * @param lease A membership lease
+    * @param now   The current time
+    * @return True if lease has been renewed within its duration
+    */
+   public static boolean isLive(Lease lease, Instant now) {
+      if (lease.getSpec() == null || lease.getSpec().getHolderIdentity() == null || lease.getSpec().getRenewTime() == null
+            || lease.getSpec().getLeaseDurationSeconds() == null) {
+         return false;
+      }
+      Instant expiration = lease.getSpec().getRenewTime().toInstant()
+            .plusSeconds(lease.getSpec().getLeaseDurationSeconds());
+      return expiration.isAfter(now);
+   }
+
+   /**
+    * Get the name of the lease of a member.
+    * @param identity The identity of member
+    * @return The lease name
+    */
+   public static String getLeaseName(String identity) {
+      return LEASE_NAME_PREFIX + identity.toLowerCase().replaceAll("[^a-z0-9.-]", "-");
+   }
+}
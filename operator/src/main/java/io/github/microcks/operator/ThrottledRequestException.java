@@ -0,0 +1,46 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import java.time.Duration;
+
+/**
+ * This is a typed exception that is thrown when a request toward a Microcks instance or its Keycloak cannot be sent
+ * now because of the limits of instance. The reconciliation sending it should be rescheduled after the retry delay.
+ * @author laurent
+ */
+public class ThrottledRequestException extends RuntimeException {
+
+   private final transient Duration retryAfter;
+
+   /**
+    * Create a new ThrottledRequestException with a detail message.
+    * @param message    The detail message for throttled request.
+    * @param retryAfter The delay after which the request may be retried.
+    */
+   public ThrottledRequestException(String message, Duration retryAfter) {
+      super(message);
+      this.retryAfter = retryAfter;
+   }
+
+   /**
+    * Get the delay after which the request may be retried.
+    * @return The retry delay
+    */
+   public Duration getRetryAfter() {
+      return retryAfter;
+   }
+}
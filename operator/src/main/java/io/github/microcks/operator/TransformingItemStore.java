@@ -0,0 +1,197 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.informers.cache.BasicItemStore;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * An informer item store that transforms resources before caching them, so that informers only retain what the
+ * reconcilers actually read. Resources are transformed in place: informers notify their event handlers with the
+ * instance that has been put into the store, so event filters also see the transformed resource.
+ * <p>
+ * As Java Operator SDK shares a configured item store between the informers of all the watched namespaces, resources
+ * are keyed by namespace and name.
+ * @param <R> The type of cached resources
+ * @author laurent
+ */
+public class TransformingItemStore<R extends HasMetadata> implements ItemStore<R> {
+
+   /** Annotation holding the client-side apply state of resources, useless once in informer cache. */
+   public static final String LAST_APPLIED_ANNOTATION = "kubectl.kubernetes.io/last-applied-configuration";
+   /** Annotation set on metadata-only cached Secrets, holding a digest of their data for changes detection. */
+   public static final String DATA_DIGEST_ANNOTATION = "operator.microcks.io/data-digest";
+
+   private final ItemStore<R> delegate = new BasicItemStore<>(Cache::metaNamespaceKeyFunc);
+   private final UnaryOperator<R> transformer;
+
+   /**
+    * Build a new item store applying a transformation.
+    * @param transformer The in place transformation of resources to apply before caching them
+    */
+   public TransformingItemStore(UnaryOperator<R> transformer) {
+      this.transformer = transformer;
+   }
+
+   /**
+    * Build an item store stripping the managed fields and last applied configuration of resources. This must not be
+    * used by dependent resources informers as server-side apply matching relies on managed fields.
+    * @param <R> The type of cached resources
+    * @return A new item store
+    */
+   public static <R extends HasMetadata> TransformingItemStore<R> strippingMetadata() {
+      return new TransformingItemStore<>(TransformingItemStore::stripMetadata);
+   }
+
+   /**
+    * Build an item store only keeping the stripped metadata of Secrets. Their data is replaced by a digest in the
+    * {@link #DATA_DIGEST_ANNOTATION} annotation: reconcilers have to fetch the full Secrets on demand.
+    * @return A new item store
+    */
+   public static TransformingItemStore<Secret> metadataOnlySecrets() {
+      return new TransformingItemStore<>(TransformingItemStore::toMetadataOnlySecret);
+   }
+
+   /**
+    * Tell if the data of 2 metadata-only cached Secrets are different.
+    * @param newSecret The new version of a cached Secret
+    * @param oldSecret The old version of a cached Secret
+    * @return True if data digests are different
+    */
+   public static boolean hasDataChanged(Secret newSecret, Secret oldSecret) {
+      return !getDataDigest(newSecret).equals(getDataDigest(oldSecret));
+   }
+
+   /**
+    * Strip the managed fields and last applied configuration of a resource.
+    * @param resource The resource to strip in place
+    * @param <R>      The type of resource
+    * @return The stripped resource
+    */
+   public static <R extends HasMetadata> R stripMetadata(R resource) {
+      ObjectMeta metadata = resource.getMetadata();
+      if (metadata != null) {
+         metadata.setManagedFields(null);
+         if (metadata.getAnnotations() != null && metadata.getAnnotations().containsKey(LAST_APPLIED_ANNOTATION)) {
+            Map<String, String> annotations = new HashMap<>(metadata.getAnnotations());
+            annotations.remove(LAST_APPLIED_ANNOTATION);
+            metadata.setAnnotations(annotations.isEmpty() ? null : annotations);
+         }
+      }
+      return resource;
+   }
+
+   /**
+    * Strip a Secret from its data, replacing it by a digest annotation, and from unneeded metadata.
+    * @param secret The Secret to transform in place
+    * @return The metadata-only Secret
+    */
+   public static Secret toMetadataOnlySecret(Secret secret) {
+      stripMetadata(secret);
+      // Transformation must be idempotent as a resource may be put again into the store on resync.
+      if (secret.getData() != null || secret.getStringData() != null) {
+         String digest = computeDataDigest(secret);
+         Map<String, String> annotations = secret.getMetadata().getAnnotations() != null
+               ? new HashMap<>(secret.getMetadata().getAnnotations())
+               : new HashMap<>();
+         annotations.put(DATA_DIGEST_ANNOTATION, digest);
+         secret.getMetadata().setAnnotations(annotations);
+         secret.setData(null);
+         secret.setStringData(null);
+      }
+      return secret;
+   }
+
+   @Override
+   public String getKey(R resource) {
+      return delegate.getKey(resource);
+   }
+
+   @Override
+   public R put(String key, R resource) {
+      return delegate.put(key, transformer.apply(resource));
+   }
+
+   @Override
+   public R remove(String key) {
+      return delegate.remove(key);
+   }
+
+   @Override
+   public Stream<String> keySet() {
+      return delegate.keySet();
+   }
+
+   @Override
+   public Stream<R> values() {
+      return delegate.values();
+   }
+
+   @Override
+   public int size() {
+      return delegate.size();
+   }
+
+   @Override
+   public R get(String key) {
+      return delegate.get(key);
+   }
+
+   private static String getDataDigest(Secret secret) {
+      if (secret.getMetadata() != null && secret.getMetadata().getAnnotations() != null
+            && secret.getMetadata().getAnnotations().containsKey(DATA_DIGEST_ANNOTATION)) {
+         return secret.getMetadata().getAnnotations().get(DATA_DIGEST_ANNOTATION);
+      }
+      return computeDataDigest(secret);
+   }
+
+   private static String computeDataDigest(Secret secret) {
+      try {
+         MessageDigest digest = MessageDigest.getInstance("SHA-256");
+         for (Map<String, String> values : Arrays.asList(secret.getData(), secret.getStringData())) {
+            if (values != null) {
+               for (Map.Entry<String, String> entry : new TreeMap<>(values).entrySet()) {
+                  // Separate keys and values so that they cannot be shifted from one to another.
+                  digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                  digest.update((byte) 0);
+                  digest.update(String.valueOf(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+                  digest.update((byte) 0);
+               }
+            }
+            digest.update((byte) 1);
+         }
+         return HexFormat.of().formatHex(digest.digest());
+      } catch (NoSuchAlgorithmException e) {
+         // SHA-256 is mandatory in every Java platform.
+         throw new IllegalStateException(e);
+      }
+   }
+}
@@ -25,7 +25,9 @@ import io.github.microcks.client.model.Metadata;
 import io.github.microcks.client.model.Secret;
 import io.github.microcks.client.model.SecretRef;
 import io.github.microcks.operator.AbstractMicrocksDependantReconciler;
+import io.github.microcks.operator.ApiClientMetrics;
 import io.github.microcks.operator.KeycloakHelper;
+import io.github.microcks.operator.ThrottledRequestException;
 import io.github.microcks.operator.api.base.v1alpha1.Microcks;
 import io.github.microcks.operator.api.model.Condition;
 import io.github.microcks.operator.api.model.Status;
@@ -46,13 +48,27 @@ import io.javaoperatorsdk.operator.api.reconciler.Cleaner;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.DeleteControl;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.quarkus.runtime.ShutdownEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.ConfigProvider;
 import org.jboss.logging.Logger;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT_NAMESPACE;
 
@@ -73,6 +89,17 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
 
    private final ObjectMapper mapper;
 
+   private final ArtifactFingerprinter fingerprinter = new ArtifactFingerprinter();
+
+   /** Default maximum number of artifacts imported concurrently by the operator, all APISources included. */
+   private static final int DEFAULT_MAX_CONCURRENT_IMPORTS = 16;
+
+   /**
+    * Artifacts imports are mostly waiting on I/O. Concurrency is bounded per APISource by its spec and for all of them
+    * by the size of this shared pool, whose idle threads are released.
+    */
+   private final ThreadPoolExecutor importsExecutor;
+
    /**
     * Default constructor with injected Kubernetes client.
     * @param client A Kubernetes client for interacting with the cluster
@@ -80,25 +107,59 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
    public APISourceReconciler(KubernetesClient client) {
       this.client = client;
       this.mapper = new ObjectMapper();
+      AtomicInteger threadCount = new AtomicInteger();
+      int maxConcurrentImports = getMaxConcurrentImports();
+      this.importsExecutor = new ThreadPoolExecutor(maxConcurrentImports, maxConcurrentImports, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+               Thread thread = new Thread(runnable, "microcks-artifacts-importer-" + threadCount.incrementAndGet());
+               thread.setDaemon(true);
+               return thread;
+            });
+      this.importsExecutor.allowCoreThreadTimeOut(true);
       this.keycloakHelper = new KeycloakHelper(client);
    }
 
+   /**
+    * Release the imports threads when the operator stops. Running imports are allowed to complete.
+    * @param event The shutdown event
+    */
+   void onShutdown(@Observes ShutdownEvent event) {
+      importsExecutor.shutdown();
+   }
+
+   /** Read the operator-wide maximum number of concurrent imports from {@code microcks.operator.artifact.*} config. */
+   private int getMaxConcurrentImports() {
+      try {
+         return Math.max(1, ConfigProvider.getConfig()
+               .getOptionalValue("microcks.operator.artifact.max-concurrent-imports", Integer.class)
+               .orElse(DEFAULT_MAX_CONCURRENT_IMPORTS));
+      } catch (IllegalStateException e) {
+         logger.warnf("Cannot read artifacts imports configuration, using defaults: %s", e.getMessage());
+         return DEFAULT_MAX_CONCURRENT_IMPORTS;
+      }
+   }
+
+   @Override
+   public List<EventSource<?, APISource>> prepareEventSources(EventSourceContext<APISource> context) {
+      return List.of(buildMicrocksEventSource(context));
+   }
+
    @Override
    public UpdateControl<APISource> reconcile(APISource apiSource, Context<APISource> context) throws Exception {
       final String ns = apiSource.getMetadata().getNamespace();
       final APISourceSpec spec = apiSource.getSpec();
 
-      boolean updateStatus = false;
+      // Keep the observed status to only patch it if reconciliation changes it.
+      JsonNode observedStatus = snapshotStatus(apiSource);
       // Set a minimal status if not present.
       if (apiSource.getStatus() == null) {
          apiSource.setStatus(new APISourceStatus());
-         updateStatus = true;
       }
 
       logger.infof("Starting reconcile operation for '%s'", apiSource.getMetadata().getName());
 
       // Check that microcks instance specification is there.
-      UpdateControlOrMicrocks<APISource> preparationControl = prepareReconciliationWithMicrocksInstance(apiSource);
+      UpdateControlOrMicrocks<APISource> preparationControl = prepareReconciliationWithMicrocksInstance(apiSource, context);
       if (preparationControl.updateControl() != null) {
          return preparationControl.updateControl();
       }
@@ -115,24 +176,31 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
       // Now we have an authenticated & ready to use ApiClient for Microcks instance.
       ApiClient apiClient = apiClientControl.apiClient();
 
-      // Deal with artifact specifications.
-      for (ArtifactSpec artifactSpec : spec.getArtifacts()) {
+      // Deal with artifact specifications, importing them concurrently if they have changed.
+      List<ArtifactImport> artifactImports = importArtifacts(apiClient, spec.getArtifacts(), spec.getMaxConcurrentImports(),
+            getImportedArtifacts(apiSource.getStatus()));
+      for (ArtifactImport artifactImport : artifactImports) {
+         // Durations go to metrics rather than status, so that re-imports don't produce status writes on their own.
+         ApiClientMetrics.getInstance().recordArtifactImport(microcks.getMetadata().getNamespace(),
+               microcks.getMetadata().getName(), artifactImport.getOutcome(), Duration.ofMillis(artifactImport.durationMillis()));
+         if (artifactImport.skipped()) {
+            continue;
+         }
+         ArtifactSpec artifactSpec = artifactImport.artifactSpec();
          Condition condition = ConditionUtil.getOrCreateCondition(apiSource.getStatus(), artifactSpec.getUrl());
 
-         try {
-            String serviceId = ensureArtifactIsLoaded(apiClient, artifactSpec);
-            condition.setStatus(Status.READY);
+         if (artifactImport.error() == null) {
             // TODO: Store API | Service identifier in condition additional property instead.
-            condition.setMessage(serviceId);
-         } catch (ApiException e) {
+            ConditionUtil.updateCondition(condition, Status.READY, artifactImport.serviceId());
+            condition.setFingerprint(artifactImport.fingerprint());
+         } else {
+            ApiException e = artifactImport.error();
             logger.errorf("Error while loading artifact '%s' for APISource '%s'", artifactSpec.getUrl(), apiSource.getMetadata().getName());
             logger.errorf(API_EXCEPTION_ERROR_LOG, e.getMessage(), e.getResponseBody());
             apiSource.getStatus().setStatus(Status.ERROR);
-            condition.setStatus(Status.ERROR);
+            ConditionUtil.updateCondition(condition, Status.ERROR, condition.getMessage());
+            condition.setFingerprint(null);
          }
-
-         ConditionUtil.touchConditionTime(condition);
-         updateStatus = true;
       }
 
       // Deal with importer specifications.
@@ -143,30 +211,20 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
             // Previously created job id may be stored within condition message.
             String previousId = getImporterIdOrNull(condition);
             String importerId = ensureImporterIsPresent(apiClient, importerSpec, previousId);
-            condition.setStatus(Status.READY);
             // TODO: Store importerId in condition additional property instead.
-            condition.setMessage(importerId);
+            ConditionUtil.updateCondition(condition, Status.READY, importerId);
          } catch (ApiException e) {
             logger.errorf("Error while creating importer '%s' for APISource '%s'", importerSpec.getName(), apiSource.getMetadata().getName());
             logger.errorf(API_EXCEPTION_ERROR_LOG, e.getMessage(), e.getResponseBody());
             apiSource.getStatus().setStatus(Status.ERROR);
-            condition.setStatus(Status.ERROR);
+            ConditionUtil.updateCondition(condition, Status.ERROR, condition.getMessage());
          }
-
-         ConditionUtil.touchConditionTime(condition);
-         updateStatus = true;
       }
 
       logger.infof("Finishing reconcile operation for '%s'", apiSource.getMetadata().getName());
 
-      if (updateStatus) {
-         logger.info("Returning an updateStatus control. ========================");
-         checkIfGloballyReady(apiSource);
-         return UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(apiSource));
-      }
-
-      logger.info("Returning a noUpdate control. =============================");
-      return UpdateControl.noUpdate();
+      checkIfGloballyReady(apiSource);
+      return patchStatusIfChanged(apiSource, observedStatus);
    }
 
    @Override
@@ -176,7 +234,7 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
       logger.infof("Starting cleanup operation for '%s'", apiSource.getMetadata().getName());
 
       // Check that microcks instance specification is there.
-      DeleteControlOrMicrocks preparationControl = prepareCleanupWithMicrocksInstance(apiSource);
+      DeleteControlOrMicrocks preparationControl = prepareCleanupWithMicrocksInstance(apiSource, context);
       if (preparationControl.deleteControl() != null) {
          return preparationControl.deleteControl();
       }
@@ -213,6 +271,8 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
                            apiSource.getMetadata().getName(), artifactSpec.getUrl());
                      logger.errorf(API_EXCEPTION_ERROR_LOG, e.getMessage(), e.getResponseBody());
                      return DeleteControl.noFinalizerRemoval().rescheduleAfter(Duration.ofSeconds(30));
+                  } catch (ThrottledRequestException tre) {
+                     return DeleteControl.noFinalizerRemoval().rescheduleAfter(tre.getRetryAfter());
                   }
                }
             }
@@ -231,6 +291,8 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
                         apiSource.getMetadata().getName());
                   logger.errorf(API_EXCEPTION_ERROR_LOG, e.getMessage(), e.getResponseBody());
                   return DeleteControl.noFinalizerRemoval().rescheduleAfter(Duration.ofSeconds(30));
+               } catch (ThrottledRequestException tre) {
+                  return DeleteControl.noFinalizerRemoval().rescheduleAfter(tre.getRetryAfter());
                }
             }
          }
@@ -254,6 +316,104 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
       return condition.getMessage();
    }
 
+   /** Get the artifacts that have been successfully imported with a fingerprint, indexed by artifact url. */
+   protected Map<String, ImportedArtifact> getImportedArtifacts(APISourceStatus status) {
+      Map<String, ImportedArtifact> importedArtifacts = new HashMap<>();
+      if (status.getConditions() != null) {
+         for (Condition condition : status.getConditions()) {
+            if (condition.getStatus() == Status.READY && condition.getMessage() != null && condition.getFingerprint() != null) {
+               importedArtifacts.put(condition.getType(),
+                     new ImportedArtifact(condition.getMessage(), condition.getFingerprint()));
+            }
+         }
+      }
+      return importedArtifacts;
+   }
+
+   /**
+    * Import artifacts into Microcks instance using at most {@code maxConcurrentImports} concurrent downloads. Artifacts
+    * whose fingerprint has not changed since their last successful import are skipped, as long as their API | Service
+    * still exists in Microcks.
+    * @param apiClient            The ApiClient for Microcks instance
+    * @param artifactSpecs        The specifications of artifacts to import
+    * @param maxConcurrentImports The maximum number of concurrent imports
+    * @param importedArtifacts    The already imported artifacts, indexed by url
+    * @return The import results, in the same order as the artifact specifications
+    */
+   protected List<ArtifactImport> importArtifacts(ApiClient apiClient, List<ArtifactSpec> artifactSpecs,
+         int maxConcurrentImports, Map<String, ImportedArtifact> importedArtifacts) {
+      ArtifactImport[] results = new ArtifactImport[artifactSpecs.size()];
+      AtomicInteger nextIndex = new AtomicInteger();
+
+      // Start as many workers as allowed, each picking the next artifact to import until none is left.
+      int workers = Math.max(1, Math.min(maxConcurrentImports, artifactSpecs.size()));
+      CompletableFuture<?>[] futures = new CompletableFuture[workers];
+      for (int i = 0; i < workers; i++) {
+         futures[i] = CompletableFuture.runAsync(() -> {
+            int index;
+            while ((index = nextIndex.getAndIncrement()) < artifactSpecs.size()) {
+               ArtifactSpec artifactSpec = artifactSpecs.get(index);
+               results[index] = importArtifact(apiClient, artifactSpec, importedArtifacts.get(artifactSpec.getUrl()));
+            }
+         }, importsExecutor);
+      }
+
+      try {
+         CompletableFuture.allOf(futures).join();
+      } catch (CompletionException ce) {
+         if (ce.getCause() instanceof RuntimeException re) {
+            throw re;
+         }
+         throw ce;
+      }
+      return Arrays.asList(results);
+   }
+
+   /** Import an artifact if it has changed, capturing the outcome and the time it took. */
+   private ArtifactImport importArtifact(ApiClient apiClient, ArtifactSpec artifactSpec, ImportedArtifact importedArtifact) {
+      long start = System.nanoTime();
+      String importedFingerprint = importedArtifact != null ? importedArtifact.fingerprint() : null;
+      String fingerprint = computeFingerprint(artifactSpec, importedFingerprint);
+      if (fingerprint != null && fingerprint.equals(importedFingerprint)) {
+         // Artifact has not changed but its API | Service may have been deleted in Microcks meanwhile.
+         if (isServicePresent(apiClient, importedArtifact.serviceId())) {
+            logger.debugf("Artifact '%s' has not changed since last import, skipping it", artifactSpec.getUrl());
+            return new ArtifactImport(artifactSpec, importedArtifact.serviceId(), null, fingerprint, true,
+                  elapsedMillis(start));
+         }
+         logger.infof("Service '%s' of artifact '%s' is no longer in Microcks, re-importing it",
+               importedArtifact.serviceId(), artifactSpec.getUrl());
+      }
+      try {
+         String serviceId = ensureArtifactIsLoaded(apiClient, artifactSpec);
+         return new ArtifactImport(artifactSpec, serviceId, null, fingerprint, false, elapsedMillis(start));
+      } catch (ApiException e) {
+         return new ArtifactImport(artifactSpec, null, e, null, false, elapsedMillis(start));
+      }
+   }
+
+   /** Check that an API | Service is still present in Microcks instance. Errors other than not found are reported. */
+   protected boolean isServicePresent(ApiClient apiClient, String serviceId) {
+      try {
+         new MockApi(apiClient).getService(serviceId, false);
+         return true;
+      } catch (ApiException e) {
+         if (e.getCode() != 404) {
+            logger.warnf("Cannot check presence of service '%s', assuming it's missing: %s", serviceId, e.getMessage());
+         }
+         return false;
+      }
+   }
+
+   /** Compute the current fingerprint of an artifact, or null if it cannot be computed. */
+   protected String computeFingerprint(ArtifactSpec artifactSpec, String importedFingerprint) {
+      return fingerprinter.fingerprint(artifactSpec, importedFingerprint);
+   }
+
+   private static long elapsedMillis(long startNanos) {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+   }
+
    /** Ensure an artifact is loaded by reloading in Microcks instance. */
    protected String ensureArtifactIsLoaded(ApiClient apiClient, ArtifactSpec artifactSpec) throws ApiException {
       // Use the apiClient to download the artifact.
@@ -324,7 +484,39 @@ public class APISourceReconciler extends AbstractMicrocksDependantReconciler<API
       }
    }
 
+   /**
+    * An artifact that has been successfully imported.
+    * @param serviceId   The identifier of API | Service in Microcks
+    * @param fingerprint The fingerprint of artifact at import
+    */
+   protected record ImportedArtifact(String serviceId, String fingerprint) {
+   }
+
+   /**
+    * The outcome of an artifact import.
+    * @param artifactSpec   The specification of imported artifact
+    * @param serviceId      The identifier of API | Service in Microcks if successful
+    * @param error          The error raised by Microcks if not successful
+    * @param fingerprint    The fingerprint of artifact if it can be computed
+    * @param skipped        Whether import has been skipped as artifact has not changed
+    * @param durationMillis The duration of import in milliseconds
+    */
+   protected record ArtifactImport(ArtifactSpec artifactSpec, String serviceId, ApiException error, String fingerprint,
+         boolean skipped, long durationMillis) {
+
+      /** Get the outcome of import as reported in metrics. */
+      String getOutcome() {
+         if (skipped) {
+            return "skipped";
+         }
+         return error == null ? "imported" : "error";
+      }
+   }
+
    protected void checkIfGloballyReady(APISource apiSource) {
+      if (apiSource.getStatus().getConditions() == null) {
+         return;
+      }
       boolean allReady = true;
       for (Condition condition : apiSource.getStatus().getConditions()) {
          if (condition.getStatus() != Status.READY) {
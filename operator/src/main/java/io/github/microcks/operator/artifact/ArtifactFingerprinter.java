@@ -0,0 +1,169 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.artifact;
+
+import io.github.microcks.operator.api.artifact.v1alpha1.ArtifactSpec;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Computes fingerprints of remote artifacts so that unchanged artifacts are not re-imported. A fingerprint is made of
+ * a hash of the artifact specification and of a validator of the remote content: its ETag, its Last-Modified date or
+ * a digest of its content when the host provides neither. Remote content is checked using conditional requests.
+ * Only artifacts opting in with {@code skipUnchanged} are fetched by the operator, and content digests are limited to
+ * {@link #MAX_DIGESTED_LENGTH} bytes.
+ * @author laurent
+ */
+public class ArtifactFingerprinter {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private static final String SEPARATOR = "|";
+   private static final String ETAG = "etag";
+   private static final String LAST_MODIFIED = "last-modified";
+   private static final String SHA256 = "sha256";
+
+   private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+   /** Maximum length of content digested when the host provides no validator. Larger artifacts get no fingerprint. */
+   static final long MAX_DIGESTED_LENGTH = 5L * 1024 * 1024;
+
+   private final HttpClient httpClient;
+
+   /** Build a new fingerprinter with its own http client. */
+   public ArtifactFingerprinter() {
+      this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(TIMEOUT).build());
+   }
+
+   ArtifactFingerprinter(HttpClient httpClient) {
+      this.httpClient = httpClient;
+   }
+
+   /**
+    * Compute the current fingerprint of an artifact.
+    * @param artifactSpec        The specification of artifact
+    * @param previousFingerprint The fingerprint computed at previous import, may be null
+    * @return The current fingerprint or null if it cannot be computed (eg. artifact did not opt in, needs a secret to
+    *         be fetched, is too large or remote host is not reachable from operator)
+    */
+   public String fingerprint(ArtifactSpec artifactSpec, String previousFingerprint) {
+      if (!artifactSpec.isSkipUnchanged()) {
+         // Operator only fetches artifacts urls when explicitly asked to.
+         return null;
+      }
+      if (artifactSpec.getSecretRef() != null) {
+         // Credentials are only known by Microcks, we cannot check the remote content.
+         return null;
+      }
+      String specHash = hashSpec(artifactSpec);
+      String[] previous = previousFingerprint != null ? previousFingerprint.split("\\" + SEPARATOR, 3) : null;
+      boolean samePreviousSpec = previous != null && previous.length == 3 && previous[0].equals(specHash);
+
+      HttpRequest.Builder request;
+      try {
+         request = HttpRequest.newBuilder(URI.create(artifactSpec.getUrl())).timeout(TIMEOUT).GET();
+      } catch (IllegalArgumentException iae) {
+         return null;
+      }
+      if (samePreviousSpec && ETAG.equals(previous[1])) {
+         request.header("If-None-Match", previous[2]);
+      } else if (samePreviousSpec && LAST_MODIFIED.equals(previous[1])) {
+         request.header("If-Modified-Since", previous[2]);
+      }
+
+      try {
+         HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+         try (InputStream body = response.body()) {
+            if (response.statusCode() == 304 && samePreviousSpec) {
+               return previousFingerprint;
+            }
+            if (response.statusCode() != 200) {
+               logger.debugf("Got status %d while fingerprinting artifact '%s'", response.statusCode(), artifactSpec.getUrl());
+               return null;
+            }
+            Optional<String> etag = response.headers().firstValue("ETag");
+            if (etag.isPresent()) {
+               return String.join(SEPARATOR, specHash, ETAG, etag.get());
+            }
+            Optional<String> lastModified = response.headers().firstValue("Last-Modified");
+            if (lastModified.isPresent()) {
+               return String.join(SEPARATOR, specHash, LAST_MODIFIED, lastModified.get());
+            }
+            if (response.headers().firstValueAsLong("Content-Length").orElse(0L) > MAX_DIGESTED_LENGTH) {
+               logger.debugf("Artifact '%s' is too large to be digested", artifactSpec.getUrl());
+               return null;
+            }
+            String digest = digest(body);
+            if (digest == null) {
+               logger.debugf("Artifact '%s' is too large to be digested", artifactSpec.getUrl());
+               return null;
+            }
+            return String.join(SEPARATOR, specHash, SHA256, digest);
+         }
+      } catch (IOException ioe) {
+         logger.debugf("Cannot fingerprint artifact '%s': %s", artifactSpec.getUrl(), ioe.getMessage());
+         return null;
+      } catch (InterruptedException ie) {
+         Thread.currentThread().interrupt();
+         return null;
+      }
+   }
+
+   /** Hash the properties of specification that have an impact on import. */
+   private static String hashSpec(ArtifactSpec artifactSpec) {
+      String spec = artifactSpec.getUrl() + SEPARATOR + artifactSpec.getMainArtifact();
+      return HexFormat.of().formatHex(newDigest().digest(spec.getBytes(StandardCharsets.UTF_8)));
+   }
+
+   /** Digest content, or return null if it's longer than {@link #MAX_DIGESTED_LENGTH}. */
+   private static String digest(InputStream content) throws IOException {
+      MessageDigest digest = newDigest();
+      byte[] buffer = new byte[8192];
+      long total = 0;
+      int read;
+      while ((read = content.read(buffer)) != -1) {
+         total += read;
+         if (total > MAX_DIGESTED_LENGTH) {
+            return null;
+         }
+         digest.update(buffer, 0, read);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+   }
+
+   private static MessageDigest newDigest() {
+      try {
+         return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+         // SHA-256 is mandatory in every Java platform.
+         throw new IllegalStateException(e);
+      }
+   }
+}
@@ -15,6 +15,7 @@
  */
 package io.github.microcks.operator.base;
 
+import io.github.microcks.operator.ClusterCapabilities;
 import io.github.microcks.operator.api.base.v1alpha1.Microcks;
 import io.github.microcks.operator.base.resources.AsyncMinionConfigMapDependentResource;
 import io.github.microcks.operator.base.resources.AsyncMinionDeploymentDependentResource;
@@ -131,7 +132,7 @@ public class AsyncFeatureDependentResourcesManager {
             serviceDR.initEventSource(context),
             wsSecretDR.initEventSource(context),
             wsIngressDR.initEventSource(context)));
-      if (client.supports("gateway.networking.k8s.io/v1", "HTTPRoute")) {
+      if (ClusterCapabilities.getInstance().supportsHTTPRoute(client)) {
          eventSources.add(wsHTTPRouteDR.initEventSource(context));
       }
       return eventSources;
@@ -0,0 +1,173 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base;
+
+import io.github.microcks.operator.ClusterCapabilities;
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.base.resources.ExpositionDependentResource;
+import io.github.microcks.operator.base.resources.ExpositionSecretDependentResource;
+import io.github.microcks.operator.base.resources.KeycloakIngressesPreparer;
+import io.github.microcks.operator.base.resources.MicrocksIngressesPreparer;
+
+import io.fabric8.kubernetes.api.model.gatewayapi.v1.HTTPRoute;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.openshift.api.model.Route;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
+import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A manager of Kubernetes secondary resources exposing Microcks and Keycloak outside the cluster: OpenShift Routes,
+ * Ingresses (and their generated TLS Secrets) or Gateway API HTTPRoutes. These dependent resources are not part of a
+ * module workflow as the exposed URLs must be known before reconciling modules: they're reconciled one by one.
+ * @author laurent
+ */
+public class ExpositionsDependentResourcesManager {
+
+   private final KubernetesClient client;
+
+   private final ExpositionDependentResource<Route> microcksRouteDR;
+   private final ExpositionDependentResource<Ingress> microcksIngressDR;
+   private final ExpositionSecretDependentResource microcksIngressSecretDR;
+   private final ExpositionDependentResource<HTTPRoute> microcksHTTPRouteDR;
+   private final ExpositionDependentResource<Route> keycloakRouteDR;
+   private final ExpositionDependentResource<Ingress> keycloakIngressDR;
+   private final ExpositionSecretDependentResource keycloakIngressSecretDR;
+   private final ExpositionDependentResource<HTTPRoute> keycloakHTTPRouteDR;
+
+   private boolean routesWatched;
+   private boolean httpRoutesWatched;
+
+   /**
+    * Creates an ExpositionsDependentResourcesManager.
+    * @param client Kubernetes cluster client
+    */
+   public ExpositionsDependentResourcesManager(KubernetesClient client) {
+      this.client = client;
+
+      microcksRouteDR = new ExpositionDependentResource<>(Route.class, "microcks-route",
+            MicrocksIngressesPreparer::getRouteName, MicrocksIngressesPreparer::prepareRoute);
+      microcksIngressDR = new ExpositionDependentResource<>(Ingress.class, "microcks-ingress",
+            MicrocksIngressesPreparer::getRouteName, MicrocksIngressesPreparer::prepareIngress);
+      microcksIngressSecretDR = new ExpositionSecretDependentResource("microcks-ingress-secret",
+            MicrocksIngressesPreparer::getIngressSecretName, microcks -> microcks.getSpec().getMicrocks().getIngress(),
+            microcks -> microcks.getSpec().getMicrocks().getUrl());
+      microcksHTTPRouteDR = new ExpositionDependentResource<>(HTTPRoute.class, "microcks-httproute",
+            MicrocksIngressesPreparer::getRouteName, MicrocksIngressesPreparer::prepareHTTPRoute);
+
+      keycloakRouteDR = new ExpositionDependentResource<>(Route.class, "keycloak-route",
+            KeycloakIngressesPreparer::getRouteName, KeycloakIngressesPreparer::prepareRoute);
+      keycloakIngressDR = new ExpositionDependentResource<>(Ingress.class, "keycloak-ingress",
+            KeycloakIngressesPreparer::getRouteName, KeycloakIngressesPreparer::prepareIngress);
+      keycloakIngressSecretDR = new ExpositionSecretDependentResource("keycloak-ingress-secret",
+            KeycloakIngressesPreparer::getIngressSecretName, microcks -> microcks.getSpec().getKeycloak().getIngress(),
+            microcks -> microcks.getSpec().getKeycloak().getUrl());
+      keycloakHTTPRouteDR = new ExpositionDependentResource<>(HTTPRoute.class, "keycloak-httproute",
+            KeycloakIngressesPreparer::getRouteName, KeycloakIngressesPreparer::prepareHTTPRoute);
+   }
+
+   /**
+    * Initialize event sources for all the expositions dependent resources supported by the cluster. Routes and
+    * HTTPRoutes are only watched if the cluster supported them at startup.
+    * @param context The event source context for the Microcks primary resource
+    * @return An array of configured EventSources.
+    */
+   public List<EventSource<?, Microcks>> initEventSources(EventSourceContext<Microcks> context) {
+      List<EventSource<?, Microcks>> eventSources = new ArrayList<>(Arrays.asList(
+            microcksIngressDR.initEventSource(context),
+            microcksIngressSecretDR.initEventSource(context),
+            keycloakIngressDR.initEventSource(context),
+            keycloakIngressSecretDR.initEventSource(context)));
+      routesWatched = ClusterCapabilities.getInstance().isOpenShift(client);
+      if (routesWatched) {
+         eventSources.add(microcksRouteDR.initEventSource(context));
+         eventSources.add(keycloakRouteDR.initEventSource(context));
+      }
+      httpRoutesWatched = ClusterCapabilities.getInstance().supportsHTTPRoute(client);
+      if (httpRoutesWatched) {
+         eventSources.add(microcksHTTPRouteDR.initEventSource(context));
+         eventSources.add(keycloakHTTPRouteDR.initEventSource(context));
+      }
+      return eventSources;
+   }
+
+   /**
+    * Tell if OpenShift Routes dependent resources have an event source and can be reconciled.
+    * @return Whether Routes were supported by the cluster at startup
+    */
+   public boolean isRoutesWatched() {
+      return routesWatched;
+   }
+
+   /**
+    * Tell if Gateway API HTTPRoutes dependent resources have an event source and can be reconciled.
+    * @return Whether HTTPRoutes were supported by the cluster at startup
+    */
+   public boolean isHTTPRoutesWatched() {
+      return httpRoutesWatched;
+   }
+
+   /**
+    * Forget the adoption checks of the expositions resources of a deleted Microcks instance.
+    * @param microcks The Microcks primary resource being deleted
+    */
+   public void forgetAdoptions(Microcks microcks) {
+      microcksRouteDR.forgetAdoption(microcks);
+      microcksIngressDR.forgetAdoption(microcks);
+      microcksIngressSecretDR.forgetAdoption(microcks);
+      microcksHTTPRouteDR.forgetAdoption(microcks);
+      keycloakRouteDR.forgetAdoption(microcks);
+      keycloakIngressDR.forgetAdoption(microcks);
+      keycloakIngressSecretDR.forgetAdoption(microcks);
+      keycloakHTTPRouteDR.forgetAdoption(microcks);
+   }
+
+   public ExpositionDependentResource<Route> getMicrocksRouteDR() {
+      return microcksRouteDR;
+   }
+
+   public ExpositionDependentResource<Ingress> getMicrocksIngressDR() {
+      return microcksIngressDR;
+   }
+
+   public ExpositionSecretDependentResource getMicrocksIngressSecretDR() {
+      return microcksIngressSecretDR;
+   }
+
+   public ExpositionDependentResource<HTTPRoute> getMicrocksHTTPRouteDR() {
+      return microcksHTTPRouteDR;
+   }
+
+   public ExpositionDependentResource<Route> getKeycloakRouteDR() {
+      return keycloakRouteDR;
+   }
+
+   public ExpositionDependentResource<Ingress> getKeycloakIngressDR() {
+      return keycloakIngressDR;
+   }
+
+   public ExpositionSecretDependentResource getKeycloakIngressSecretDR() {
+      return keycloakIngressSecretDR;
+   }
+
+   public ExpositionDependentResource<HTTPRoute> getKeycloakHTTPRouteDR() {
+      return keycloakHTTPRouteDR;
+   }
+}
@@ -15,6 +15,7 @@
  */
 package io.github.microcks.operator.base;
 
+import io.github.microcks.operator.ClusterCapabilities;
 import io.github.microcks.operator.api.base.v1alpha1.Microcks;
 import io.github.microcks.operator.base.resources.MicrocksDeploymentDependentResource;
 import io.github.microcks.operator.base.resources.MicrocksGRPCIngressDependentResource;
@@ -128,7 +129,7 @@ public class MicrocksDependentResourcesManager {
             serviceDR.initEventSource(context),
             grpcServiceDR.initEventSource(context),
             grpcIngressDR.initEventSource(context)));
-      if (client.supports("gateway.networking.k8s.io/v1", "GRPCRoute")) {
+      if (ClusterCapabilities.getInstance().supportsGRPCRoute(client)) {
          eventSources.add(grpcRouteDR.initEventSource(context));
       }
       return eventSources;
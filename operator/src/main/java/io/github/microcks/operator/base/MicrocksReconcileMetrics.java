@@ -0,0 +1,182 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Metrics about the reconciliation of {@code Microcks} custom resources. All the metrics are tagged with the
+ * {@code namespace} and {@code instance} of the reconciled Microcks, so that expensive instances can be spotted; they
+ * are removed when the Microcks instance is deleted.
+ * @author laurent
+ */
+public class MicrocksReconcileMetrics {
+
+   /** Get a JBoss logging logger. */
+   private static final Logger logger = Logger.getLogger(MicrocksReconcileMetrics.class);
+
+   /** Name of the timer tracking the duration of reconciliation phases. */
+   public static final String PHASE_METRIC_NAME = "microcks.operator.reconcile.phase";
+   /** Name of the timer tracking the duration of modules workflows. */
+   public static final String MODULE_METRIC_NAME = "microcks.operator.reconcile.module";
+   /** Name of the gauge tracking the dependents of modules by state. */
+   public static final String DEPENDENTS_METRIC_NAME = "microcks.operator.reconcile.dependents";
+   /** Name of the distribution summary tracking the count and size of status patches. */
+   public static final String STATUS_PATCH_METRIC_NAME = "microcks.operator.status.patch.size";
+
+   /** Phase checking if the instance is in steady state and can skip other phases. */
+   public static final String STEADY_STATE_PHASE = "steadyState";
+   /** Phase loading default spec and merging it with custom resource one. */
+   public static final String DEFAULTS_PHASE = "defaults";
+   /** Phase managing the Microcks and Keycloak expositions. */
+   public static final String EXPOSITION_PHASE = "exposition";
+   /** Phase reconciling all the modules workflows. */
+   public static final String MODULES_PHASE = "modules";
+   /** Phase managing the Strimzi Kafka install. */
+   public static final String STRIMZI_PHASE = "strimzi";
+
+   private static final String NAMESPACE_TAG = "namespace";
+   private static final String INSTANCE_TAG = "instance";
+   private static final List<String> METRIC_NAMES = List.of(PHASE_METRIC_NAME, MODULE_METRIC_NAME, DEPENDENTS_METRIC_NAME,
+         STATUS_PATCH_METRIC_NAME);
+
+   /** Singleton's internal instance. */
+   private static final MicrocksReconcileMetrics singleton = new MicrocksReconcileMetrics(Metrics.globalRegistry);
+
+   private final MeterRegistry registry;
+   private final ObjectMapper mapper = new ObjectMapper();
+
+   /** Registries only keep weak references to gauges values, so we have to hold them. */
+   private final Map<DependentsKey, AtomicInteger> dependentsCounts = new ConcurrentHashMap<>();
+
+   MicrocksReconcileMetrics(MeterRegistry registry) {
+      this.registry = registry;
+   }
+
+   /**
+    * Retrieve the current and unique instance of reconcile metrics.
+    * @return A MicrocksReconcileMetrics instance
+    */
+   public static MicrocksReconcileMetrics getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Start timing a reconciliation phase.
+    * @return A sample to give back when stopping the phase
+    */
+   public Timer.Sample startPhase() {
+      return Timer.start(registry);
+   }
+
+   /**
+    * Stop timing a reconciliation phase and record its duration.
+    * @param sample   The sample returned when starting the phase
+    * @param microcks The Microcks instance being reconciled
+    * @param phase    The name of the phase
+    */
+   public void stopPhase(Timer.Sample sample, Microcks microcks, String phase) {
+      sample.stop(registry.timer(PHASE_METRIC_NAME, instanceTags(microcks).and("phase", phase)));
+   }
+
+   /**
+    * Record the duration of a module workflow reconciliation.
+    * @param microcks The Microcks instance being reconciled
+    * @param module   The name of module
+    * @param duration The duration of module workflow reconciliation
+    */
+   public void recordModule(Microcks microcks, String module, Duration duration) {
+      registry.timer(MODULE_METRIC_NAME, instanceTags(microcks).and("module", module)).record(duration);
+   }
+
+   /**
+    * Record the ready, not-ready and errored dependents of a module workflow reconciliation.
+    * @param microcks The Microcks instance being reconciled
+    * @param module   The name of module
+    * @param result   The result of module workflow reconciliation
+    */
+   public void recordDependents(Microcks microcks, String module, WorkflowReconcileResult result) {
+      int notReady = result.getNotReadyDependents().size();
+      int errored = result.getErroredDependents().size();
+      int ready = result.getReconciledDependents() == null ? 0 : (int) result.getReconciledDependents().stream()
+            .filter(dependent -> !result.getNotReadyDependents().contains(dependent)
+                  && !result.getErroredDependents().containsKey(dependent))
+            .count();
+      getDependentsCount(microcks, module, "ready").set(ready);
+      getDependentsCount(microcks, module, "notReady").set(notReady);
+      getDependentsCount(microcks, module, "errored").set(errored);
+   }
+
+   /**
+    * Record a status patch about to be sent to the API server.
+    * @param microcksPatch The Microcks resource used as status patch
+    */
+   public void recordStatusPatch(Microcks microcksPatch) {
+      DistributionSummary summary = DistributionSummary.builder(STATUS_PATCH_METRIC_NAME).baseUnit("bytes")
+            .tags(instanceTags(microcksPatch)).register(registry);
+      try {
+         summary.record(mapper.writeValueAsBytes(microcksPatch).length);
+      } catch (JsonProcessingException e) {
+         logger.debugf("Cannot compute the size of status patch: %s", e.getMessage());
+         summary.record(0);
+      }
+   }
+
+   /**
+    * Remove all the metrics of a Microcks instance if any.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      dependentsCounts.keySet().removeIf(key -> key.namespace().equals(namespace) && key.name().equals(microcksName));
+      for (String metricName : METRIC_NAMES) {
+         for (Meter meter : registry.find(metricName).tags(NAMESPACE_TAG, namespace, INSTANCE_TAG, microcksName).meters()) {
+            registry.remove(meter);
+         }
+      }
+   }
+
+   private AtomicInteger getDependentsCount(Microcks microcks, String module, String state) {
+      DependentsKey key = new DependentsKey(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName(),
+            module, state);
+      return dependentsCounts.computeIfAbsent(key, k -> registry.gauge(DEPENDENTS_METRIC_NAME,
+            instanceTags(microcks).and("module", module, "state", state), new AtomicInteger()));
+   }
+
+   private static Tags instanceTags(Microcks microcks) {
+      return Tags.of(NAMESPACE_TAG, microcks.getMetadata().getNamespace(), INSTANCE_TAG, microcks.getMetadata().getName());
+   }
+
+   private record DependentsKey(String namespace, String name, String module, String state) {
+   }
+}
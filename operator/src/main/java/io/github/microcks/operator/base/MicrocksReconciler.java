@@ -15,6 +15,11 @@
  */
 package io.github.microcks.operator.base;
 
+import io.github.microcks.operator.ApiClientMetrics;
+import io.github.microcks.operator.ClusterCapabilities;
+import io.github.microcks.operator.KeycloakTokenCache;
+import io.github.microcks.operator.MicrocksApiClientManager;
+import io.github.microcks.operator.MicrocksTrafficLimiter;
 import io.github.microcks.operator.WatcherKey;
 import io.github.microcks.operator.WatcherManager;
 import io.github.microcks.operator.api.base.v1alpha1.FeaturesSpecBuilder;
@@ -26,15 +31,20 @@ import io.github.microcks.operator.api.model.Condition;
 import io.github.microcks.operator.api.model.ExpositionType;
 import io.github.microcks.operator.api.model.IngressSpec;
 import io.github.microcks.operator.api.model.Status;
-import io.github.microcks.operator.base.resources.KeycloakIngressesPreparer;
-import io.github.microcks.operator.base.resources.MicrocksIngressesPreparer;
+import io.github.microcks.operator.base.resources.ExpositionDependentResource;
+import io.github.microcks.operator.base.resources.ExpositionSecretDependentResource;
 import io.github.microcks.operator.base.resources.StrimiziKafkaNodePoolResource;
 import io.github.microcks.operator.base.resources.StrimziKafkaResource;
 import io.github.microcks.operator.base.resources.StrimziKafkaTopicResource;
+import io.github.microcks.operator.base.resources.TemplateRenderCache;
+import io.github.microcks.operator.base.workflow.ModuleWorkflowsExecutor;
+import io.github.microcks.operator.model.CertificateService;
 import io.github.microcks.operator.model.ConditionUtil;
 import io.github.microcks.operator.model.IngressSpecUtil;
 import io.github.microcks.operator.model.ResourceMerger;
+import io.github.microcks.operator.model.SecretCertificateAuthorityStore;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
@@ -49,7 +59,6 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.WatcherException;
 import io.fabric8.openshift.api.model.Route;
-import io.fabric8.openshift.client.OpenShiftClient;
 import io.javaoperatorsdk.operator.ReconcilerUtils;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
 import io.javaoperatorsdk.operator.api.reconciler.Cleaner;
@@ -63,13 +72,24 @@ import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
 import io.javaoperatorsdk.operator.api.reconciler.dependent.ReconcileResult;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.Workflow;
 import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.inbound.SimpleInboundEventSource;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT_NAMESPACE;
@@ -90,11 +110,28 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
 
    private final ResourceMerger merger = new ResourceMerger();
 
+   private final MicrocksReconcileMetrics metrics = MicrocksReconcileMetrics.getInstance();
+
+   /** Instances fully reconciled to ready, whose unchanged reconciliations can take the steady-state path. */
+   private final MicrocksSteadyStateTracker steadyStateTracker = new MicrocksSteadyStateTracker();
+   /** Triggers reconciliations when Strimzi resources, that are not watched by informers, are deleted or modified. */
+   private final SimpleInboundEventSource<Microcks> strimziEventSource = new SimpleInboundEventSource<>(
+         "strimzi-resources");
+
+   /** Default specs only depend on version, so keep them as immutable trees we can cheaply copy from. */
+   private final Map<String, JsonNode> defaultSpecsCache = new ConcurrentHashMap<>();
+   private final ObjectMapper defaultSpecsMapper = new ObjectMapper();
+
    private static final String KEYCLOAK_MODULE = "Keycloak";
    private static final String MONGODB_MODULE = "Mongo";
    private static final String MICROCKS_MODULE = "Microcks";
    private static final String POSTMAN_MODULE = "Postman";
    private static final String ASYNC_MODULE = "Async";
+   /** The number of modules workflows: each one gets a thread so that independent modules run concurrently. */
+   private static final int MODULES_COUNT = 5;
+
+   /** Delay before checking again for Strimzi availability when Kafka install is requested but Strimzi is missing. */
+   private static final Duration STRIMZI_AVAILABILITY_CHECK_DELAY = Duration.ofSeconds(30);
 
    private final Workflow<Microcks> keycloakModuleWF;
    private final Workflow<Microcks> mongoDBModuleWF;
@@ -107,6 +144,11 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
    private final MicrocksDependentResourcesManager microcksReconciler;
    private final PostmanRuntimeDependentResourcesManager postmanRuntimeReconciler;
    private final AsyncFeatureDependentResourcesManager asyncFeatureReconciler;
+   private final ExpositionsDependentResourcesManager expositionsReconciler;
+
+   /** Modules workflows are run on their own threads as JOSDK workflow executor is used by workflows themselves. */
+   private final ExecutorService modulesExecutor;
+   private final ModuleWorkflowsExecutor<Microcks> modulesWorkflows;
 
    /**
     * Default constructor with injected Kubernetes client.
@@ -134,6 +176,36 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
       // Build resources manager and reconciliation workflow for Async minion module.
       asyncFeatureReconciler = new AsyncFeatureDependentResourcesManager(client);
       asyncFeatureModuleWF = asyncFeatureReconciler.buildReconciliationWorkflow();
+
+      // Build resources manager for Microcks and Keycloak expositions.
+      expositionsReconciler = new ExpositionsDependentResourcesManager(client);
+
+      // Ingress certificates authorities are persisted in Secrets so that they survive operator restarts.
+      if (client != null) {
+         CertificateService.getInstance().setAuthorityStore(new SecretCertificateAuthorityStore(client));
+      }
+
+      // Microcks needs Keycloak and MongoDB configuration to be there. Other modules can be reconciled concurrently.
+      AtomicInteger threadCount = new AtomicInteger();
+      modulesExecutor = Executors.newFixedThreadPool(MODULES_COUNT, runnable -> {
+         Thread thread = new Thread(runnable, "microcks-modules-reconciler-" + threadCount.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      });
+      modulesWorkflows = new ModuleWorkflowsExecutor<Microcks>(modulesExecutor)
+            .addModule(KEYCLOAK_MODULE, keycloakModuleWF)
+            .addModule(MONGODB_MODULE, mongoDBModuleWF)
+            .addModule(MICROCKS_MODULE, microcksModuleWF, KEYCLOAK_MODULE, MONGODB_MODULE)
+            .addModule(POSTMAN_MODULE, postmanRuntimeModuleWF)
+            .addModule(ASYNC_MODULE, asyncFeatureModuleWF);
+   }
+
+   /**
+    * Release the modules threads when the operator stops. Running workflows are allowed to complete.
+    * @param event The shutdown event
+    */
+   void onShutdown(@Observes ShutdownEvent event) {
+      modulesExecutor.shutdown();
    }
 
    @Override
@@ -144,7 +216,9 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
             mongoDBReconciler.initEventSources(context),
             microcksReconciler.initEventSources(context),
             postmanRuntimeReconciler.initEventSources(context),
-            asyncFeatureReconciler.initEventSources(context)
+            asyncFeatureReconciler.initEventSources(context),
+            expositionsReconciler.initEventSources(context),
+            List.<EventSource<?, Microcks>>of(strimziEventSource)
       ).flatMap(List::stream).toList();
    }
 
@@ -162,7 +236,17 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
 
       logger.infof("Starting reconcile operation for '%s'", microcks.getMetadata().getName());
 
+      // Nothing changed since last full reconciliation: dependents readiness is checked from informers caches only.
+      Timer.Sample steadyStateSample = metrics.startPhase();
+      boolean steady = steadyStateTracker.isSteady(microcks, context);
+      metrics.stopPhase(steadyStateSample, microcks, MicrocksReconcileMetrics.STEADY_STATE_PHASE);
+      if (steady) {
+         logger.infof("'%s' is in steady state, skipping full reconciliation", microcks.getMetadata().getName());
+         return UpdateControl.noUpdate();
+      }
+
       // Load default values for CR and build a complete representation.
+      Timer.Sample defaultsSample = metrics.startPhase();
       MicrocksSpec defaultSpec = loadDefaultMicrocksSpec(microcks.getSpec().getVersion());
       MicrocksSpec completeSpec = merger.mergeResources(defaultSpec, microcks.getSpec());
 
@@ -171,33 +255,45 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
       completeCR.setMetadata(microcks.getMetadata());
       completeCR.setSpec(completeSpec);
       completeCR.setStatus(microcks.getStatus());
+      metrics.stopPhase(defaultsSample, microcks, MicrocksReconcileMetrics.DEFAULTS_PHASE);
 
 //      // Some diagnostic helpers during development.
 //      ObjectMapper mapper = new ObjectMapper(new YAMLFactory().disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER));
 //      logger.info("defaultSpec: " + mapper.writerWithDefaultPrettyPrinter().writeValueAsString(defaultSpec));
 //      logger.info("CompleteCR: " + mapper.writerWithDefaultPrettyPrinter().writeValueAsString(completeCR));
 
-      boolean isOpenShift = client.adapt(OpenShiftClient.class).hasApiGroup("route.openshift.io", true);
-      final List<OwnerReference> refs = List.of(getOwnerReference(completeCR));
+      Timer.Sample expositionSample = metrics.startPhase();
+      final List<DependentResource<?, Microcks>> expositionDependents = new ArrayList<>();
+      boolean isOpenShift = ClusterCapabilities.getInstance().isOpenShift(client);
+
+      // Exposition resources can only be reconciled if their informers have been registered at startup.
+      String unwatchedExposition = getUnwatchedExpositionMessage(completeCR, isOpenShift);
+      if (unwatchedExposition != null) {
+         logger.error(unwatchedExposition);
+         microcks.getStatus().setStatus(Status.ERROR);
+         microcks.getStatus().setMessage(unwatchedExposition);
+         return stopPhaseAndPatchStatus(expositionSample, microcks, MicrocksReconcileMetrics.EXPOSITION_PHASE);
+      }
 
       String microcksUrl = null;
       if (!ExpositionType.NONE.equals(completeSpec.getCommonExpositions().getType())) {
          if (isOpenShift && completeCR.getSpec().getMicrocks().getOpenshift().getRoute().isEnabled()) {
             // We can create an OpenShift Route here to get the Url.
-            microcksUrl = manageRouteAndGetURL(MicrocksIngressesPreparer.prepareRoute(completeCR, context), ns, refs);
+            microcksUrl = manageRouteAndGetURL(expositionsReconciler.getMicrocksRouteDR(), completeCR, context,
+                  expositionDependents);
             logger.infof("Retrieved Microcks URL from Route: %s", microcksUrl);
          } else if (completeCR.getSpec().getMicrocks() != null && completeCR.getSpec().getMicrocks().getUrl() != null) {
             // Manage either an Ingress or an HTTPRoute.
             if (ExpositionType.INGRESS.equals(completeCR.getSpec().getCommonExpositions().getType())) {
                // We can create an Ingress here to get the Url.
-               microcksUrl = manageIngressAndGetURL(completeCR, completeCR.getSpec().getMicrocks().getIngress(),
-                     MicrocksIngressesPreparer.getIngressSecretName(microcks), completeCR.getSpec().getMicrocks().getUrl(),
-                     MicrocksIngressesPreparer.prepareIngress(completeCR, context), ns, refs);
+               microcksUrl = manageIngressAndGetURL(expositionsReconciler.getMicrocksIngressDR(),
+                     expositionsReconciler.getMicrocksIngressSecretDR(), completeCR.getSpec().getMicrocks().getIngress(),
+                     completeCR, context, expositionDependents);
                logger.infof("Retrieved Microcks URL from Ingress: %s", microcksUrl);
             } else if (ExpositionType.GATEWAYROUTE.equals(completeCR.getSpec().getCommonExpositions().getType())) {
                // We can create an HTTPRoute here.
-               microcksUrl = manageHTTPRouteAndGetURL(completeCR,
-                     MicrocksIngressesPreparer.prepareHTTPRoute(completeCR, context), ns, refs);
+               microcksUrl = manageHTTPRouteAndGetURL(expositionsReconciler.getMicrocksHTTPRouteDR(), completeCR,
+                     context, expositionDependents);
                logger.infof("Retrieved Microcks URL from HTTPRoute: %s", microcksUrl);
             }
          } else {
@@ -211,7 +307,7 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
             microcks.getStatus().setMessage(
                   "\"No Microcks URL specified and OpenShift Route disabled. You must either add spec.microcks.url "
                         + "or spec.microcks.openshift.route.enabled=true in the Microcks custom resource.");
-            return UpdateControl.patchStatus(prepareMicrocksForStatusPatch(microcks));
+            return stopPhaseAndPatchStatus(expositionSample, microcks, MicrocksReconcileMetrics.EXPOSITION_PHASE);
          }
       } else {
          if (spec.getMicrocks() != null && spec.getMicrocks().getUrl() != null) {
@@ -221,7 +317,7 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
             microcks.getStatus().setStatus(Status.ERROR);
             microcks.getStatus()
                   .setMessage("Not exposing Microcks and no URL specified. You must add spec.microcks.url");
-            return UpdateControl.patchStatus(prepareMicrocksForStatusPatch(microcks));
+            return stopPhaseAndPatchStatus(expositionSample, microcks, MicrocksReconcileMetrics.EXPOSITION_PHASE);
          }
       }
       microcks.getStatus().setMicrocksUrl(microcksUrl);
@@ -231,21 +327,21 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
          if (spec.getKeycloak().isInstall() && completeSpec.getKeycloak().getIngress().isExpose()) {
             if (isOpenShift && spec.getKeycloak().getOpenshift().getRoute().isEnabled()) {
                // We can create an OpenShift Route here to get the Url.
-               keycloakUrl = manageRouteAndGetURL(KeycloakIngressesPreparer.prepareRoute(completeCR, context), ns, refs);
+               keycloakUrl = manageRouteAndGetURL(expositionsReconciler.getKeycloakRouteDR(), completeCR, context,
+                     expositionDependents);
                logger.infof("Retrieved Keycloak URL from Route: %s", keycloakUrl);
             } else if (completeCR.getSpec().getKeycloak().isInstall() && completeCR.getSpec().getKeycloak().getUrl() != null) {
                // Manage either an Ingress or an HTTPRoute.
                if (ExpositionType.INGRESS.equals(completeCR.getSpec().getCommonExpositions().getType())) {
                   // We can create an Ingress here to get the Url.
-                  keycloakUrl = manageIngressAndGetURL(completeCR, completeCR.getSpec().getKeycloak().getIngress(),
-                        KeycloakIngressesPreparer.getIngressSecretName(microcks), completeCR.getSpec().getKeycloak().getUrl(),
-                        KeycloakIngressesPreparer.prepareIngress(completeCR, context), ns, refs);
-
+                  keycloakUrl = manageIngressAndGetURL(expositionsReconciler.getKeycloakIngressDR(),
+                        expositionsReconciler.getKeycloakIngressSecretDR(), completeCR.getSpec().getKeycloak().getIngress(),
+                        completeCR, context, expositionDependents);
                   logger.infof("Retrieved Keycloak URL from Ingress: %s", keycloakUrl);
                } else if (ExpositionType.GATEWAYROUTE.equals(completeCR.getSpec().getCommonExpositions().getType())) {
                   // We can create an HTTPRoute here.
-                  keycloakUrl = manageHTTPRouteAndGetURL(completeCR,
-                        KeycloakIngressesPreparer.prepareHTTPRoute(completeCR, context), ns, refs);
+                  keycloakUrl = manageHTTPRouteAndGetURL(expositionsReconciler.getKeycloakHTTPRouteDR(), completeCR,
+                        context, expositionDependents);
                   logger.infof("Retrieved Keycloak URL from HTTPRoute: %s", keycloakUrl);
                }
             } else {
@@ -256,7 +352,7 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
                microcks.getStatus().setMessage(
                      "No Keycloak URL specified and OpenShift Route disabled. You must either add spec.keycloak.url "
                            + "or spec.keycloak.openshift.route.enabled=true in the Microcks custom resource.");
-               return UpdateControl.patchStatus(prepareMicrocksForStatusPatch(microcks));
+               return stopPhaseAndPatchStatus(expositionSample, microcks, MicrocksReconcileMetrics.EXPOSITION_PHASE);
             }
          } else {
             if (spec.getKeycloak() != null && spec.getKeycloak().getUrl() != null) {
@@ -268,32 +364,24 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
                microcks.getStatus()
                      .setMessage("Not installing Keycloak but no URL specified. You must either add spec.keycloak.url "
                            + "or spec.keycloak.install=true with OpenShift support.");
-               return UpdateControl.patchStatus(prepareMicrocksForStatusPatch(microcks));
+               return stopPhaseAndPatchStatus(expositionSample, microcks, MicrocksReconcileMetrics.EXPOSITION_PHASE);
             }
          }
          microcks.getStatus().setKeycloakUrl(keycloakUrl);
       }
-
-      // Reconcile all our different workflows and handle the results.
-      WorkflowReconcileResult keycloakResult = keycloakModuleWF.reconcile(completeCR, context);
-      updateStatus = handleWorkflowReconcileResult(keycloakResult, microcks.getStatus(), KEYCLOAK_MODULE) || updateStatus;
-      logger.infof("Keycloak reconciliation triggered an update? %s", updateStatus);
-
-      WorkflowReconcileResult mongoDBResult = mongoDBModuleWF.reconcile(completeCR, context);
-      updateStatus = handleWorkflowReconcileResult(mongoDBResult, microcks.getStatus(), MONGODB_MODULE) || updateStatus;
-      logger.infof("Mongo reconciliation triggered an update?: %s", updateStatus);
-
-      WorkflowReconcileResult microcksResult = microcksModuleWF.reconcile(completeCR, context);
-      updateStatus = handleWorkflowReconcileResult(microcksResult, microcks.getStatus(), MICROCKS_MODULE) || updateStatus;
-      logger.infof("Microcks reconciliation triggered an update?: %s", updateStatus);
-
-      WorkflowReconcileResult postmanResult = postmanRuntimeModuleWF.reconcile(completeCR, context);
-      updateStatus = handleWorkflowReconcileResult(postmanResult, microcks.getStatus(), POSTMAN_MODULE) || updateStatus;
-      logger.infof("Postman reconciliation triggered an update?: %s", updateStatus);
-
-      WorkflowReconcileResult asyncFeatureResult = asyncFeatureModuleWF.reconcile(completeCR, context);
-      updateStatus = handleWorkflowReconcileResult(asyncFeatureResult, microcks.getStatus(), ASYNC_MODULE) || updateStatus;
-      logger.infof("Async reconciliation triggered an update?: %s", updateStatus);
+      metrics.stopPhase(expositionSample, microcks, MicrocksReconcileMetrics.EXPOSITION_PHASE);
+
+      // Reconcile all our different workflows and handle the results in a stable modules order.
+      Timer.Sample modulesSample = metrics.startPhase();
+      Map<String, WorkflowReconcileResult> modulesResults = modulesWorkflows.reconcile(completeCR, context,
+            (module, duration) -> metrics.recordModule(microcks, module, duration));
+      metrics.stopPhase(modulesSample, microcks, MicrocksReconcileMetrics.MODULES_PHASE);
+      for (Map.Entry<String, WorkflowReconcileResult> moduleResult : modulesResults.entrySet()) {
+         metrics.recordDependents(microcks, moduleResult.getKey(), moduleResult.getValue());
+         updateStatus = handleWorkflowReconcileResult(moduleResult.getValue(), microcks.getStatus(), moduleResult.getKey())
+               || updateStatus;
+         logger.infof("%s reconciliation triggered an update?: %s", moduleResult.getKey(), updateStatus);
+      }
 
       /*
        * // Some diagnostic helpers during development.
@@ -306,17 +394,41 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
        */
 
       //
+      List<GenericKubernetesResource> strimziResources = List.of();
       if (installStrimziKafka(completeCR)) {
-         manageStrimziKafkaInstall(completeCR, context);
+         if (!ClusterCapabilities.getInstance().hasApiGroup(client, ClusterCapabilities.STRIMZI_KAFKA_GROUP, true)) {
+            logger.errorf("Kafka install is requested for '%s' but Strimzi is not available on the cluster",
+                  microcks.getMetadata().getName());
+            microcks.getStatus().setStatus(Status.ERROR);
+            microcks.getStatus().setMessage("Kafka install is requested but Strimzi is not available on the cluster. "
+                  + "You must either install Strimzi or set spec.features.async.kafka.install=false.");
+            // Check again later as Strimzi may be installed in the meantime.
+            return UpdateControl.patchStatus(prepareMicrocksForStatusPatch(microcks))
+                  .rescheduleAfter(STRIMZI_AVAILABILITY_CHECK_DELAY);
+         }
+         Timer.Sample strimziSample = metrics.startPhase();
+         strimziResources = manageStrimziKafkaInstall(completeCR, context);
+         metrics.stopPhase(strimziSample, microcks, MicrocksReconcileMetrics.STRIMZI_PHASE);
       }
 
       logger.infof("Finishing reconcile operation for '%s'", microcks.getMetadata().getName());
 
+      // Track the generation the status has been computed from.
+      Long generation = microcks.getMetadata().getGeneration();
+      if (generation != null && microcks.getStatus().getObservedGeneration() != generation) {
+         microcks.getStatus().setObservedGeneration(generation);
+         updateStatus = true;
+      }
+
       if (updateStatus) {
-         logger.info("Returning an updateStatus control. ========================");
          logger.info("Global status before check is: " + microcks.getStatus().getStatus());
          checkIfGloballyReady(completeCR, microcks.getStatus());
          logger.info("Global status after check is: " + microcks.getStatus().getStatus());
+      }
+      steadyStateTracker.record(completeCR, modulesResults.values(), expositionDependents, strimziResources, context);
+
+      if (updateStatus) {
+         logger.info("Returning an updateStatus control. ========================");
          return UpdateControl.patchStatus(prepareMicrocksForStatusPatch(microcks));
       }
 
@@ -351,16 +463,42 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
          logger.warnf("Failed re-building the complete CR during cleanup with %s", e.getMessage());
       }
 
+      // Release connections and tokens held for dependent resources reconciliation.
+      MicrocksApiClientManager.getInstance().invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      ApiClientMetrics.getInstance().invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      MicrocksTrafficLimiter.getInstance().invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      KeycloakTokenCache.getInstance().invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      TemplateRenderCache.getInstance().invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      metrics.invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      CertificateService.getInstance().invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      steadyStateTracker.invalidate(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      expositionsReconciler.forgetAdoptions(microcks);
+
       return DeleteControl.defaultDelete();
    }
 
    /**
-    * Load a MicrocksSpec with default values for given version
+    * Load a MicrocksSpec with default values for given version. Defaults are computed once per version and then
+    * served from a cache: the returned spec is a fresh copy that can be safely modified by caller.
     * @param version The version of Microcks to get a full default spec for
     * @return A MicrocksSpec with default values
     * @throws Exception If default values cannot be loaded
     */
    public MicrocksSpec loadDefaultMicrocksSpec(String version) throws Exception {
+      JsonNode defaultSpecTree = defaultSpecsCache.get(version);
+      if (defaultSpecTree == null) {
+         defaultSpecTree = defaultSpecsMapper.valueToTree(buildDefaultMicrocksSpec(version));
+         JsonNode previous = defaultSpecsCache.putIfAbsent(version, defaultSpecTree);
+         if (previous != null) {
+            defaultSpecTree = previous;
+         }
+      }
+      return defaultSpecsMapper.treeToValue(defaultSpecTree, MicrocksSpec.class);
+   }
+
+   /** Build a MicrocksSpec with default values for given version by merging the different default files. */
+   private MicrocksSpec buildDefaultMicrocksSpec(String version) throws Exception {
+      logger.infof("Building default spec for Microcks version '%s'", version);
       Microcks versionCR = null;
       MicrocksSpec versionSpec = null;
 
@@ -404,6 +542,40 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
       return merger.mergeResources(defaultCR.getSpec(), versionSpec);
    }
 
+   /**
+    * Tell if the expositions requested by the spec need Routes or HTTPRoutes that were not supported by the cluster
+    * when the operator started, and thus have no informer.
+    * @param completeCR  The complete Microcks primary resource
+    * @param isOpenShift Whether the cluster is OpenShift
+    * @return A message explaining the operator must be restarted, null if expositions can be reconciled
+    */
+   protected String getUnwatchedExpositionMessage(Microcks completeCR, boolean isOpenShift) {
+      MicrocksSpec spec = completeCR.getSpec();
+      if (ExpositionType.NONE.equals(spec.getCommonExpositions().getType())) {
+         return null;
+      }
+      boolean keycloakExposed = spec.getKeycloak().isEnabled() && spec.getKeycloak().isInstall()
+            && spec.getKeycloak().getIngress().isExpose();
+      if (isOpenShift && !expositionsReconciler.isRoutesWatched()
+            && (spec.getMicrocks().getOpenshift().getRoute().isEnabled()
+                  || keycloakExposed && spec.getKeycloak().getOpenshift().getRoute().isEnabled())) {
+         return "OpenShift Routes were not available when the operator started. "
+               + "You must restart the operator to expose Microcks using Routes.";
+      }
+      if (ExpositionType.GATEWAYROUTE.equals(spec.getCommonExpositions().getType())
+            && !expositionsReconciler.isHTTPRoutesWatched()) {
+         return "Gateway API HTTPRoutes were not available when the operator started. "
+               + "You must restart the operator to expose Microcks using the GATEWAYROUTE type.";
+      }
+      return null;
+   }
+
+   /** Stop a reconciliation phase that ends the reconciliation with a status patch. */
+   private UpdateControl<Microcks> stopPhaseAndPatchStatus(Timer.Sample sample, Microcks microcks, String phase) {
+      metrics.stopPhase(sample, microcks, phase);
+      return UpdateControl.patchStatus(prepareMicrocksForStatusPatch(microcks));
+   }
+
    /** Build a new OwnerReference to assign to CR resources. */
    private OwnerReference getOwnerReference(Microcks primary) {
       return new OwnerReferenceBuilder().withController(true).withKind(primary.getKind())
@@ -412,76 +584,69 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
    }
 
    /**
-    * Manage an OpenShift Route creation and retrieval of host name.
-    * @param route The OpenShift Route to created or replace
-    * @param ns    The namespace where to create it
-    * @param refs  The controller owner references
-    * @return The host to which the route is attached
+    * Manage an OpenShift Route and retrieval of host name.
+    * @param routeDR              The dependent resource of OpenShift Route
+    * @param microcks             The complete primary resource this Route comes from
+    * @param context              The reconciliation context
+    * @param reconciledDependents The list of reconciled expositions dependents to add this one to
+    * @return The host to which the route is attached (read from the created, updated or cached route).
     */
-   protected String manageRouteAndGetURL(Route route, String ns, List<OwnerReference> refs) {
-      route.getMetadata().setOwnerReferences(refs);
-      route = client.adapt(OpenShiftClient.class).routes().inNamespace(ns).resource(route).createOrReplace();
-
+   protected String manageRouteAndGetURL(ExpositionDependentResource<Route> routeDR, Microcks microcks,
+         Context<Microcks> context, List<DependentResource<?, Microcks>> reconciledDependents) {
+      Route route = reconcileExposition(routeDR, microcks, context, reconciledDependents);
       return route.getSpec().getHost();
    }
 
    /**
-    * Manage an Ingress creation and retrieval of host name.
-    * @param microcks    The primary resource this Ingress comes from
-    * @param ingressSpec The specification of Ingress to create
-    * @param secretName  The name of secret where TLS properties are stored
-    * @param host        The host chosen for exposing the ingress
-    * @param ingress     The Ingress resource to create or replace
-    * @param ns          The namespace where to create it
-    * @param refs        The controller owner references
+    * Manage an Ingress, its generated TLS Secret if required, and retrieval of host name.
+    * @param ingressDR            The dependent resource of Ingress
+    * @param secretDR             The dependent resource of Ingress TLS Secret
+    * @param ingressSpec          The specification of Ingress
+    * @param microcks             The complete primary resource this Ingress comes from
+    * @param context              The reconciliation context
+    * @param reconciledDependents The list of reconciled expositions dependents to add these ones to
     * @return The host to which the ingress is attached (read from ingress spec).
     */
-   protected String manageIngressAndGetURL(Microcks microcks, IngressSpec ingressSpec, String secretName, String host,
-         Ingress ingress, String ns, List<OwnerReference> refs) {
-      createIngressSecretIfNeeded(microcks, ingressSpec, secretName, host);
-      ingress.getMetadata().setOwnerReferences(refs);
-      ingress = client.network().v1().ingresses().inNamespace(ns).resource(ingress).createOrReplace();
-
+   protected String manageIngressAndGetURL(ExpositionDependentResource<Ingress> ingressDR,
+         ExpositionSecretDependentResource secretDR, IngressSpec ingressSpec, Microcks microcks,
+         Context<Microcks> context, List<DependentResource<?, Microcks>> reconciledDependents) {
+      if (IngressSpecUtil.generateCertificateSecret(ingressSpec)) {
+         reconcileExposition(secretDR, microcks, context, reconciledDependents);
+      }
+      Ingress ingress = reconcileExposition(ingressDR, microcks, context, reconciledDependents);
       return ingress.getSpec().getRules().get(0).getHost();
    }
 
    /**
-    * Manage an HTTPRoute creation and retrieval of host name.
-    * @param microcks The primary resource this HTTPRoute comes from
-    * @param route    The HTTPRoute resource to create or replace
-    * @param ns       The namespace where to create it
-    * @param refs     The controller owner references
-    * @return The host to which the HTTPRoute is attached (read from the created or updated route).
+    * Manage an HTTPRoute and retrieval of host name.
+    * @param routeDR              The dependent resource of HTTPRoute
+    * @param microcks             The complete primary resource this HTTPRoute comes from
+    * @param context              The reconciliation context
+    * @param reconciledDependents The list of reconciled expositions dependents to add this one to
+    * @return The host to which the HTTPRoute is attached (read from the created, updated or cached route).
     */
-   protected String manageHTTPRouteAndGetURL(Microcks microcks, HTTPRoute route, String ns, List<OwnerReference> refs) {
-      route.getMetadata().setOwnerReferences(refs);
-      route = client.resource(route).inNamespace(ns).serverSideApply();
-
+   protected String manageHTTPRouteAndGetURL(ExpositionDependentResource<HTTPRoute> routeDR, Microcks microcks,
+         Context<Microcks> context, List<DependentResource<?, Microcks>> reconciledDependents) {
+      HTTPRoute route = reconcileExposition(routeDR, microcks, context, reconciledDependents);
       return route.getSpec().getHostnames().get(0);
    }
 
    /**
-    * Manage creation of Ingress Secret if required.
-    * @param microcks   The primary resource this Ingress comes from
-    * @param spec       The specification of Ingress to create a secret for
-    * @param secretName The name of secret where TLS properties are stored
-    * @param host       The host chosen for exposing the ingress
+    * Reconcile an exposition dependent resource: it is only written if missing or drifted from the desired one.
+    * @param dependent            The exposition dependent resource
+    * @param microcks             The complete primary resource
+    * @param context              The reconciliation context
+    * @param reconciledDependents The list of reconciled expositions dependents to add this one to
+    * @return The created, updated or cached resource
     */
-   protected void createIngressSecretIfNeeded(Microcks microcks, IngressSpec spec, String secretName, String host) {
-      if (IngressSpecUtil.generateCertificateSecret(spec)) {
-         final String ns = microcks.getMetadata().getNamespace();
-         final List<OwnerReference> refs = List.of(getOwnerReference(microcks));
-
-         Map<String, String> labels = Map.of("app", microcks.getMetadata().getName(), "group", "microcks");
-
-         Secret secret = client.secrets().inNamespace(ns).withName(secretName).get();
-         if (secret == null) {
-            logger.infof("Creating a new Ingress Secret named '%s'", secretName);
-            Secret certSecret = IngressSpecUtil.generateSelfSignedCertificateSecret(secretName, labels, host);
-            certSecret.getMetadata().setOwnerReferences(refs);
-            client.secrets().inNamespace(ns).create(certSecret);
-         }
-      }
+   private <R> R reconcileExposition(DependentResource<R, Microcks> dependent, Microcks microcks,
+         Context<Microcks> context, List<DependentResource<?, Microcks>> reconciledDependents) {
+      ReconcileResult<R> result = dependent.reconcile(microcks, context);
+      logger.debugf("Reconciled exposition %s for '%s': %s", dependent.name(), microcks.getMetadata().getName(),
+            result.getSingleOperation());
+      reconciledDependents.add(dependent);
+      return result.getSingleResource().orElseThrow(
+            () -> new IllegalStateException("No resource after reconciliation of exposition " + dependent.name()));
    }
 
    /**
@@ -505,9 +670,8 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
                logger.debugf("    dependentResource: %s", dependentResource);
             }
             Condition condition = ConditionUtil.getOrCreateCondition(status, module + "Deploying");
-            condition.setStatus(Status.DEPLOYING);
-            ConditionUtil.touchConditionTime(condition);
-            updateStatus = true;
+            // Only a transition to deploying requires a status update.
+            updateStatus = ConditionUtil.updateCondition(condition, Status.DEPLOYING, condition.getMessage());
          } else if (result.allDependentResourcesReady()) {
             logger.debugf("  All dependents are ready!");
             Condition condition = ConditionUtil.getOrCreateCondition(status, module + "Ready");
@@ -553,8 +717,10 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
     * Manage the installation of the Strimzi Kafka resources.
     * @param microcks The microcks primary resource Strimzi will be attached to
     * @param context  The reconciliation context
+    * @return The Strimzi Kafka resources as applied on the cluster
     */
-   protected void manageStrimziKafkaInstall(Microcks microcks, Context<Microcks> context) {
+   protected List<GenericKubernetesResource> manageStrimziKafkaInstall(Microcks microcks, Context<Microcks> context) {
+      List<GenericKubernetesResource> appliedResources = new ArrayList<>();
       // If we use Kraft on Strimizi Kafka, we need to create a NodePool first.
       if (microcks.getSpec().getFeatures().getAsync().getKafka().isEnableKraft()) {
          StrimiziKafkaNodePoolResource strimiziKafkaNodePool = new StrimiziKafkaNodePoolResource(client);
@@ -562,7 +728,7 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
 
          // Force the owner reference before creating or replacing those resources.
          strimiziKafkaNodePoolRes.getMetadata().setOwnerReferences(List.of(getOwnerReference(microcks)));
-         createOrReplaceGenericResource(strimiziKafkaNodePoolRes, microcks.getMetadata().getNamespace());
+         appliedResources.add(createOrReplaceGenericResource(strimiziKafkaNodePoolRes, microcks));
       }
 
       // Build desired Strimzi Kafka broker and topic.
@@ -574,8 +740,9 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
       // Force the owner reference before creating or replacing those resources.
       strimziKafkaRes.getMetadata().setOwnerReferences(List.of(getOwnerReference(microcks)));
       strimziTopicRes.getMetadata().setOwnerReferences(List.of(getOwnerReference(microcks)));
-      createOrReplaceGenericResource(strimziKafkaRes, microcks.getMetadata().getNamespace());
-      createOrReplaceGenericResource(strimziTopicRes, microcks.getMetadata().getNamespace());
+      appliedResources.add(createOrReplaceGenericResource(strimziKafkaRes, microcks));
+      appliedResources.add(createOrReplaceGenericResource(strimziTopicRes, microcks));
+      return appliedResources;
    }
 
    /**
@@ -640,9 +807,14 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
    }
 
    /** */
-   private void createOrReplaceGenericResource(GenericKubernetesResource genericResource, String namespace) {
+   private GenericKubernetesResource createOrReplaceGenericResource(GenericKubernetesResource genericResource,
+         Microcks microcks) {
+      final String namespace = microcks.getMetadata().getNamespace();
+      final String microcksName = microcks.getMetadata().getName();
+
       // Create the generic Kubernetes resource.
-      client.genericKubernetesResources(genericResource.getApiVersion(), genericResource.getKind())
+      GenericKubernetesResource appliedResource = client
+            .genericKubernetesResources(genericResource.getApiVersion(), genericResource.getKind())
             .inNamespace(namespace).resource(genericResource).createOrReplace();
 
       // Now take care about registering a watcher if necessary.
@@ -659,17 +831,25 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
                if (Action.DELETED.equals(action)) {
                   logger.infof("Been deleted, current resource is %s", resource);
                }
+               // Deleted or modified resource must be restored by a full reconciliation.
+               boolean deleted = Action.DELETED.equals(action);
+               if (steadyStateTracker.onGenericResourceEvent(namespace, microcksName, resource, deleted) || deleted) {
+                  strimziEventSource.propagateEvent(new ResourceID(microcksName, namespace));
+               }
             }
 
             @Override
             public void onClose(WatcherException cause) {
                logger.infof("Watcher was closed due to %e", cause.getMessage());
+               // Resource events are no longer received.
+               steadyStateTracker.invalidate(namespace, microcksName);
             }
          };
          client.genericKubernetesResources(genericResource.getApiVersion(), genericResource.getKind())
                .inNamespace(namespace).withName(genericResource.getMetadata().getName()).watch(watcher);
          watchers.registerWatcher(watcherKey, watcher);
       }
+      return appliedResource;
    }
 
    /** */
@@ -690,6 +870,7 @@ public class MicrocksReconciler implements Reconciler<Microcks>, Cleaner<Microck
             .withResourceVersion(microcks.getMetadata().getResourceVersion())
             .build());
       microcksPatch.setStatus(microcks.getStatus());
+      metrics.recordStatusPatch(microcksPatch);
       return microcksPatch;
    }
 }
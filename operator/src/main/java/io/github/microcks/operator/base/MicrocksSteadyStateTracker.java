@@ -0,0 +1,207 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.model.Status;
+import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the dependent resources of {@code Microcks} instances that have been fully reconciled to a ready state, so
+ * that following reconciliations of an unchanged instance can be served by a lightweight steady-state path. This path
+ * only checks from informers caches that dependent resources are still there, unmodified and ready.
+ * <p>
+ * An instance is considered in steady state if its {@code metadata.generation} is the one of last full reconciliation
+ * and the {@code status.observedGeneration}, if its status is {@code READY} and if none of its tracked dependent
+ * resources has been deleted or modified since. Deployments must also have all their replicas ready. The generic
+ * resources applied out of informers (like the Strimzi Kafka ones) are tracked too: their watchers report their events
+ * so that a deletion or a spec change forgets the steady state. The tracked state only lives in memory: the first
+ * reconciliation of an instance after an operator restart is always a full one.
+ * @author laurent
+ */
+public class MicrocksSteadyStateTracker {
+
+   private final Map<String, SteadyState> steadyStates = new ConcurrentHashMap<>();
+
+   /**
+    * Record the dependent resources of a fully reconciled instance. Nothing is recorded (and any previous state is
+    * forgotten) if the instance is not ready or if a dependent resource is not yet available in informers caches.
+    * @param microcks             The complete Microcks instance, holding the computed status
+    * @param results              The results of modules workflows reconciliation
+    * @param expositionDependents The expositions dependent resources reconciled out of modules workflows
+    * @param genericResources     The generic resources applied out of informers, as returned by the API server
+    * @param context              The reconciliation context
+    */
+   public void record(Microcks microcks, Collection<WorkflowReconcileResult> results,
+         Collection<? extends DependentResource<?, ?>> expositionDependents,
+         Collection<? extends HasMetadata> genericResources, Context<Microcks> context) {
+      String key = getKey(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName());
+      if (!isReadyAtGeneration(microcks)) {
+         steadyStates.remove(key);
+         return;
+      }
+
+      List<DependentResource<?, ?>> dependents = new ArrayList<>(expositionDependents);
+      for (WorkflowReconcileResult result : results) {
+         if (result.erroredDependentsExist() || !result.getNotReadyDependents().isEmpty()) {
+            steadyStates.remove(key);
+            return;
+         }
+         if (result.getReconciledDependents() != null) {
+            result.getReconciledDependents().forEach(dependents::add);
+         }
+      }
+
+      List<TrackedResource> trackedResources = new ArrayList<>();
+      for (DependentResource<?, ?> dependent : dependents) {
+         if (dependent instanceof NamedSecondaryResourceProvider<?> provider
+               && HasMetadata.class.isAssignableFrom(dependent.resourceType())) {
+            @SuppressWarnings("unchecked")
+            Class<? extends HasMetadata> type = (Class<? extends HasMetadata>) dependent.resourceType();
+            @SuppressWarnings("unchecked")
+            String name = ((NamedSecondaryResourceProvider<Microcks>) provider).getSecondaryResourceName(microcks);
+
+            Optional<? extends HasMetadata> resource = getCachedResource(context, type, microcks, name);
+            if (resource.isEmpty()) {
+               steadyStates.remove(key);
+               return;
+            }
+            trackedResources.add(new TrackedResource(type, name, getVersion(resource.get())));
+         }
+      }
+      Map<String, String> genericVersions = new HashMap<>();
+      for (HasMetadata genericResource : genericResources) {
+         genericVersions.put(getGenericKey(genericResource), getVersion(genericResource));
+      }
+      steadyStates.put(key, new SteadyState(microcks.getMetadata().getGeneration(), trackedResources, genericVersions));
+   }
+
+   /**
+    * Handle an event received for a generic resource of a Microcks instance, forgetting its steady state if the
+    * resource has been deleted or if its spec has changed since it was recorded.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    * @param resource     The generic resource the event has been received for
+    * @param deleted      Whether the resource has been deleted
+    * @return Whether the steady state of instance has been forgotten
+    */
+   public boolean onGenericResourceEvent(String namespace, String microcksName, HasMetadata resource, boolean deleted) {
+      String key = getKey(namespace, microcksName);
+      SteadyState steadyState = steadyStates.get(key);
+      if (steadyState == null) {
+         return false;
+      }
+      String version = steadyState.genericVersions().get(getGenericKey(resource));
+      if (deleted || version == null || !version.equals(getVersion(resource))) {
+         return steadyStates.remove(key, steadyState);
+      }
+      return false;
+   }
+
+   /**
+    * Tell if a Microcks instance is in steady state and can skip a full reconciliation.
+    * @param microcks The Microcks instance to check
+    * @param context  The reconciliation context giving access to informers caches
+    * @return Whether the instance is unchanged and all its dependent resources are unmodified and ready
+    */
+   public boolean isSteady(Microcks microcks, Context<Microcks> context) {
+      SteadyState steadyState = steadyStates.get(getKey(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName()));
+      if (steadyState == null || !isReadyAtGeneration(microcks)
+            || !Objects.equals(steadyState.generation(), microcks.getMetadata().getGeneration())) {
+         return false;
+      }
+      for (TrackedResource trackedResource : steadyState.resources()) {
+         Optional<? extends HasMetadata> resource = getCachedResource(context, trackedResource.type(), microcks,
+               trackedResource.name());
+         if (resource.isEmpty() || !trackedResource.version().equals(getVersion(resource.get()))) {
+            return false;
+         }
+         if (resource.get() instanceof Deployment deployment && !isDeploymentReady(deployment)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Forget the steady state of a Microcks instance if any.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      steadyStates.remove(getKey(namespace, microcksName));
+   }
+
+   private static boolean isReadyAtGeneration(Microcks microcks) {
+      Long generation = microcks.getMetadata().getGeneration();
+      return microcks.getStatus() != null && microcks.getStatus().getStatus() == Status.READY && generation != null
+            && microcks.getStatus().getObservedGeneration() == generation;
+   }
+
+   private static Optional<? extends HasMetadata> getCachedResource(Context<Microcks> context,
+         Class<? extends HasMetadata> type, Microcks microcks, String name) {
+      return context.getSecondaryResourcesAsStream(type)
+            .filter(resource -> name.equals(resource.getMetadata().getName())
+                  && Objects.equals(microcks.getMetadata().getNamespace(), resource.getMetadata().getNamespace()))
+            .findFirst();
+   }
+
+   /** Spec changes of resources having a generation bump it whereas their status changes don't. */
+   private static String getVersion(HasMetadata resource) {
+      Long generation = resource.getMetadata().getGeneration();
+      return generation != null ? "g" + generation : resource.getMetadata().getResourceVersion();
+   }
+
+   private static boolean isDeploymentReady(Deployment deployment) {
+      if (deployment.getStatus() == null || deployment.getSpec() == null) {
+         return false;
+      }
+      Long observedGeneration = deployment.getStatus().getObservedGeneration();
+      int replicas = deployment.getSpec().getReplicas() != null ? deployment.getSpec().getReplicas() : 1;
+      int readyReplicas = deployment.getStatus().getReadyReplicas() != null ? deployment.getStatus().getReadyReplicas() : 0;
+      return observedGeneration != null && observedGeneration.equals(deployment.getMetadata().getGeneration())
+            && readyReplicas >= replicas;
+   }
+
+   private static String getKey(String namespace, String name) {
+      return namespace + "/" + name;
+   }
+
+   private static String getGenericKey(HasMetadata resource) {
+      return resource.getApiVersion() + "/" + resource.getKind() + "/" + resource.getMetadata().getName();
+   }
+
+   private record TrackedResource(Class<? extends HasMetadata> type, String name, String version) {
+   }
+
+   private record SteadyState(Long generation, List<TrackedResource> resources, Map<String, String> genericVersions) {
+   }
+}
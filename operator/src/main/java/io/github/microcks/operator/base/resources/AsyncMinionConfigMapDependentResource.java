@@ -31,6 +31,8 @@ import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import org.jboss.logging.Logger;
 
+import java.util.Map;
+
 /**
  * An Async Minion Kubernetes ConfigMap dependent resource.
  * @author laurent
@@ -70,9 +72,14 @@ public class AsyncMinionConfigMapDependentResource extends CRUDKubernetesDepende
       final ObjectMeta microcksMetadata = microcks.getMetadata();
       final String microcksName = microcksMetadata.getName();
 
-      // Compute configuration files with Qute templates.
-      String applicationProperties = Templates.application(microcksName, microcksMetadata.getNamespace(), microcks.getSpec(),
-            MicrocksSpecHelper.getMicrocksMajorVersion(microcks.getSpec()), MicrocksSpecHelper.getMicrocksMinorVersion(microcks.getSpec())).render();
+      // Compute configuration files with Qute templates, unless inputs are unchanged since last rendering.
+      final int majorVersion = MicrocksSpecHelper.getMicrocksMajorVersion(microcks.getSpec());
+      final int minorVersion = MicrocksSpecHelper.getMicrocksMinorVersion(microcks.getSpec());
+      Map<String, String> data = TemplateRenderCache.getInstance().getOrRender("async-minion-config",
+            microcksMetadata.getNamespace(), microcksName,
+            new Object[] { microcksName, microcksMetadata.getNamespace(), microcks.getSpec(), majorVersion, minorVersion },
+            () -> Map.of("application.properties", Templates.application(microcksName, microcksMetadata.getNamespace(),
+                  microcks.getSpec(), majorVersion, minorVersion).render()));
 
       ConfigMapBuilder builder = new ConfigMapBuilder().withNewMetadata().withName(getSecondaryResourceName(microcks))
                .withNamespace(microcksMetadata.getNamespace())
@@ -82,7 +89,7 @@ public class AsyncMinionConfigMapDependentResource extends CRUDKubernetesDepende
                .addToLabels(microcks.getSpec().getCommonLabels())
                .addToAnnotations(microcks.getSpec().getCommonAnnotations())
             .endMetadata()
-            .addToData("application.properties", applicationProperties);
+            .addToData(data);
 
       return builder.build();
    }
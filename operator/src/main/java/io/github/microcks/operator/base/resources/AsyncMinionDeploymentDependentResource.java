@@ -27,7 +27,6 @@ import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
-import io.javaoperatorsdk.operator.ReconcilerUtils;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
@@ -77,9 +76,8 @@ public class AsyncMinionDeploymentDependentResource extends CRUDKubernetesDepend
       final MicrocksSpec spec = microcks.getSpec();
       final AsyncFeatureSpec asyncFeatureSpec = spec.getFeatures().getAsync();
 
-      Deployment deployment = ReconcilerUtils.loadYaml(Deployment.class, getClass(),
-            "/k8s/async-minion-deployment.yml");
-      DeploymentBuilder builder = new DeploymentBuilder(deployment).editMetadata().withName(getDeploymentName(microcks))
+      DeploymentBuilder builder = ManifestPrototypes.deploymentBuilder("/k8s/async-minion-deployment.yml")
+            .editMetadata().withName(getDeploymentName(microcks))
             .withNamespace(microcksMetadata.getNamespace()).addToLabels("app", microcksName)
                .addToLabels("app.kubernetes.io/name", getDeploymentName(microcks))
                .addToLabels("app.kubernetes.io/version", microcks.getSpec().getVersion())
@@ -79,7 +79,8 @@ public class AsyncMinionWSSecretDependentResource extends KubernetesDependentRes
             AsyncMinionServiceDependentResource.getServiceName(microcks) + ".svc." + microcks.getSpec().getClusterDomain(),
             "localhost");
 
-      Secret secret = IngressSpecUtil.generateSelfSignedCertificateSecret(getSecretName(microcks), labels, hosts);
+      Secret secret = IngressSpecUtil.generateInstanceCertificateSecret(microcks,
+            microcks.getSpec().getFeatures().getAsync().getWs().getIngress(), getSecretName(microcks), labels, hosts);
       secret.getMetadata().setNamespace(microcks.getMetadata().getNamespace());
       secret.getMetadata().setOwnerReferences(List.of(getOwnerReference(microcks)));
       return secret;
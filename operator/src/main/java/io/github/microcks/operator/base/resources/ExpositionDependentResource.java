@@ -0,0 +1,106 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.github.microcks.operator.MicrocksOperatorConfig;
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.config.informer.Informer;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.jboss.logging.Logger;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An exposition (OpenShift Route, Ingress or HTTPRoute) dependent resource of Microcks or Keycloak. The desired
+ * resource is built by one of the {@link MicrocksIngressesPreparer} or {@link KeycloakIngressesPreparer} methods and
+ * is only written when it has drifted from the one in informer cache.
+ * @param <R> The type of exposition resource
+ * @author laurent
+ */
+@KubernetesDependent(informer = @Informer(labelSelector = MicrocksOperatorConfig.RESOURCE_LABEL_SELECTOR))
+public class ExpositionDependentResource<R extends HasMetadata> extends CRUDKubernetesDependentResource<R, Microcks>
+      implements NamedSecondaryResourceProvider<Microcks> {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final Function<Microcks, String> nameProvider;
+   private final BiFunction<Microcks, Context<Microcks>, R> preparer;
+   private final UnmanagedResourceAdopter<R> adopter;
+
+   /**
+    * Build a new exposition dependent resource.
+    * @param resourceType The type of exposition resource
+    * @param name         The unique name of this dependent resource (and of its event source)
+    * @param nameProvider The provider of exposition resource name, given the primary resource
+    * @param preparer     The preparer of the desired exposition resource, given the primary resource
+    */
+   public ExpositionDependentResource(Class<R> resourceType, String name, Function<Microcks, String> nameProvider,
+         BiFunction<Microcks, Context<Microcks>, R> preparer) {
+      super(resourceType, name);
+      this.nameProvider = nameProvider;
+      this.preparer = preparer;
+      this.adopter = new UnmanagedResourceAdopter<>(resourceType);
+   }
+
+   @Override
+   public String getSecondaryResourceName(Microcks primary) {
+      return nameProvider.apply(primary);
+   }
+
+   @Override
+   protected ResourceID targetSecondaryResourceID(Microcks primary, Context<Microcks> context) {
+      return new ResourceID(getSecondaryResourceName(primary), primary.getMetadata().getNamespace());
+   }
+
+   /**
+    * Forget the adoption check of the resource of a primary, so that it is looked up again if missing.
+    * @param primary The primary resource being deleted
+    */
+   public void forgetAdoption(Microcks primary) {
+      adopter.forget(targetSecondaryResourceID(primary, null));
+   }
+
+   @Override
+   public Optional<R> getSecondaryResource(Microcks primary, Context<Microcks> context) {
+      Optional<R> resource = super.getSecondaryResource(primary, context);
+      if (resource.isEmpty()) {
+         // Resources created by previous operator versions are not labelled: adopt them instead of creating them again.
+         resource = adopter.adoptOnce(context.getClient(), targetSecondaryResourceID(primary, context));
+      }
+      return resource;
+   }
+
+   @Override
+   protected R desired(Microcks microcks, Context<Microcks> context) {
+      logger.debugf("Building desired %s '%s' for '%s'", resourceType().getSimpleName(),
+            getSecondaryResourceName(microcks), microcks.getMetadata().getName());
+
+      R resource = preparer.apply(microcks, context);
+      resource.getMetadata().setNamespace(microcks.getMetadata().getNamespace());
+      // Informers only watch the resources managed by the operator.
+      resource.getMetadata().getLabels().put("app.kubernetes.io/managed-by", MicrocksOperatorConfig.OPERATOR_NAME);
+      return resource;
+   }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.github.microcks.operator.MicrocksOperatorConfig;
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.model.IngressSpec;
+import io.github.microcks.operator.model.IngressSpecUtil;
+import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
+
+import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.javaoperatorsdk.operator.api.config.informer.Informer;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.Creator;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependent;
+import io.javaoperatorsdk.operator.processing.dependent.kubernetes.KubernetesDependentResource;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A Kubernetes Secret dependent resource holding the generated TLS certificate of a Microcks or Keycloak Ingress. It
+ * is only created if missing from informer cache: the certificate is never generated for an existing Secret.
+ * @author laurent
+ */
+@KubernetesDependent(informer = @Informer(labelSelector = MicrocksOperatorConfig.RESOURCE_LABEL_SELECTOR))
+public class ExpositionSecretDependentResource extends KubernetesDependentResource<Secret, Microcks>
+      implements Creator<Secret, Microcks>, NamedSecondaryResourceProvider<Microcks> {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final Function<Microcks, String> nameProvider;
+   private final Function<Microcks, IngressSpec> ingressSpecProvider;
+   private final Function<Microcks, String> hostProvider;
+   private final UnmanagedResourceAdopter<Secret> adopter = new UnmanagedResourceAdopter<>(Secret.class);
+
+   /**
+    * Build a new exposition Secret dependent resource.
+    * @param name                The unique name of this dependent resource (and of its event source)
+    * @param nameProvider        The provider of Secret name, given the primary resource
+    * @param ingressSpecProvider The provider of Ingress specification, given the primary resource
+    * @param hostProvider        The provider of the host to issue certificate for, given the primary resource
+    */
+   public ExpositionSecretDependentResource(String name, Function<Microcks, String> nameProvider,
+         Function<Microcks, IngressSpec> ingressSpecProvider, Function<Microcks, String> hostProvider) {
+      super(Secret.class, name);
+      this.nameProvider = nameProvider;
+      this.ingressSpecProvider = ingressSpecProvider;
+      this.hostProvider = hostProvider;
+   }
+
+   @Override
+   public String getSecondaryResourceName(Microcks primary) {
+      return nameProvider.apply(primary);
+   }
+
+   @Override
+   protected ResourceID targetSecondaryResourceID(Microcks primary, Context<Microcks> context) {
+      // Don't build the desired secret (and thus a certificate) just to know its identifier.
+      return new ResourceID(getSecondaryResourceName(primary), primary.getMetadata().getNamespace());
+   }
+
+   /**
+    * Forget the adoption check of the resource of a primary, so that it is looked up again if missing.
+    * @param primary The primary resource being deleted
+    */
+   public void forgetAdoption(Microcks primary) {
+      adopter.forget(targetSecondaryResourceID(primary, null));
+   }
+
+   @Override
+   public Optional<Secret> getSecondaryResource(Microcks primary, Context<Microcks> context) {
+      Optional<Secret> resource = super.getSecondaryResource(primary, context);
+      if (resource.isEmpty()) {
+         // Secrets generated by previous operator versions are not labelled: adopt them rather than issuing new certs.
+         resource = adopter.adoptOnce(context.getClient(), targetSecondaryResourceID(primary, context));
+      }
+      return resource;
+   }
+
+   @Override
+   protected Secret desired(Microcks microcks, Context<Microcks> context) {
+      logger.infof("Creating a new Ingress Secret named '%s'", getSecondaryResourceName(microcks));
+
+      Map<String, String> labels = Map.of("app", microcks.getMetadata().getName(), "group", "microcks",
+            "app.kubernetes.io/managed-by", MicrocksOperatorConfig.OPERATOR_NAME);
+      Secret secret = IngressSpecUtil.generateInstanceCertificateSecret(microcks, ingressSpecProvider.apply(microcks),
+            getSecondaryResourceName(microcks), labels, List.of(hostProvider.apply(microcks)));
+      secret.getMetadata().setNamespace(microcks.getMetadata().getNamespace());
+      secret.getMetadata().setOwnerReferences(List.of(getOwnerReference(microcks)));
+      return secret;
+   }
+
+   /** Build a new OwnerReference to assign to CR resources. */
+   private OwnerReference getOwnerReference(Microcks primary) {
+      return new OwnerReferenceBuilder().withController(true).withKind(primary.getKind())
+            .withApiVersion(primary.getApiVersion()).withName(primary.getMetadata().getName())
+            .withUid(primary.getMetadata().getUid()).build();
+   }
+}
@@ -24,7 +24,6 @@ import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
-import io.javaoperatorsdk.operator.ReconcilerUtils;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
@@ -73,13 +72,8 @@ public class KeycloakDeploymentDependentResource extends CRUDKubernetesDependent
 
       int keycloakMajorVersion = getKeycloakMajorVersion(spec);
 
-      Deployment deployment = null;
-      if (keycloakMajorVersion >= 26) {
-         deployment = ReconcilerUtils.loadYaml(Deployment.class, getClass(), "/k8s/keycloak-26-deployment.yml");
-      } else {
-         deployment = ReconcilerUtils.loadYaml(Deployment.class, getClass(), "/k8s/keycloak-deployment.yml");
-      }
-      DeploymentBuilder builder = new DeploymentBuilder(deployment)
+      String manifest = keycloakMajorVersion >= 26 ? "/k8s/keycloak-26-deployment.yml" : "/k8s/keycloak-deployment.yml";
+      DeploymentBuilder builder = ManifestPrototypes.deploymentBuilder(manifest)
             .editMetadata()
                .withName(getDeploymentName(microcks))
                .withNamespace(microcksMetadata.getNamespace())
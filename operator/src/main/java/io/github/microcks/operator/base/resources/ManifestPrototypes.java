@@ -0,0 +1,64 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holder of the base manifests used by dependent resources. Each classpath manifest is read and parsed only once into
+ * a prototype that is never exposed: dependent resources get builders initialized with a deep copy of it.
+ * @author laurent
+ */
+public final class ManifestPrototypes {
+
+   /** Parsed prototypes by classpath manifest path. */
+   private static final Map<String, HasMetadata> prototypes = new ConcurrentHashMap<>();
+
+   private ManifestPrototypes() {
+      // Private constructor for utility class.
+   }
+
+   /**
+    * Get a builder initialized with a base Deployment manifest.
+    * @param path The classpath path of Deployment manifest
+    * @return A new DeploymentBuilder that can be freely modified
+    */
+   public static DeploymentBuilder deploymentBuilder(String path) {
+      return new DeploymentBuilder(getPrototype(Deployment.class, path));
+   }
+
+   /**
+    * Get a builder initialized with a base ConfigMap manifest.
+    * @param path The classpath path of ConfigMap manifest
+    * @return A new ConfigMapBuilder that can be freely modified
+    */
+   public static ConfigMapBuilder configMapBuilder(String path) {
+      return new ConfigMapBuilder(getPrototype(ConfigMap.class, path));
+   }
+
+   /** Get the prototype for a manifest, parsing it on first access. */
+   static <T extends HasMetadata> T getPrototype(Class<T> type, String path) {
+      return type.cast(prototypes.computeIfAbsent(path, p -> ReconcilerUtils.loadYaml(type, ManifestPrototypes.class, p)));
+   }
+}
@@ -35,6 +35,9 @@ import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import org.jboss.logging.Logger;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * A Microcks Kubernetes ConfigMap dependent resource.
  * @author laurent
@@ -77,35 +80,45 @@ public class MicrocksConfigMapDependentResource extends CRUDKubernetesDependentR
       final ObjectMeta microcksMetadata = microcks.getMetadata();
       final String microcksName = microcksMetadata.getName();
 
-      // Compute configuration files with Qute templates.
-      String applicationProperties = Templates.application(microcksName, microcksMetadata.getNamespace(), microcks.getSpec(),
-            MicrocksSpecHelper.getMicrocksMajorVersion(microcks.getSpec()), MicrocksSpecHelper.getMicrocksMinorVersion(microcks.getSpec())).render();
-      String featuresProperties = Templates.features(microcksName, microcksMetadata.getNamespace(), microcks.getSpec(),
-            AsyncMinionWSIngressDependentResource.getWSHost(microcks)).render();
-      String logbackXml = Templates.logback(microcks.getSpec()).render();
+      // Compute configuration files with Qute templates, unless inputs are unchanged since last rendering.
+      final MicrocksSpec spec = microcks.getSpec();
+      final int majorVersion = MicrocksSpecHelper.getMicrocksMajorVersion(spec);
+      final int minorVersion = MicrocksSpecHelper.getMicrocksMinorVersion(spec);
+      final String wsHost = AsyncMinionWSIngressDependentResource.getWSHost(microcks);
+      Map<String, String> data = TemplateRenderCache.getInstance().getOrRender("microcks-config",
+            microcksMetadata.getNamespace(), microcksName,
+            new Object[] { microcksName, microcksMetadata.getNamespace(), spec, majorVersion, minorVersion, wsHost },
+            () -> renderData(microcksName, microcksMetadata.getNamespace(), spec, majorVersion, minorVersion, wsHost));
 
       ConfigMapBuilder builder = new ConfigMapBuilder().withNewMetadata().withName(getSecondaryResourceName(microcks))
                .withNamespace(microcksMetadata.getNamespace())
                .addToLabels("app", microcksName)
                .addToLabels("container", "microcks")
                .addToLabels("group", "microcks")
-               .addToLabels(microcks.getSpec().getCommonLabels())
-               .addToAnnotations(microcks.getSpec().getCommonAnnotations())
+               .addToLabels(spec.getCommonLabels())
+               .addToAnnotations(spec.getCommonAnnotations())
             .endMetadata()
-            .addToData("application.properties", applicationProperties)
-            .addToData("features.properties", featuresProperties).addToData("logback.xml", logbackXml);
+            .addToData(data);
+
+      return builder.build();
+   }
 
-      if (microcks.getSpec().getMicrocks().getExtraProperties() != null
-            && !microcks.getSpec().getMicrocks().getExtraProperties().isEmpty()) {
+   /** Render the configuration files data. */
+   private Map<String, String> renderData(String name, String namespace, MicrocksSpec spec, int majorVersion,
+         int minorVersion, String wsHost) {
+      Map<String, String> data = new HashMap<>();
+      data.put("application.properties", Templates.application(name, namespace, spec, majorVersion, minorVersion).render());
+      data.put("features.properties", Templates.features(name, namespace, spec, wsHost).render());
+      data.put("logback.xml", Templates.logback(spec).render());
+
+      if (spec.getMicrocks().getExtraProperties() != null && !spec.getMicrocks().getExtraProperties().isEmpty()) {
          try {
-            builder.addToData("application-extra.yaml",
-                  EXTRA_PROPERTIES_WRITER.writeValueAsString(microcks.getSpec().getMicrocks().getExtraProperties()));
+            data.put("application-extra.yaml", EXTRA_PROPERTIES_WRITER.writeValueAsString(spec.getMicrocks().getExtraProperties()));
          } catch (JsonProcessingException e) {
             logger.error("Unable to write extraProperties in Microcks config", e);
          }
       }
-
-      return builder.build();
+      return data;
    }
 
    /** A Qute templates accessor. */
@@ -26,7 +26,6 @@ import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
-import io.javaoperatorsdk.operator.ReconcilerUtils;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
@@ -86,8 +85,7 @@ public class MicrocksDeploymentDependentResource extends CRUDKubernetesDependent
       final String microcksName = microcksMetadata.getName();
       final MicrocksSpec spec = microcks.getSpec();
 
-      Deployment deployment = ReconcilerUtils.loadYaml(Deployment.class, getClass(), "/k8s/microcks-deployment.yml");
-      DeploymentBuilder builder = new DeploymentBuilder(deployment);
+      DeploymentBuilder builder = ManifestPrototypes.deploymentBuilder("/k8s/microcks-deployment.yml");
       builder.editMetadata()
                .withName(getDeploymentName(microcks))
                .withNamespace(microcksMetadata.getNamespace())
@@ -80,7 +80,8 @@ public class MicrocksGRPCSecretDependentResource extends KubernetesDependentReso
             MicrocksGRPCServiceDependentResource.getServiceName(microcks) + ".svc." + microcks.getSpec().getClusterDomain(),
             "localhost");
 
-      Secret secret = IngressSpecUtil.generateSelfSignedCertificateSecret(getSecretName(microcks), labels, hosts);
+      Secret secret = IngressSpecUtil.generateInstanceCertificateSecret(microcks,
+            microcks.getSpec().getMicrocks().getGrpcIngress(), getSecretName(microcks), labels, hosts);
       secret.getMetadata().setNamespace(microcks.getMetadata().getNamespace());
       secret.getMetadata().setOwnerReferences(List.of(getOwnerReference(microcks)));
       return secret;
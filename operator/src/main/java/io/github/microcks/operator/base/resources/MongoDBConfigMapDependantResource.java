@@ -22,7 +22,6 @@ import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
-import io.javaoperatorsdk.operator.ReconcilerUtils;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
@@ -68,8 +67,7 @@ public class MongoDBConfigMapDependantResource extends CRUDKubernetesDependentRe
       final ObjectMeta microcksMetadata = microcks.getMetadata();
       final String microcksName = microcksMetadata.getName();
 
-      ConfigMap configMap = ReconcilerUtils.loadYaml(ConfigMap.class, getClass(), "/k8s/mongodb-configmap.yml");
-      ConfigMapBuilder builder = new ConfigMapBuilder(configMap)
+      ConfigMapBuilder builder = ManifestPrototypes.configMapBuilder("/k8s/mongodb-configmap.yml")
             .editMetadata()
                .withName(getConfigMapName(microcks))
                .withNamespace(microcksMetadata.getNamespace())
@@ -23,7 +23,6 @@ import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
-import io.javaoperatorsdk.operator.ReconcilerUtils;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
@@ -70,8 +69,7 @@ public class MongoDBDeploymentDependentResource extends CRUDKubernetesDependentR
       final String microcksName = microcksMetadata.getName();
       final MicrocksSpec spec = microcks.getSpec();
 
-      Deployment deployment = ReconcilerUtils.loadYaml(Deployment.class, getClass(), "/k8s/mongodb-deployment.yml");
-      DeploymentBuilder builder = new DeploymentBuilder(deployment)
+      DeploymentBuilder builder = ManifestPrototypes.deploymentBuilder("/k8s/mongodb-deployment.yml")
             .editMetadata()
                .withName(getDeploymentName(microcks))
                .withNamespace(microcksMetadata.getNamespace())
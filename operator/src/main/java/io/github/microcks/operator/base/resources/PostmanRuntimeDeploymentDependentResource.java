@@ -22,7 +22,6 @@ import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
-import io.javaoperatorsdk.operator.ReconcilerUtils;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.processing.dependent.kubernetes.CRUDKubernetesDependentResource;
@@ -68,9 +67,8 @@ public class PostmanRuntimeDeploymentDependentResource extends CRUDKubernetesDep
       final ObjectMeta microcksMetadata = microcks.getMetadata();
       final String microcksName = microcksMetadata.getName();
 
-      Deployment deployment = ReconcilerUtils.loadYaml(Deployment.class, getClass(),
-            "/k8s/postman-runtime-deployment.yml");
-      DeploymentBuilder builder = new DeploymentBuilder(deployment).editMetadata().withName(getDeploymentName(microcks))
+      DeploymentBuilder builder = ManifestPrototypes.deploymentBuilder("/k8s/postman-runtime-deployment.yml")
+            .editMetadata().withName(getDeploymentName(microcks))
                .withNamespace(microcksMetadata.getNamespace()).addToLabels("app", microcksName)
                .addToLabels("app.kubernetes.io/name", getDeploymentName(microcks))
                .addToLabels("app.kubernetes.io/version", microcks.getSpec().getVersion())
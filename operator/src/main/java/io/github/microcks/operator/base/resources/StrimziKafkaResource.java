@@ -15,6 +15,7 @@
  */
 package io.github.microcks.operator.base.resources;
 
+import io.github.microcks.operator.ClusterCapabilities;
 import io.github.microcks.operator.api.base.v1alpha1.Microcks;
 import io.github.microcks.operator.api.base.v1alpha1.MicrocksSpec;
 
@@ -24,7 +25,6 @@ import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.openshift.client.OpenShiftClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
@@ -77,7 +77,7 @@ public class StrimziKafkaResource {
 
       // Compute strimzi-kafka with Qute template.
       String strimziKafka = Templates
-            .kafka(microcksName, microcks.getSpec(), client.adapt(OpenShiftClient.class).hasApiGroup("route.openshift.io", true))
+            .kafka(microcksName, microcks.getSpec(), ClusterCapabilities.getInstance().isOpenShift(client))
             .render();
 
       Map kafkaMap = null;
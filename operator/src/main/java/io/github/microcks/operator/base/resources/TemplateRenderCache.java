@@ -0,0 +1,116 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.jboss.logging.Logger;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A cache of rendered Qute templates for dependent resources. Rendered data are associated with a stable hash of the
+ * template inputs so that an unchanged spec returns previously rendered data without touching the template engine.
+ * Only the last rendering of each template group is kept for a Microcks instance; renderings are invalidated when the
+ * Microcks instance is deleted.
+ * @author laurent
+ */
+public class TemplateRenderCache {
+
+   /** Get a JBoss logging logger. */
+   private static final Logger logger = Logger.getLogger(TemplateRenderCache.class);
+
+   /** Sorting properties and map entries makes the serialization - hence the hash - stable. */
+   private static final ObjectWriter INPUTS_WRITER = JsonMapper.builder()
+         .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+         .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+         .build().writer();
+
+   /** Singleton's internal instance. */
+   private static final TemplateRenderCache singleton = new TemplateRenderCache();
+
+   private final Map<RenderingKey, RenderedData> renderings = new ConcurrentHashMap<>();
+
+   TemplateRenderCache() {
+   }
+
+   /**
+    * Retrieve the current and unique instance of template render cache.
+    * @return A TemplateRenderCache instance
+    */
+   public static TemplateRenderCache getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Get rendered data for templates of a Microcks instance, rendering them again only if inputs have changed.
+    * @param templateGroup The name of the group of templates rendered together (typically the dependent resource)
+    * @param namespace     The namespace of Microcks instance
+    * @param microcksName  The name of Microcks instance
+    * @param inputs        All the inputs used by the renderer
+    * @param renderer      The function actually rendering the templates
+    * @return The rendered data, either from cache or freshly rendered
+    */
+   public Map<String, String> getOrRender(String templateGroup, String namespace, String microcksName, Object[] inputs,
+         Supplier<Map<String, String>> renderer) {
+      byte[] inputsHash = hashInputs(inputs);
+      if (inputsHash == null) {
+         return renderer.get();
+      }
+      RenderingKey key = new RenderingKey(templateGroup, namespace, microcksName);
+      RenderedData rendered = renderings.get(key);
+      if (rendered != null && Arrays.equals(rendered.inputsHash(), inputsHash)) {
+         logger.debugf("Reusing rendered %s templates for Microcks instance '%s/%s'", templateGroup, namespace, microcksName);
+         return rendered.data();
+      }
+      Map<String, String> data = Map.copyOf(renderer.get());
+      renderings.put(key, new RenderedData(inputsHash, data));
+      return data;
+   }
+
+   /**
+    * Invalidate all the rendered data of a Microcks instance if any.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      renderings.keySet().removeIf(key -> key.namespace().equals(namespace) && key.name().equals(microcksName));
+   }
+
+   /** Compute a stable hash of inputs or null if they cannot be serialized. */
+   private static byte[] hashInputs(Object[] inputs) {
+      try {
+         return MessageDigest.getInstance("SHA-256").digest(INPUTS_WRITER.writeValueAsBytes(inputs));
+      } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+         logger.warnf("Cannot hash template inputs, rendering without cache: %s", e.getMessage());
+         return null;
+      }
+   }
+
+   private record RenderingKey(String templateGroup, String namespace, String name) {
+   }
+
+   private record RenderedData(byte[] inputsHash, Map<String, String> data) {
+   }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.github.microcks.operator.MicrocksOperatorConfig;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.jboss.logging.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Adopts the dependent resources created by previous versions of the operator. Those resources don't carry the
+ * {@code app.kubernetes.io/managed-by} label and are thus invisible to the label-selected informers: they are looked up
+ * once on the API server and labelled so that they are reused instead of being created (or generated) again.
+ * @param <R> The type of dependent resource
+ * @author laurent
+ */
+public class UnmanagedResourceAdopter<R extends HasMetadata> {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final Class<R> resourceType;
+   private final Set<ResourceID> checkedResources = ConcurrentHashMap.newKeySet();
+
+   /**
+    * Build a new adopter for a type of dependent resource.
+    * @param resourceType The type of dependent resource
+    */
+   public UnmanagedResourceAdopter(Class<R> resourceType) {
+      this.resourceType = resourceType;
+   }
+
+   /**
+    * Look up a resource missing from informer cache on the API server and adopt it if it is not labelled as managed by
+    * the operator. The lookup is only done once per resource identifier, unless it fails or the resource is forgotten.
+    * @param client     The Kubernetes client to use
+    * @param resourceID The identifier of the resource missing from informer cache
+    * @return The adopted resource or an empty optional if it does not exist or was already checked
+    */
+   public Optional<R> adoptOnce(KubernetesClient client, ResourceID resourceID) {
+      return adoptOnce(resourceID,
+            id -> client.resources(resourceType).inNamespace(id.getNamespace().orElse(null)).withName(id.getName())
+                  .get(),
+            resource -> client.resources(resourceType).inNamespace(resource.getMetadata().getNamespace())
+                  .withName(resource.getMetadata().getName()).edit(UnmanagedResourceAdopter::addManagedLabel));
+   }
+
+   /**
+    * Look up a resource using a getter and adopt it using a labeller if it is not labelled as managed by the operator.
+    * @param resourceID The identifier of the resource missing from informer cache
+    * @param getter     The function getting the live resource (null if it does not exist)
+    * @param labeller   The function persisting the managed label on the resource
+    * @return The adopted resource or an empty optional if it does not exist or was already checked
+    */
+   Optional<R> adoptOnce(ResourceID resourceID, Function<ResourceID, R> getter, UnaryOperator<R> labeller) {
+      if (!checkedResources.add(resourceID)) {
+         return Optional.empty();
+      }
+      try {
+         R resource = getter.apply(resourceID);
+         if (resource == null) {
+            return Optional.empty();
+         }
+         if (isManaged(resource)) {
+            // Already labelled, informer cache should receive it soon.
+            return Optional.of(resource);
+         }
+         logger.infof("Adopting existing %s '%s' that is not labelled as managed by the operator",
+               resourceType.getSimpleName(), resourceID.getName());
+         return Optional.of(labeller.apply(resource));
+      } catch (RuntimeException e) {
+         // Look it up again on next reconciliation.
+         checkedResources.remove(resourceID);
+         throw e;
+      }
+   }
+
+   /**
+    * Forget that a resource has been checked, so that it is looked up again if missing from informer cache.
+    * @param resourceID The identifier of the resource to forget
+    */
+   public void forget(ResourceID resourceID) {
+      checkedResources.remove(resourceID);
+   }
+
+   /**
+    * Tell if a resource is labelled as managed by the operator.
+    * @param resource The resource to check
+    * @return True if resource carries the managed-by label of the operator, false otherwise
+    */
+   public static boolean isManaged(HasMetadata resource) {
+      Map<String, String> labels = resource.getMetadata().getLabels();
+      return labels != null && MicrocksOperatorConfig.OPERATOR_NAME.equals(labels.get("app.kubernetes.io/managed-by"));
+   }
+
+   /** Add the managed-by label of the operator to resource. */
+   private static <T extends HasMetadata> T addManagedLabel(T resource) {
+      Map<String, String> labels = resource.getMetadata().getLabels() != null
+            ? new HashMap<>(resource.getMetadata().getLabels())
+            : new HashMap<>();
+      labels.put("app.kubernetes.io/managed-by", MicrocksOperatorConfig.OPERATOR_NAME);
+      resource.getMetadata().setLabels(labels);
+      return resource;
+   }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.workflow;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Workflow;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * A dependency-aware executor for module workflows. Modules that do not depend on each other are reconciled
+ * concurrently whereas a module is only reconciled once the modules it depends on have been successfully reconciled.
+ * Results are always returned in the modules registration order so that they can be merged deterministically.
+ * @param <P> The type of primary resource the workflows are reconciling
+ * @author laurent
+ */
+public class ModuleWorkflowsExecutor<P extends HasMetadata> {
+
+   private final Executor executor;
+   private final Map<String, ModuleWorkflow<P>> modules = new LinkedHashMap<>();
+
+   /**
+    * Build a new executor for module workflows.
+    * @param executor The executor to run workflows onto. It must not be the JOSDK workflow executor as workflows are
+    *                 already using it for reconciling their own dependent resources.
+    */
+   public ModuleWorkflowsExecutor(Executor executor) {
+      this.executor = executor;
+   }
+
+   /**
+    * Register a module workflow.
+    * @param name      The name of module
+    * @param workflow  The reconciliation workflow of module
+    * @param dependsOn The names of modules that must be reconciled before this one. They must have been registered
+    *                  before.
+    * @return This executor for chaining
+    */
+   public ModuleWorkflowsExecutor<P> addModule(String name, Workflow<P> workflow, String... dependsOn) {
+      for (String dependency : dependsOn) {
+         if (!modules.containsKey(dependency)) {
+            throw new IllegalArgumentException("Module " + name + " depends on unknown module " + dependency);
+         }
+      }
+      modules.put(name, new ModuleWorkflow<>(workflow, Arrays.asList(dependsOn)));
+      return this;
+   }
+
+   /**
+    * Reconcile all the modules workflows, honoring their dependencies.
+    * @param primary The primary resource to reconcile
+    * @param context The reconciliation context
+    * @return The workflows results indexed by module name, in modules registration order
+    */
+   public Map<String, WorkflowReconcileResult> reconcile(P primary, Context<P> context) {
+      return reconcile(primary, context, (module, duration) -> {
+      });
+   }
+
+   /**
+    * Reconcile all the modules workflows, honoring their dependencies and reporting their durations.
+    * @param primary           The primary resource to reconcile
+    * @param context           The reconciliation context
+    * @param durationsListener A listener called with module name and workflow reconciliation duration once each
+    *                          module has been reconciled (successfully or not). It is called on the modules executor.
+    * @return The workflows results indexed by module name, in modules registration order
+    */
+   public Map<String, WorkflowReconcileResult> reconcile(P primary, Context<P> context,
+         BiConsumer<String, Duration> durationsListener) {
+      Map<String, CompletableFuture<WorkflowReconcileResult>> futures = new LinkedHashMap<>();
+      for (Map.Entry<String, ModuleWorkflow<P>> module : modules.entrySet()) {
+         String name = module.getKey();
+         Workflow<P> workflow = module.getValue().workflow();
+         CompletableFuture<?>[] dependencies = module.getValue().dependsOn().stream().map(futures::get)
+               .toArray(CompletableFuture[]::new);
+         // A failed dependency fails this module without reconciling it.
+         futures.put(name, CompletableFuture.allOf(dependencies).thenApplyAsync(v -> {
+            long start = System.nanoTime();
+            try {
+               return workflow.reconcile(primary, context);
+            } finally {
+               durationsListener.accept(name, Duration.ofNanos(System.nanoTime() - start));
+            }
+         }, executor));
+      }
+
+      // Wait for everyone to complete before reporting, so that no workflow is still running on return.
+      CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).exceptionally(t -> null).join();
+
+      Map<String, WorkflowReconcileResult> results = new LinkedHashMap<>();
+      for (Map.Entry<String, CompletableFuture<WorkflowReconcileResult>> future : futures.entrySet()) {
+         try {
+            results.put(future.getKey(), future.getValue().join());
+         } catch (CompletionException ce) {
+            // Report the first failure in registration order, as a sequential reconciliation would have done.
+            if (ce.getCause() instanceof RuntimeException re) {
+               throw re;
+            } else if (ce.getCause() instanceof Error e) {
+               throw e;
+            }
+            throw ce;
+         }
+      }
+      return results;
+   }
+
+   /**
+    * A registered module.
+    * @param workflow  The reconciliation workflow of module
+    * @param dependsOn The names of modules that must be reconciled before
+    * @param <P>       The type of primary resource
+    */
+   private record ModuleWorkflow<P extends HasMetadata>(Workflow<P> workflow, List<String> dependsOn) {
+   }
+}
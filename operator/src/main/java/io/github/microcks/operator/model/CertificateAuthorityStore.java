@@ -0,0 +1,41 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.model;
+
+import io.fabric8.kubernetes.api.model.Secret;
+
+/**
+ * A persistent store of the Secrets holding the certificate authorities of Microcks instances, so that an authority
+ * survives operator restarts and failovers.
+ * @author laurent
+ */
+public interface CertificateAuthorityStore {
+
+   /**
+    * Get an authority Secret.
+    * @param namespace The namespace of Secret
+    * @param name      The name of Secret
+    * @return The Secret or null if it does not exist
+    */
+   Secret get(String namespace, String name);
+
+   /**
+    * Create an authority Secret if it does not exist yet.
+    * @param secret The Secret to create
+    * @return The stored Secret, which is the existing one if it has been created concurrently
+    */
+   Secret createIfAbsent(Secret secret);
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.model;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.model.CertificateKeyAlgorithm;
+
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openssl.PEMKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.jboss.logging.Logger;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A service generating the TLS certificates of ingresses. Key pairs are costly to generate (especially RSA ones) so a
+ * few of them are generated in advance on a background thread for each supported algorithm, keeping reconciliation
+ * threads from blocking. Certificates of a Microcks instance are signed by a certificate authority dedicated to this
+ * instance. Authorities are persisted in a Secret owned by the Microcks instance when a {@link CertificateAuthorityStore}
+ * has been set, so that they survive operator restarts, and are kept in memory until the Microcks instance is deleted.
+ * @author laurent
+ */
+public class CertificateService {
+
+   /** Get a JBoss logging logger. */
+   private static final Logger logger = Logger.getLogger(CertificateService.class);
+
+   static {
+      if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+         Security.addProvider(new BouncyCastleProvider());
+      }
+   }
+
+   /** Number of key pairs generated in advance for each algorithm. */
+   private static final int KEY_PAIRS_POOL_SIZE = 4;
+
+   private static final Duration CERTIFICATE_VALIDITY = Duration.ofDays(365);
+   private static final Duration AUTHORITY_VALIDITY = Duration.ofDays(3650);
+
+   /** Singleton's internal instance. */
+   private static final CertificateService singleton = new CertificateService(KEY_PAIRS_POOL_SIZE);
+
+   private final SecureRandom random = new SecureRandom();
+   private final Map<CertificateKeyAlgorithm, BlockingQueue<KeyPair>> keyPairsPools = new EnumMap<>(CertificateKeyAlgorithm.class);
+   private final Map<CertificateKeyAlgorithm, AtomicBoolean> pendingRefills = new EnumMap<>(CertificateKeyAlgorithm.class);
+   private final ExecutorService keyPairsGenerator;
+   private final Map<AuthorityKey, CertificateAuthority> authorities = new ConcurrentHashMap<>();
+   private volatile CertificateAuthorityStore authorityStore;
+
+   CertificateService(int keyPairsPoolSize) {
+      keyPairsGenerator = Executors.newSingleThreadExecutor(runnable -> {
+         Thread thread = new Thread(runnable, "microcks-key-pairs-generator");
+         thread.setDaemon(true);
+         return thread;
+      });
+      for (CertificateKeyAlgorithm algorithm : CertificateKeyAlgorithm.values()) {
+         keyPairsPools.put(algorithm, new ArrayBlockingQueue<>(keyPairsPoolSize));
+         pendingRefills.put(algorithm, new AtomicBoolean());
+         refillKeyPairsPool(algorithm);
+      }
+   }
+
+   /**
+    * Retrieve the current and unique instance of certificate service.
+    * @return A CertificateService instance
+    */
+   public static CertificateService getInstance() {
+      return singleton;
+   }
+
+   /**
+    * Set the store persisting certificate authorities. Without store, authorities only live in operator memory.
+    * @param authorityStore The store of certificate authorities
+    */
+   public void setAuthorityStore(CertificateAuthorityStore authorityStore) {
+      this.authorityStore = authorityStore;
+   }
+
+   /**
+    * Get the name of the Secret holding the certificate authority of a Microcks instance.
+    * @param microcksName The name of Microcks instance
+    * @param algorithm    The algorithm of authority key
+    * @return The name of authority Secret
+    */
+   public static String getAuthoritySecretName(String microcksName, CertificateKeyAlgorithm algorithm) {
+      return microcksName + "-ingress-ca-" + algorithm.name().toLowerCase();
+   }
+
+   /**
+    * Generate a Secret holding a certificate and key signed by the certificate authority of a Microcks instance. The
+    * Secret also holds the certificate of authority in its {@code ca.crt} key.
+    * @param microcks  The Microcks instance owning the certificate authority
+    * @param name      The name of secret to generate
+    * @param labels    The labels to add to Secret
+    * @param hosts     A list of host names to generate a cert and key for
+    * @param algorithm The algorithm of certificate key
+    * @return The created Secret to persist using Kube apis.
+    */
+   public Secret generateCertificateSecret(Microcks microcks, String name, Map<String, String> labels,
+         List<String> hosts, CertificateKeyAlgorithm algorithm) {
+      CertificateAuthority authority = authorities.computeIfAbsent(
+            new AuthorityKey(microcks.getMetadata().getNamespace(), microcks.getMetadata().getName(), algorithm),
+            key -> loadOrCreateCertificateAuthority(key, microcks));
+      KeyPair keyPair = takeKeyPair(algorithm);
+      try {
+         X509CertificateHolder certHolder = buildCertificate(hosts, keyPair, authority.principal(), authority.keyPair(),
+               authority.certificate());
+         String authorityPem = getCertificatePem(authority.certificate());
+         return buildSecret(name, labels, keyPair, algorithm)
+               .addToStringData("tls.crt", getCertificatePem(certHolder) + authorityPem)
+               .addToStringData("ca.crt", authorityPem)
+               .build();
+      } catch (Exception e) {
+         logger.error(e.getMessage());
+         throw new AssertionError(e.getMessage());
+      }
+   }
+
+   /**
+    * Generate a Secret holding a self-signed certificate and key.
+    * @param name      The name of secret to generate
+    * @param labels    The labels to add to Secret
+    * @param hosts     A list of host names to generate a cert and key for
+    * @param algorithm The algorithm of certificate key
+    * @return The created Secret to persist using Kube apis.
+    */
+   public Secret generateSelfSignedCertificateSecret(String name, Map<String, String> labels, List<String> hosts,
+         CertificateKeyAlgorithm algorithm) {
+      KeyPair keyPair = takeKeyPair(algorithm);
+      try {
+         X509CertificateHolder certHolder = buildCertificate(hosts, keyPair, new X500Principal("CN=" + hosts.get(0)),
+               keyPair, null);
+         return buildSecret(name, labels, keyPair, algorithm)
+               .addToStringData("tls.crt", getCertificatePem(certHolder))
+               .build();
+      } catch (Exception e) {
+         logger.error(e.getMessage());
+         throw new AssertionError(e.getMessage());
+      }
+   }
+
+   /**
+    * Forget the in-memory certificate authorities of a Microcks instance if any. Persisted ones are owned by the Microcks
+    * instance and garbage collected with it.
+    * @param namespace    The namespace of Microcks instance
+    * @param microcksName The name of Microcks instance
+    */
+   public void invalidate(String namespace, String microcksName) {
+      authorities.keySet().removeIf(key -> key.namespace().equals(namespace) && key.name().equals(microcksName));
+   }
+
+   /**
+    * Take a key pair from the pool, generating one on the calling thread only if the pool is empty. A refill is
+    * scheduled if the pool is no longer full and none is pending.
+    */
+   KeyPair takeKeyPair(CertificateKeyAlgorithm algorithm) {
+      KeyPair keyPair = keyPairsPools.get(algorithm).poll();
+      refillKeyPairsPool(algorithm);
+      if (keyPair == null) {
+         logger.debugf("No %s key pair available in pool, generating one", algorithm);
+         keyPair = generateKeyPair(algorithm);
+      }
+      return keyPair;
+   }
+
+   /** Number of key pairs available in the pool for this algorithm. */
+   int getAvailableKeyPairs(CertificateKeyAlgorithm algorithm) {
+      return keyPairsPools.get(algorithm).size();
+   }
+
+   private void refillKeyPairsPool(CertificateKeyAlgorithm algorithm) {
+      BlockingQueue<KeyPair> pool = keyPairsPools.get(algorithm);
+      AtomicBoolean pendingRefill = pendingRefills.get(algorithm);
+      if (pool.remainingCapacity() == 0 || !pendingRefill.compareAndSet(false, true)) {
+         return;
+      }
+      keyPairsGenerator.execute(() -> {
+         try {
+            while (pool.remainingCapacity() > 0) {
+               pool.offer(generateKeyPair(algorithm));
+            }
+         } finally {
+            pendingRefill.set(false);
+         }
+         // A key pair may have been taken once the pool was full but before the refill was done.
+         refillKeyPairsPool(algorithm);
+      });
+   }
+
+   private KeyPair generateKeyPair(CertificateKeyAlgorithm algorithm) {
+      try {
+         if (algorithm == CertificateKeyAlgorithm.ECDSA) {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"), random);
+            return keyPairGenerator.generateKeyPair();
+         }
+         KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+         keyPairGenerator.initialize(2048, random);
+         return keyPairGenerator.generateKeyPair();
+      } catch (GeneralSecurityException gse) {
+         throw new AssertionError(gse);
+      }
+   }
+
+   /** Load the authority of a Microcks instance from store, creating and storing a new one if missing. */
+   private CertificateAuthority loadOrCreateCertificateAuthority(AuthorityKey key, Microcks microcks) {
+      CertificateAuthorityStore store = authorityStore;
+      if (store == null) {
+         return createCertificateAuthority(key);
+      }
+      String secretName = getAuthoritySecretName(key.name(), key.algorithm());
+      Secret secret = store.get(key.namespace(), secretName);
+      if (secret == null) {
+         CertificateAuthority authority = createCertificateAuthority(key);
+         secret = store.createIfAbsent(buildAuthoritySecret(secretName, authority, microcks, key.algorithm()));
+      }
+      try {
+         return readCertificateAuthority(secret);
+      } catch (IOException | RuntimeException e) {
+         logger.errorf("Cannot read certificate authority from Secret '%s/%s': %s", key.namespace(), secretName,
+               e.getMessage());
+         throw new IllegalStateException("Invalid certificate authority Secret " + secretName, e);
+      }
+   }
+
+   /** Build the Secret persisting an authority, owned by the Microcks instance. */
+   private static Secret buildAuthoritySecret(String secretName, CertificateAuthority authority, Microcks microcks,
+         CertificateKeyAlgorithm algorithm) {
+      try {
+         Secret secret = buildSecret(secretName, Map.of("app", microcks.getMetadata().getName(), "group", "microcks"),
+               authority.keyPair(), algorithm)
+               .addToStringData("tls.crt", getCertificatePem(authority.certificate()))
+               .build();
+         secret.getMetadata().setNamespace(microcks.getMetadata().getNamespace());
+         secret.getMetadata().setOwnerReferences(List.of(new OwnerReferenceBuilder().withController(true)
+               .withKind(microcks.getKind()).withApiVersion(microcks.getApiVersion())
+               .withName(microcks.getMetadata().getName()).withUid(microcks.getMetadata().getUid()).build()));
+         return secret;
+      } catch (IOException ioe) {
+         throw new AssertionError(ioe.getMessage());
+      }
+   }
+
+   /** Read an authority from its Secret, whether it comes from the API server (data) or has just been built (stringData). */
+   private static CertificateAuthority readCertificateAuthority(Secret secret) throws IOException {
+      X509CertificateHolder certificate = (X509CertificateHolder) readPem(getSecretValue(secret, "tls.crt"));
+      KeyPair keyPair = new JcaPEMKeyConverter().getKeyPair((PEMKeyPair) readPem(getSecretValue(secret, "tls.key")));
+      return new CertificateAuthority(new X500Principal(certificate.getSubject().getEncoded()), keyPair, certificate);
+   }
+
+   private static String getSecretValue(Secret secret, String key) {
+      if (secret.getStringData() != null && secret.getStringData().containsKey(key)) {
+         return secret.getStringData().get(key);
+      }
+      if (secret.getData() != null && secret.getData().containsKey(key)) {
+         return new String(Base64.getDecoder().decode(secret.getData().get(key)), StandardCharsets.UTF_8);
+      }
+      throw new IllegalArgumentException("Missing key " + key);
+   }
+
+   private static Object readPem(String pem) throws IOException {
+      try (PEMParser parser = new PEMParser(new StringReader(pem))) {
+         return parser.readObject();
+      }
+   }
+
+   private CertificateAuthority createCertificateAuthority(AuthorityKey key) {
+      logger.infof("Creating a %s certificate authority for Microcks instance '%s/%s'", key.algorithm(),
+            key.namespace(), key.name());
+      X500Principal principal = new X500Principal("CN=" + key.name() + "." + key.namespace() + " Microcks CA");
+      KeyPair keyPair = takeKeyPair(key.algorithm());
+
+      long notBefore = System.currentTimeMillis();
+      X509v3CertificateBuilder certBuilder = new JcaX509v3CertificateBuilder(principal, newSerialNumber(),
+            new Date(notBefore), new Date(notBefore + AUTHORITY_VALIDITY.toMillis()), principal, keyPair.getPublic());
+      try {
+         JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+         certBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+         certBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+         certBuilder.addExtension(Extension.subjectKeyIdentifier, false,
+               extensionUtils.createSubjectKeyIdentifier(keyPair.getPublic()));
+         X509CertificateHolder certHolder = certBuilder.build(buildSigner(keyPair));
+         return new CertificateAuthority(principal, keyPair, certHolder);
+      } catch (Exception e) {
+         logger.error(e.getMessage());
+         throw new AssertionError(e.getMessage());
+      }
+   }
+
+   /** Build a server certificate, self-signed if issuer has no certificate. */
+   private X509CertificateHolder buildCertificate(List<String> hosts, KeyPair keyPair, X500Principal issuer,
+         KeyPair issuerKeyPair, X509CertificateHolder issuerCertificate) throws Exception {
+      X500Principal subject = new X500Principal("CN=" + hosts.get(0));
+
+      long notBefore = System.currentTimeMillis();
+      long notAfter = notBefore + CERTIFICATE_VALIDITY.toMillis();
+
+      ASN1Encodable[] encodableAltNames = new ASN1Encodable[hosts.size()];
+      for (int i = 0; i < hosts.size(); i++) {
+         encodableAltNames[i] = new GeneralName(GeneralName.dNSName, hosts.get(i));
+      }
+      KeyPurposeId[] purposes = new KeyPurposeId[] { KeyPurposeId.id_kp_serverAuth, KeyPurposeId.id_kp_clientAuth };
+      // Key encipherment only makes sense for RSA keys.
+      int keyUsage = KeyUsage.digitalSignature;
+      if ("RSA".equals(keyPair.getPublic().getAlgorithm())) {
+         keyUsage += KeyUsage.keyEncipherment;
+      }
+
+      X509v3CertificateBuilder certBuilder = new JcaX509v3CertificateBuilder(issuer, newSerialNumber(),
+            new Date(notBefore), new Date(notAfter), subject, keyPair.getPublic());
+      certBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(false));
+      certBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(keyUsage));
+      certBuilder.addExtension(Extension.extendedKeyUsage, false, new ExtendedKeyUsage(purposes));
+      certBuilder.addExtension(Extension.subjectAlternativeName, false, new DERSequence(encodableAltNames));
+      if (issuerCertificate != null) {
+         certBuilder.addExtension(Extension.authorityKeyIdentifier, false,
+               new JcaX509ExtensionUtils().createAuthorityKeyIdentifier(issuerKeyPair.getPublic()));
+      }
+      return certBuilder.build(buildSigner(issuerKeyPair));
+   }
+
+   private BigInteger newSerialNumber() {
+      return new BigInteger(64, random).add(BigInteger.ONE);
+   }
+
+   private static ContentSigner buildSigner(KeyPair signerKeyPair) throws Exception {
+      String signatureAlgorithm = "RSA".equals(signerKeyPair.getPrivate().getAlgorithm()) ? "SHA256withRSA" : "SHA256withECDSA";
+      return new JcaContentSignerBuilder(signatureAlgorithm).build(signerKeyPair.getPrivate());
+   }
+
+   private static SecretBuilder buildSecret(String name, Map<String, String> labels, KeyPair keyPair,
+         CertificateKeyAlgorithm algorithm) throws IOException {
+      return new SecretBuilder()
+            .withNewMetadata()
+               .withName(name)
+               .addToLabels(labels)
+            .endMetadata()
+            .withType("kubernetes.io/tls")
+            .addToStringData("tls.key", getPrivateKeyPem(keyPair, algorithm));
+   }
+
+   private static String getCertificatePem(X509CertificateHolder certHolder) throws IOException {
+      StringBuilder result = new StringBuilder();
+      result.append("-----BEGIN CERTIFICATE-----\n");
+      encodeBase64Lines(result, certHolder.getEncoded());
+      result.append("-----END CERTIFICATE-----\n");
+      return result.toString();
+   }
+
+   /** Private keys are written using their traditional format: PKCS#1 for RSA and SEC1 for EC. */
+   private static String getPrivateKeyPem(KeyPair keyPair, CertificateKeyAlgorithm algorithm) throws IOException {
+      String type = algorithm == CertificateKeyAlgorithm.ECDSA ? "EC" : "RSA";
+      PrivateKeyInfo privateKeyInfo = PrivateKeyInfo.getInstance(keyPair.getPrivate().getEncoded());
+      StringBuilder result = new StringBuilder();
+      result.append("-----BEGIN ").append(type).append(" PRIVATE KEY-----\n");
+      encodeBase64Lines(result, privateKeyInfo.parsePrivateKey().toASN1Primitive().getEncoded());
+      result.append("-----END ").append(type).append(" PRIVATE KEY-----\n");
+      return result.toString();
+   }
+
+   private static void encodeBase64Lines(StringBuilder out, byte[] data) {
+      String base64 = new String(Base64.getEncoder().encode(data));
+      for (int i = 0; i < base64.length(); i += 64) {
+         out.append(base64, i, Math.min(i + 64, base64.length())).append('\n');
+      }
+   }
+
+   private record AuthorityKey(String namespace, String name, CertificateKeyAlgorithm algorithm) {
+   }
+
+   private record CertificateAuthority(X500Principal principal, KeyPair keyPair, X509CertificateHolder certificate) {
+   }
+}
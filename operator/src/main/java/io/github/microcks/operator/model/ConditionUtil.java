@@ -17,10 +17,12 @@ package io.github.microcks.operator.model;
 
 import io.github.microcks.operator.api.model.Condition;
 import io.github.microcks.operator.api.model.MultiConditionsStatus;
+import io.github.microcks.operator.api.model.Status;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 /**
  * Utility class for working with conditions.
@@ -74,4 +76,23 @@ public class ConditionUtil {
    public static void touchConditionTime(Condition condition) {
       condition.setLastTransitionTime(TRANSITION_FORMATTER.format(ZonedDateTime.now(ZoneId.of("UTC"))));
    }
+
+   /**
+    * Update the status and message of a condition, touching its last transition time only if one of them has actually
+    * changed (or if the condition has never been touched).
+    * @param condition The condition to update.
+    * @param status The new status of condition.
+    * @param message The new message of condition.
+    * @return Whether the condition has transitioned.
+    */
+   public static boolean updateCondition(Condition condition, Status status, String message) {
+      boolean transitioned = condition.getStatus() != status || !Objects.equals(condition.getMessage(), message)
+            || condition.getLastTransitionTime() == null;
+      condition.setStatus(status);
+      condition.setMessage(message);
+      if (transitioned) {
+         touchConditionTime(condition);
+      }
+      return transitioned;
+   }
 }
@@ -15,14 +15,19 @@
  */
 package io.github.microcks.operator.model;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Merger holds utility methods for merging resources together.
+ * Merger holds utility methods for merging resources together. Introspection of resource classes is done once per
+ * class: the resulting merge plan (constructor and fields accessors) is then reused for every merge.
  * @author laurent
  */
 public class ResourceMerger {
@@ -36,6 +41,35 @@ public class ResourceMerger {
 
    private static final List<String> RESOURCES_EXCLUDED_TYPES = Arrays.asList("io.fabric8.kubernetes.api.model.ObjectMeta");
 
+   /** The merge strategy for a value, resolved once per runtime class of value. */
+   private enum ValueKind {
+      /** Value is replaced by the remote one if present. */
+      PRIMITIVE,
+      /** Value is an associative map where remote entries are completed with local ones. */
+      MAP,
+      /** Value is a nested resource that must be merged recursively. */
+      RESOURCE
+   }
+
+   private static final ClassValue<ValueKind> VALUE_KINDS = new ClassValue<>() {
+      @Override
+      protected ValueKind computeValue(Class<?> type) {
+         if (PRIMITIVE_JSON_TYPES.contains(type.getSimpleName())) {
+            return ValueKind.PRIMITIVE;
+         } else if (MAP_JSON_TYPES.contains(type.getSimpleName())) {
+            return ValueKind.MAP;
+         }
+         return ValueKind.RESOURCE;
+      }
+   };
+
+   private static final ClassValue<MergePlan> MERGE_PLANS = new ClassValue<>() {
+      @Override
+      protected MergePlan computeValue(Class<?> type) {
+         return MergePlan.of(type);
+      }
+   };
+
    /**
     * Merge 2 resources of class T together, producing a third one. The first argument is considered as the default
     * representation we should stick with if no customization is provided via the second argument.
@@ -48,61 +82,49 @@ public class ResourceMerger {
     */
    @SuppressWarnings("unchecked")
    public <T> T mergeResources(T local, T remote) throws IllegalAccessException, InstantiationException {
-      Class<?> clazz = local.getClass();
+      MergePlan plan = MERGE_PLANS.get(local.getClass());
 
       // Deal with special case of Enums.
-      if (Enum.class.isAssignableFrom(local.getClass())) {
+      if (plan.isEnum()) {
          if (remote != null) {
             return remote;
          }
          return local;
       }
 
-      Object merged = clazz.newInstance();
+      Object merged = plan.newInstance();
 
-      for (Field field : clazz.getDeclaredFields()) {
-         // Sanity check: don't try to set final or transient.
-         if (!Modifier.isFinal(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
-            field.setAccessible(true);
+      for (FieldAccessor field : plan.fields()) {
+         // Manage safety cases first...
+         if (remote == null) {
+            field.set(merged, field.get(local));
+         } else {
+            // Safely access the values from here.
+            Object localValue = field.get(local);
+            Object remoteValue = field.get(remote);
 
-            // Manage safety cases first...
-            if (remote == null && local != null) {
-               field.set(merged, field.get(local));
-            } else if (remote != null && local == null) {
-               field.set(merged, field.get(remote));
-            } else {
-               // Safely access the values from here.
-               Object localValue = field.get(local);
-               Object remoteValue = field.get(remote);
-
-               // Don't try to merge objects that must be kept as-is.
-               if (!RESOURCES_EXCLUDED_TYPES.contains(field.getType().getName())) {
-                  if (localValue != null) {
-                     if (PRIMITIVE_JSON_TYPES.contains(localValue.getClass().getSimpleName())) {
+            // Don't try to merge objects that must be kept as-is.
+            if (!field.excluded()) {
+               if (localValue != null) {
+                  switch (VALUE_KINDS.get(localValue.getClass())) {
+                     case PRIMITIVE ->
                         // If remote value is a primitive, use it if not null.
                         field.set(merged, (remoteValue != null) ? remoteValue : localValue);
-                     } else if (MAP_JSON_TYPES.contains(localValue.getClass().getSimpleName())) {
+                     case MAP ->
                         // If remote value if a map, use it as base and add extra values from local.
                         field.set(merged,
                               (remoteValue != null) ? mergeMaps((Map) remoteValue, (Map) localValue) : localValue);
-                     } else if (remoteValue != null) {
-                        // If a remote value provided, use this one.
-                        field.set(merged, this.mergeResources(localValue, remoteValue));
-                     } else {
-                        // No remote value, use the local (default)
-                        field.set(merged, localValue);
-                     }
-                  } else {
-                     // No value provided as default.
-                     if (remoteValue != null) {
-                        // Use the one coming from remote resource.
-                        field.set(merged, remoteValue);
-                     }
+                     default ->
+                        // If a remote value provided, merge it. Otherwise use the local (default).
+                        field.set(merged, (remoteValue != null) ? this.mergeResources(localValue, remoteValue) : localValue);
                   }
-               } else {
-                  // Kept the object as-is.
+               } else if (remoteValue != null) {
+                  // No value provided as default, use the one coming from remote resource.
                   field.set(merged, remoteValue);
                }
+            } else {
+               // Kept the object as-is.
+               field.set(merged, remoteValue);
             }
          }
       }
@@ -114,4 +136,89 @@ public class ResourceMerger {
       optionalComplement.keySet().forEach(k -> base.putIfAbsent(k, optionalComplement.get(k)));
       return base;
    }
+
+   /**
+    * The merge plan of a resource class: how to instantiate it and which fields to merge.
+    * @param type        The resource class
+    * @param isEnum      Whether the resource class is an enumeration
+    * @param constructor Handle on no-arg constructor or null if not instantiable
+    * @param fields      Accessors on fields to merge
+    */
+   private record MergePlan(Class<?> type, boolean isEnum, MethodHandle constructor, List<FieldAccessor> fields) {
+
+      static MergePlan of(Class<?> type) {
+         if (Enum.class.isAssignableFrom(type)) {
+            return new MergePlan(type, true, null, List.of());
+         }
+
+         MethodHandles.Lookup lookup = MethodHandles.lookup();
+         MethodHandle constructor;
+         try {
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+         } catch (NoSuchMethodException | IllegalAccessException e) {
+            // Not instantiable, this will be reported if we have to merge such a resource.
+            return new MergePlan(type, false, null, List.of());
+         }
+
+         List<FieldAccessor> fields = new ArrayList<>();
+         for (Field field : type.getDeclaredFields()) {
+            // Sanity check: don't try to set final, transient or static.
+            int modifiers = field.getModifiers();
+            if (!Modifier.isFinal(modifiers) && !Modifier.isTransient(modifiers) && !Modifier.isStatic(modifiers)) {
+               try {
+                  field.setAccessible(true);
+                  fields.add(new FieldAccessor(lookup.unreflectGetter(field), lookup.unreflectSetter(field),
+                        RESOURCES_EXCLUDED_TYPES.contains(field.getType().getName())));
+               } catch (IllegalAccessException | RuntimeException e) {
+                  throw new IllegalStateException("Cannot access field " + field.getName() + " of " + type.getName(), e);
+               }
+            }
+         }
+         return new MergePlan(type, false, constructor, List.copyOf(fields));
+      }
+
+      Object newInstance() throws InstantiationException {
+         if (constructor == null) {
+            throw new InstantiationException(type.getName());
+         }
+         try {
+            return constructor.invoke();
+         } catch (RuntimeException | Error e) {
+            throw e;
+         } catch (Throwable t) {
+            InstantiationException ie = new InstantiationException(type.getName());
+            ie.initCause(t);
+            throw ie;
+         }
+      }
+   }
+
+   /**
+    * Accessors on a resource field.
+    * @param getter   Handle for reading field value
+    * @param setter   Handle for writing field value
+    * @param excluded Whether field must be kept as-is and not merged
+    */
+   private record FieldAccessor(MethodHandle getter, MethodHandle setter, boolean excluded) {
+
+      Object get(Object target) {
+         try {
+            return getter.invoke(target);
+         } catch (RuntimeException | Error e) {
+            throw e;
+         } catch (Throwable t) {
+            throw new IllegalStateException(t);
+         }
+      }
+
+      void set(Object target, Object value) {
+         try {
+            setter.invoke(target, value);
+         } catch (RuntimeException | Error e) {
+            throw e;
+         } catch (Throwable t) {
+            throw new IllegalStateException(t);
+         }
+      }
+   }
 }
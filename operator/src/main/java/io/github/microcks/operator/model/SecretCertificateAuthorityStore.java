@@ -0,0 +1,66 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.model;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.jboss.logging.Logger;
+
+import java.net.HttpURLConnection;
+
+/**
+ * A certificate authority store keeping authorities in Kubernetes Secrets.
+ * @author laurent
+ */
+public class SecretCertificateAuthorityStore implements CertificateAuthorityStore {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final KubernetesClient client;
+
+   /**
+    * Build a new store using a Kubernetes client.
+    * @param client A Kubernetes client for interacting with the cluster
+    */
+   public SecretCertificateAuthorityStore(KubernetesClient client) {
+      this.client = client;
+   }
+
+   @Override
+   public Secret get(String namespace, String name) {
+      return client.secrets().inNamespace(namespace).withName(name).get();
+   }
+
+   @Override
+   public Secret createIfAbsent(Secret secret) {
+      try {
+         return client.resource(secret).create();
+      } catch (KubernetesClientException kce) {
+         if (kce.getCode() != HttpURLConnection.HTTP_CONFLICT) {
+            throw kce;
+         }
+         // Another replica or reconciliation has been faster, use its authority.
+         logger.debugf("Authority Secret '%s' already exists, using it", secret.getMetadata().getName());
+         Secret existing = get(secret.getMetadata().getNamespace(), secret.getMetadata().getName());
+         if (existing == null) {
+            throw kce;
+         }
+         return existing;
+      }
+   }
+}
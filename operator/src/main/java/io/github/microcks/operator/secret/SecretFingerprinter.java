@@ -0,0 +1,79 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.secret;
+
+import io.github.microcks.client.model.Secret;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Computes fingerprints of the effective values of Microcks secrets so that unchanged secrets are not updated. As
+ * fingerprints are stored in resources status, they're computed as HMACs using a key generated at operator startup:
+ * they cannot be used to guess secret values. The drawback is that secrets are synchronized again once after each
+ * operator restart.
+ * @author laurent
+ */
+public class SecretFingerprinter {
+
+   private static final String ALGORITHM = "HmacSHA256";
+
+   private final SecretKeySpec key;
+
+   /** Build a new fingerprinter with a random key. */
+   public SecretFingerprinter() {
+      this(randomKey());
+   }
+
+   SecretFingerprinter(byte[] key) {
+      this.key = new SecretKeySpec(key, ALGORITHM);
+   }
+
+   /**
+    * Compute the fingerprint of the effective values of a secret.
+    * @param secret The Microcks secret holding the effective values
+    * @return The fingerprint of these values
+    */
+   public String fingerprint(Secret secret) {
+      try {
+         Mac mac = Mac.getInstance(ALGORITHM);
+         mac.init(key);
+         for (String value : Arrays.asList(secret.getName(), secret.getDescription(), secret.getUsername(),
+               secret.getPassword(), secret.getToken(), secret.getTokenHeader(), secret.getCaCertPem())) {
+            // Prefix each value with its length (or -1 if null) so that values cannot be shifted from one to another.
+            byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            mac.update(Integer.toString(value != null ? bytes.length : -1).getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) ':');
+            mac.update(bytes);
+         }
+         return HexFormat.of().formatHex(mac.doFinal());
+      } catch (GeneralSecurityException e) {
+         // HmacSHA256 is mandatory in every Java platform.
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private static byte[] randomKey() {
+      byte[] key = new byte[32];
+      new SecureRandom().nextBytes(key);
+      return key;
+   }
+}
@@ -21,6 +21,8 @@ import io.github.microcks.client.api.ConfigApi;
 import io.github.microcks.client.model.Secret;
 import io.github.microcks.operator.AbstractMicrocksDependantReconciler;
 import io.github.microcks.operator.KeycloakHelper;
+import io.github.microcks.operator.ThrottledRequestException;
+import io.github.microcks.operator.TransformingItemStore;
 import io.github.microcks.operator.api.artifact.v1alpha1.APISource;
 import io.github.microcks.operator.api.base.v1alpha1.Microcks;
 import io.github.microcks.operator.api.model.Condition;
@@ -32,6 +34,7 @@ import io.github.microcks.operator.api.secret.v1alpha1.SecretSpec;
 import io.github.microcks.operator.api.secret.v1alpha1.SecretValuesFromSpec;
 import io.github.microcks.operator.model.ConditionUtil;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -71,6 +74,11 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
    /** Get a JBoss logging logger. */
    private final Logger logger = Logger.getLogger(getClass());
 
+   private final SecretFingerprinter fingerprinter = new SecretFingerprinter();
+
+   /** Name of the primary cache index of SecretSources by referenced Kubernetes secrets. */
+   static final String SECRET_REF_INDEX = "secretSourcesBySecretRef";
+
    /**
     * Default constructor with injected Kubernetes client.
     * @param client A Kubernetes client for interacting with the cluster
@@ -84,16 +92,15 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
    public List<EventSource<?, SecretSource>> prepareEventSources(EventSourceContext<SecretSource> context) {
       /*
        * To create an event to a related SecretSource resource and trigger the reconciliation we need to
-       * find which SecretSource this Secret custom resource is related to. To find the related customResourceId
-       * of the SecretSource resource we traverse the cache and identify it based on naming convention.
+       * find which SecretSource this Secret custom resource is related to. SecretSources are indexed by the
+       * Kubernetes secrets they're referencing so that we don't have to traverse the whole cache on each event.
        */
+      context.getPrimaryCache().addIndexer(SECRET_REF_INDEX, SecretSourceReconciler::getSecretRefIndexKeys);
+
       final SecondaryToPrimaryMapper<io.fabric8.kubernetes.api.model.Secret> secretSourcesMatchingSecretName =
             (io.fabric8.kubernetes.api.model.Secret kubeSecret) -> context.getPrimaryCache()
-                  .list(secretSource -> secretSource.getSpec().getSecrets().stream()
-                        .filter(secretSpec -> secretSpec.getValuesFrom() != null)
-                        .map(secretSpec -> secretSpec.getValuesFrom().getSecretRef())
-                        .toList()
-                        .contains(kubeSecret.getMetadata().getName()))
+                  .byIndex(SECRET_REF_INDEX, getSecretRefIndexKey(kubeSecret.getMetadata().getName(), kubeSecret.getMetadata().getNamespace()))
+                  .stream()
                   .map(ResourceID::fromResource)
                   .collect(Collectors.toSet());
 
@@ -106,9 +113,12 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
                               .map(secretSpec -> new ResourceID(secretSpec.getValuesFrom().getSecretRef(), primary.getMetadata().getNamespace()))
                               .collect(Collectors.toSet())
                   )
+                  // Secrets data are fetched on demand when reconciling, cache only keeps their metadata.
+                  .withItemStore(TransformingItemStore.metadataOnlySecrets())
+                  .withOnUpdateFilter(TransformingItemStore::hasDataChanged)
                   .build();
 
-      return List.of(new InformerEventSource<>(configuration, context));
+      return List.of(new InformerEventSource<>(configuration, context), buildMicrocksEventSource(context));
    }
 
    @Override
@@ -116,17 +126,17 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
       final String ns = secretSource.getMetadata().getNamespace();
       final SecretSourceSpec spec = secretSource.getSpec();
 
-      boolean updateStatus = false;
+      // Keep the observed status to only patch it if reconciliation changes it.
+      JsonNode observedStatus = snapshotStatus(secretSource);
       // Set a minimal status if not present.
       if (secretSource.getStatus() == null) {
          secretSource.setStatus(new SecretSourceStatus());
-         updateStatus = true;
       }
 
       logger.infof("Starting reconcile operation for '%s'", secretSource.getMetadata().getName());
 
       // Check that microcks instance specification is there.
-      UpdateControlOrMicrocks<SecretSource> preparationControl = prepareReconciliationWithMicrocksInstance(secretSource);
+      UpdateControlOrMicrocks<SecretSource> preparationControl = prepareReconciliationWithMicrocksInstance(secretSource, context);
       if (preparationControl.updateControl() != null) {
          return preparationControl.updateControl();
       }
@@ -156,46 +166,41 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
             if (kubeSecret == null) {
                logger.errorf("Kubernetes secret '%s' not found for '%s' in SecretSource '%s'",
                      valuesFromSpec.getSecretRef(), secretSpec.getName(), secretSource.getMetadata().getName());
-               condition.setStatus(Status.ERROR);
-               condition.setMessage("Kubernetes secret '" + valuesFromSpec.getSecretRef() + "' not found");
+               ConditionUtil.updateCondition(condition, Status.ERROR,
+                     "Kubernetes secret '" + valuesFromSpec.getSecretRef() + "' not found");
                secretSource.getStatus().setStatus(Status.ERROR);
-
-               // Don't forget to touch condition time before jumping to next iteration.
-               ConditionUtil.touchConditionTime(condition);
-               updateStatus = true;
                continue;
             }
          }
 
+         // Skip the secret if its effective values have not changed since last synchronization.
+         String fingerprint = computeFingerprint(secretSpec, kubeSecret);
+         if (condition.getStatus() == Status.READY && getSecretIdOrNull(condition) != null
+               && fingerprint.equals(condition.getFingerprint())) {
+            logger.debugf("Secret '%s' has not changed since last synchronization, skipping it", secretSpec.getName());
+            continue;
+         }
+
          try {
             // Previously created secret id may be stored within condition message.
             String previousId = getSecretIdOrNull(condition);
             String secretId = ensureSecretIsPresent(apiClient, secretSpec, kubeSecret, previousId);
-            condition.setStatus(Status.READY);
             // TODO: Store secretId in condition additional property instead.
-            condition.setMessage(secretId);
+            ConditionUtil.updateCondition(condition, Status.READY, secretId);
+            condition.setFingerprint(fingerprint);
          } catch (ApiException e) {
             logger.errorf("Error while loading secret '%s' for SecretSource '%s'", secretSpec.getName(), secretSource.getMetadata().getName());
             logger.errorf(API_EXCEPTION_ERROR_LOG, e.getMessage(), e.getResponseBody());
             secretSource.getStatus().setStatus(Status.ERROR);
-            condition.setStatus(Status.ERROR);
+            ConditionUtil.updateCondition(condition, Status.ERROR, condition.getMessage());
+            condition.setFingerprint(null);
          }
-
-         ConditionUtil.touchConditionTime(condition);
-         updateStatus = true;
       }
 
       logger.infof("Finishing reconcile operation for '%s'", secretSource.getMetadata().getName());
 
-      if (updateStatus) {
-         logger.info("Returning an updateStatus control. ========================");
-         checkIfGloballyReady(secretSource);
-
-         return UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(secretSource));
-      }
-
-      logger.info("Returning a noUpdate control. =============================");
-      return UpdateControl.noUpdate();
+      checkIfGloballyReady(secretSource);
+      return patchStatusIfChanged(secretSource, observedStatus);
    }
 
    @Override
@@ -205,7 +210,7 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
       logger.infof("Starting cleanup operation for '%s'", secretSource.getMetadata().getName());
 
       // Check that microcks instance specification is there.
-      DeleteControlOrMicrocks preparationControl = prepareCleanupWithMicrocksInstance(secretSource);
+      DeleteControlOrMicrocks preparationControl = prepareCleanupWithMicrocksInstance(secretSource, context);
       if (preparationControl.deleteControl() != null) {
          return preparationControl.deleteControl();
       }
@@ -239,6 +244,8 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
                   logger.errorf("Error while deleting secret '%s' for SecretSource '%s'", secretSpec.getName(), secretSource.getMetadata().getName());
                   logger.errorf(API_EXCEPTION_ERROR_LOG, e.getMessage(), e.getResponseBody());
                   return DeleteControl.noFinalizerRemoval().rescheduleAfter(Duration.ofSeconds(30));
+               } catch (ThrottledRequestException tre) {
+                  return DeleteControl.noFinalizerRemoval().rescheduleAfter(tre.getRetryAfter());
                }
             }
          }
@@ -257,6 +264,30 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
       return new SecretSource();
    }
 
+   /** Get the index keys of the Kubernetes secrets referenced by a SecretSource. */
+   static List<String> getSecretRefIndexKeys(SecretSource secretSource) {
+      if (secretSource.getSpec() == null || secretSource.getSpec().getSecrets() == null) {
+         return List.of();
+      }
+      return secretSource.getSpec().getSecrets().stream()
+            .filter(secretSpec -> secretSpec.getValuesFrom() != null)
+            .map(secretSpec -> getSecretRefIndexKey(secretSpec.getValuesFrom().getSecretRef(), secretSource.getMetadata().getNamespace()))
+            .distinct()
+            .toList();
+   }
+
+   /** Get the index key of a Kubernetes secret. */
+   static String getSecretRefIndexKey(String secretName, String namespace) {
+      return secretName + "#" + namespace;
+   }
+
+   /** Compute the fingerprint of the effective values of a secret. */
+   protected String computeFingerprint(SecretSpec secretSpec, io.fabric8.kubernetes.api.model.Secret kubeSecret) {
+      Secret effectiveSecret = new Secret();
+      updateWithSecretSpec(effectiveSecret, secretSpec, kubeSecret);
+      return fingerprinter.fingerprint(effectiveSecret);
+   }
+
    /** Get a secret id (or null if not exists) */
    protected String getSecretIdOrNull(Condition condition) {
       return condition.getMessage();
@@ -321,6 +352,9 @@ public class SecretSourceReconciler extends AbstractMicrocksDependantReconciler<
    }
 
    protected void checkIfGloballyReady(SecretSource secretSource) {
+      if (secretSource.getStatus().getConditions() == null) {
+         return;
+      }
       boolean allReady = true;
       for (Condition condition : secretSource.getStatus().getConditions()) {
          if (condition.getStatus() != Status.READY) {
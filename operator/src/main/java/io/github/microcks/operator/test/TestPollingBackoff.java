@@ -0,0 +1,108 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes the delays between checks of running tests results. Delays grow exponentially so that long-running tests
+ * do not flood Microcks API, but they're bounded by the test timeout: a check is always scheduled right after the test
+ * is expected to be finished.
+ * @author laurent
+ */
+public class TestPollingBackoff {
+
+   /** The delay before the first check of a test result. */
+   static final Duration INITIAL_DELAY = Duration.ofSeconds(2);
+   /** The maximum delay between two checks of a test result. */
+   static final Duration MAX_DELAY = Duration.ofSeconds(30);
+   /** The grace period we leave to Microcks for completing a test after its timeout. */
+   static final Duration TIMEOUT_GRACE = Duration.ofSeconds(1);
+
+   private final Clock clock;
+   private final ConcurrentHashMap<String, Polling> pollings = new ConcurrentHashMap<>();
+
+   /** Build a new backoff using the system clock. */
+   public TestPollingBackoff() {
+      this(Clock.systemUTC());
+   }
+
+   TestPollingBackoff(Clock clock) {
+      this.clock = clock;
+   }
+
+   /**
+    * Start tracking the polling of a test that has just been launched.
+    * @param testUid   The unique identifier of Test resource
+    * @param timeoutMs The timeout of test in milliseconds
+    * @return The delay before the first check
+    */
+   public Duration start(String testUid, long timeoutMs) {
+      Instant now = clock.instant();
+      pollings.put(testUid, new Polling(now, now.plusMillis(timeoutMs), INITIAL_DELAY));
+      return bounded(INITIAL_DELAY, now, now.plusMillis(timeoutMs));
+   }
+
+   /**
+    * Compute the delay before the next check of a test that is still in progress.
+    * @param testUid   The unique identifier of Test resource
+    * @param startedAt The instant test has been launched, used if test is not tracked yet (eg. after a restart)
+    * @param timeoutMs The timeout of test in milliseconds
+    * @return The delay before the next check
+    */
+   public Duration next(String testUid, Instant startedAt, long timeoutMs) {
+      Instant now = clock.instant();
+      Polling polling = pollings.compute(testUid, (uid, previous) -> {
+         if (previous == null) {
+            Instant launch = startedAt != null ? startedAt : now;
+            return new Polling(launch, launch.plusMillis(timeoutMs), INITIAL_DELAY);
+         }
+         Duration doubled = previous.delay().multipliedBy(2);
+         return new Polling(previous.startedAt(), previous.deadline(),
+               doubled.compareTo(MAX_DELAY) > 0 ? MAX_DELAY : doubled);
+      });
+      return bounded(polling.delay(), now, polling.deadline());
+   }
+
+   /**
+    * Stop tracking the polling of a test.
+    * @param testUid The unique identifier of Test resource
+    */
+   public void stop(String testUid) {
+      pollings.remove(testUid);
+   }
+
+   /** Never wait past the expected end of test when it's still ahead of us. */
+   private Duration bounded(Duration delay, Instant now, Instant deadline) {
+      if (now.isBefore(deadline)) {
+         Duration untilDeadline = Duration.between(now, deadline).plus(TIMEOUT_GRACE);
+         return delay.compareTo(untilDeadline) > 0 ? untilDeadline : delay;
+      }
+      return delay;
+   }
+
+   /**
+    * The polling state of a test.
+    * @param startedAt The instant test has been launched
+    * @param deadline  The instant test is expected to be finished
+    * @param delay     The current delay between checks
+    */
+   private record Polling(Instant startedAt, Instant deadline, Duration delay) {
+   }
+}
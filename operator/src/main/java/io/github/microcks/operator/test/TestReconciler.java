@@ -25,6 +25,7 @@ import io.github.microcks.client.model.TestResult;
 import io.github.microcks.client.model.TestRunnerType;
 import io.github.microcks.operator.AbstractMicrocksDependantReconciler;
 import io.github.microcks.operator.KeycloakHelper;
+import io.github.microcks.operator.TransformingItemStore;
 import io.github.microcks.operator.api.base.v1alpha1.Microcks;
 import io.github.microcks.operator.api.model.Status;
 import io.github.microcks.operator.api.model.ValueFromSecretSpec;
@@ -35,23 +36,39 @@ import io.github.microcks.operator.api.test.v1alpha1.TestSpec;
 import io.github.microcks.operator.api.test.v1alpha1.TestStatus;
 import io.github.microcks.operator.model.ResourceMerger;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.config.informer.Informer;
+import io.javaoperatorsdk.operator.api.config.informer.InformerEventSourceConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.Cleaner;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.DeleteControl;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.jboss.logging.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.javaoperatorsdk.operator.api.reconciler.Constants.WATCH_CURRENT_NAMESPACE;
 
@@ -70,6 +87,11 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
 
    private final ResourceMerger merger = new ResourceMerger();
 
+   private final TestPollingBackoff pollingBackoff = new TestPollingBackoff();
+
+   /** Name of the primary cache index of Tests by referenced Kubernetes secrets. */
+   static final String SECRET_REF_INDEX = "testsBySecretRef";
+
    /**
     * Default constructor with injected Kubernetes client.
     * @param client A Kubernetes client for interacting with the cluster
@@ -79,11 +101,38 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
       this.keycloakHelper = new KeycloakHelper(client);
    }
 
+   @Override
+   public List<EventSource<?, Test>> prepareEventSources(EventSourceContext<Test> context) {
+      /*
+       * Kubernetes secrets referenced by OAuth2 contexts are resolved from this informer cache. Tests are indexed
+       * by the secrets they're referencing so that a secret change only triggers the reconciliation of these Tests.
+       */
+      context.getPrimaryCache().addIndexer(SECRET_REF_INDEX, TestReconciler::getSecretRefIndexKeys);
+
+      InformerEventSourceConfiguration<Secret> configuration = InformerEventSourceConfiguration.from(Secret.class, Test.class)
+            .withSecondaryToPrimaryMapper((Secret kubeSecret) -> context.getPrimaryCache()
+                  .byIndex(SECRET_REF_INDEX, getSecretRefIndexKey(kubeSecret.getMetadata().getName(), kubeSecret.getMetadata().getNamespace()))
+                  .stream()
+                  .map(ResourceID::fromResource)
+                  .collect(Collectors.toSet()))
+            .withPrimaryToSecondaryMapper((Test primary) -> getSecretRefs(primary).stream()
+                  .map(secretRef -> new ResourceID(secretRef, primary.getMetadata().getNamespace()))
+                  .collect(Collectors.toSet()))
+            // Secrets data are fetched on demand when launching tests, cache only keeps their metadata.
+            .withItemStore(TransformingItemStore.metadataOnlySecrets())
+            // Only changes of secrets data are of interest, not metadata ones.
+            .withOnUpdateFilter(TransformingItemStore::hasDataChanged)
+            .build();
+
+      return List.of(new InformerEventSource<>(configuration, context), buildMicrocksEventSource(context));
+   }
+
    @Override
    public UpdateControl<Test> reconcile(Test test, Context<Test> context) throws Exception {
+      JsonNode observedStatus = snapshotStatus(test);
 
       // Check that microcks instance specification is there.
-      UpdateControlOrMicrocks<Test> preparationControl = prepareReconciliationWithMicrocksInstance(test);
+      UpdateControlOrMicrocks<Test> preparationControl = prepareReconciliationWithMicrocksInstance(test, context);
       if (preparationControl.updateControl() != null) {
          return preparationControl.updateControl();
       }
@@ -111,7 +160,7 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
             testStatus = new TestStatus();
             test.setStatus(testStatus);
 
-            TestResult testResult = launchTest(testApi, test);
+            TestResult testResult = launchTest(testApi, test, getReferencedSecrets(context));
 
             // Ttracking test identifiers and progress in new status.
             testStatus.setId(testResult.getId());
@@ -119,8 +168,9 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
             testStatus.setStatus(Status.DEPLOYING);
             testStatus.setResult(Result.IN_PROGRESS);
 
-            // Schedule a new reconciliation in 4 sec.
-            return UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(test)).rescheduleAfter(Duration.ofSeconds(4));
+            // Schedule a first check of test result.
+            Duration delay = pollingBackoff.start(test.getMetadata().getUid(), testSpec.getTimeout());
+            return UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(test)).rescheduleAfter(delay);
 
          } else if (testStatus.getStatus() == Status.DEPLOYING) {
             // Reconciliation is in progress as well as the test.
@@ -135,9 +185,14 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
                   testStatus.setResult(Result.FAILURE);
                }
                testStatus.setStatus(Status.READY);
+               pollingBackoff.stop(test.getMetadata().getUid());
             } else {
-               logger.infof("Test '%s' is still in progress, scheduling a new check in 2 sec", testStatus.getId());
-               return UpdateControl.patchStatus(prepareCustomResourceForStatusPatch(test)).rescheduleAfter(Duration.ofSeconds(2));
+               Duration delay = pollingBackoff.next(test.getMetadata().getUid(), getCreationInstant(test),
+                     testSpec.getTimeout());
+               logger.infof("Test '%s' is still in progress, scheduling a new check in %d ms", testStatus.getId(),
+                     delay.toMillis());
+               // Polling an in-progress test usually doesn't change anything: only the next check is scheduled.
+               return patchStatusIfChanged(test, observedStatus).rescheduleAfter(delay);
             }
 
             // Tets has completed. We must update the status, and we may re-schedule a deletion based on retention policy.
@@ -170,6 +225,7 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
    @Override
    public DeleteControl cleanup(Test test, Context<Test> context) {
       logger.infof("Starting cleanup operation for '%s'", test.getMetadata().getName());
+      pollingBackoff.stop(test.getMetadata().getUid());
 
       // If here then every test has been removed!
       return DeleteControl.defaultDelete();
@@ -180,8 +236,8 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
       return new Test();
    }
 
-   /** Launch a new test and get first results from Microcks instance. */
-   protected TestResult launchTest(TestApi testApi, Test test) throws ApiException {
+   /** Launch a new test and get first results from Microcks instance, using referenced secrets by name. */
+   protected TestResult launchTest(TestApi testApi, Test test, Map<String, Secret> secrets) throws ApiException {
       final TestSpec testSpec = test.getSpec();
 
       logger.infof("Launching test for service '%s' on endpoint '%s'",
@@ -223,8 +279,8 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
       if (testSpec.getOAuth2Context() != null) {
          // Build the OAuth2 context for API client.
          OAuth2ClientContext oAuth2Context = new OAuth2ClientContext();
-         oAuth2Context.setClientId(getOAuth2ContextClientId(test));
-         oAuth2Context.setClientSecret(getOAuth2ContextClientSecret(test));
+         oAuth2Context.setClientId(getOAuth2ContextClientId(test, secrets));
+         oAuth2Context.setClientSecret(getOAuth2ContextClientSecret(test, secrets));
          oAuth2Context.setTokenUri(testSpec.getOAuth2Context().getTokenUri());
          try {
             oAuth2Context.setGrantType(OAuth2ClientContext.GrantTypeEnum.fromValue(testSpec.getOAuth2Context().getGrantType()));
@@ -234,9 +290,9 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
             oAuth2Context.setGrantType(OAuth2ClientContext.GrantTypeEnum.CLIENT_CREDENTIALS);
          }
          // Following fields can be set to null.
-         oAuth2Context.setRefreshToken(getOAuth2ContextRefreshToken(test));
-         oAuth2Context.setUsername(getOAuth2ContextUsername(test));
-         oAuth2Context.setPassword(getOAuth2ContextPassword(test));
+         oAuth2Context.setRefreshToken(getOAuth2ContextRefreshToken(test, secrets));
+         oAuth2Context.setUsername(getOAuth2ContextUsername(test, secrets));
+         oAuth2Context.setPassword(getOAuth2ContextPassword(test, secrets));
 
          testRequest.setoAuth2Context(oAuth2Context);
       }
@@ -252,15 +308,25 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
       return testApi.getTestResult(testId);
    }
 
+   /** Get the instant Test resource has been created or null if unknown. */
+   private Instant getCreationInstant(Test test) {
+      String creationTimestamp = test.getMetadata().getCreationTimestamp();
+      try {
+         return creationTimestamp != null ? Instant.parse(creationTimestamp) : null;
+      } catch (DateTimeParseException dtpe) {
+         return null;
+      }
+   }
+
    /** Get the OAuth2 context client ID or raise an exception. */
-   private String getOAuth2ContextClientId(Test test) throws ApiException {
+   private String getOAuth2ContextClientId(Test test, Map<String, Secret> secrets) throws ApiException {
       final TestSpec testSpec = test.getSpec();
 
       if (testSpec.getOAuth2Context() != null) {
          if (testSpec.getOAuth2Context().getClientId() != null) {
             return testSpec.getOAuth2Context().getClientId();
          } else if (testSpec.getOAuth2Context().getClientIdFrom() != null) {
-            String secretValue = getSecretValue(testSpec.getOAuth2Context().getClientIdFrom(), test.getMetadata().getNamespace());
+            String secretValue = getSecretValue(testSpec.getOAuth2Context().getClientIdFrom(), secrets);
 
             if (secretValue == null) {
                logger.errorf("Kubernetes secret '%s' not found for '%s' in Test '%s'",
@@ -276,14 +342,14 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
    }
 
    /** Get the OAuth2 context client Secret or raise an exception. */
-   private String getOAuth2ContextClientSecret(Test test) throws ApiException {
+   private String getOAuth2ContextClientSecret(Test test, Map<String, Secret> secrets) throws ApiException {
       final TestSpec testSpec = test.getSpec();
 
       if (testSpec.getOAuth2Context() != null) {
          if (testSpec.getOAuth2Context().getClientSecret() != null) {
             return testSpec.getOAuth2Context().getClientSecret();
          } else if (testSpec.getOAuth2Context().getClientSecretFrom() != null) {
-            String secretValue = getSecretValue(testSpec.getOAuth2Context().getClientSecretFrom(), test.getMetadata().getNamespace());
+            String secretValue = getSecretValue(testSpec.getOAuth2Context().getClientSecretFrom(), secrets);
 
             if (secretValue == null) {
                logger.errorf("Kubernetes secret '%s' not found for '%s' in Test '%s'",
@@ -299,14 +365,14 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
    }
 
    /** Get the OAuth2 context Refresh Token if any of track an error in status. */
-   private String getOAuth2ContextRefreshToken(Test test) {
+   private String getOAuth2ContextRefreshToken(Test test, Map<String, Secret> secrets) {
       final TestSpec testSpec = test.getSpec();
 
       if (testSpec.getOAuth2Context() != null) {
          if (testSpec.getOAuth2Context().getRefreshToken() != null) {
             return testSpec.getOAuth2Context().getRefreshToken();
          } else if (testSpec.getOAuth2Context().getRefreshTokenFrom() != null) {
-            String secretValue = getSecretValue(testSpec.getOAuth2Context().getRefreshTokenFrom(), test.getMetadata().getNamespace());
+            String secretValue = getSecretValue(testSpec.getOAuth2Context().getRefreshTokenFrom(), secrets);
 
             if (secretValue == null) {
                logger.errorf("Kubernetes secret '%s' not found for '%s' in Test '%s'",
@@ -322,14 +388,14 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
    }
 
    /** Get the OAuth2 context Username if any of track an error in status. */
-   private String getOAuth2ContextUsername(Test test) {
+   private String getOAuth2ContextUsername(Test test, Map<String, Secret> secrets) {
       final TestSpec testSpec = test.getSpec();
 
       if (testSpec.getOAuth2Context() != null) {
          if (testSpec.getOAuth2Context().getUsername() != null) {
             return testSpec.getOAuth2Context().getUsername();
          } else if (testSpec.getOAuth2Context().getUsernameFrom() != null) {
-            String secretValue = getSecretValue(testSpec.getOAuth2Context().getUsernameFrom(), test.getMetadata().getNamespace());
+            String secretValue = getSecretValue(testSpec.getOAuth2Context().getUsernameFrom(), secrets);
 
             if (secretValue == null) {
                logger.errorf("Kubernetes secret '%s' not found for '%s' in Test '%s'",
@@ -345,14 +411,14 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
    }
 
    /** Get the OAuth2 context password Refresh Token if any of track an error in status. */
-   private String getOAuth2ContextPassword(Test test) {
+   private String getOAuth2ContextPassword(Test test, Map<String, Secret> secrets) {
       final TestSpec testSpec = test.getSpec();
 
       if (testSpec.getOAuth2Context() != null) {
          if (testSpec.getOAuth2Context().getPassword() != null) {
             return testSpec.getOAuth2Context().getPassword();
          } else if (testSpec.getOAuth2Context().getPasswordFrom() != null) {
-            String secretValue = getSecretValue(testSpec.getOAuth2Context().getPasswordFrom(), test.getMetadata().getNamespace());
+            String secretValue = getSecretValue(testSpec.getOAuth2Context().getPasswordFrom(), secrets);
 
             if (secretValue == null) {
                logger.errorf("Kubernetes secret '%s' not found for '%s' in Test '%s'",
@@ -367,13 +433,52 @@ public class TestReconciler extends AbstractMicrocksDependantReconciler<Test, Te
       return null;
    }
 
-   /** Get a Kubernetes value from a secret or return null. */
-   private String getSecretValue(ValueFromSecretSpec spec, String ns) {
-      Secret kubeSecret = client.secrets().inNamespace(ns).withName(spec.getSecretKey()).get();
+   /** Get the Kubernetes secrets referenced by a Test known by the informer cache, indexed by name. */
+   private Map<String, Secret> getReferencedSecrets(Context<Test> context) {
+      // Cached secrets only hold metadata, fetch the full ones that are known to exist.
+      return context.getSecondaryResourcesAsStream(Secret.class)
+            .map(cachedSecret -> client.secrets().inNamespace(cachedSecret.getMetadata().getNamespace())
+                  .withName(cachedSecret.getMetadata().getName()).get())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toMap(kubeSecret -> kubeSecret.getMetadata().getName(), Function.identity(), (a, b) -> a));
+   }
 
-      if (kubeSecret != null) {
-         return kubeSecret.getData().get(spec.getSecretKey());
+   /** Get a decoded Kubernetes value from a referenced secret or return null. */
+   static String getSecretValue(ValueFromSecretSpec spec, Map<String, Secret> secrets) {
+      Secret kubeSecret = secrets.get(spec.getSecretRef());
+
+      if (kubeSecret != null && kubeSecret.getData() != null) {
+         String encodedValue = kubeSecret.getData().get(spec.getSecretKey());
+         if (encodedValue != null) {
+            return new String(Base64.getDecoder().decode(encodedValue), StandardCharsets.UTF_8);
+         }
       }
       return null;
    }
+
+   /** Get the names of Kubernetes secrets referenced by the OAuth2 context of a Test. */
+   static Set<String> getSecretRefs(Test test) {
+      io.github.microcks.operator.api.test.v1alpha1.OAuth2ClientContext oAuth2Context =
+            test.getSpec() != null ? test.getSpec().getOAuth2Context() : null;
+      if (oAuth2Context == null) {
+         return Set.of();
+      }
+      return Stream.of(oAuth2Context.getClientIdFrom(), oAuth2Context.getClientSecretFrom(), oAuth2Context.getRefreshTokenFrom(),
+                  oAuth2Context.getUsernameFrom(), oAuth2Context.getPasswordFrom())
+            .filter(valueFrom -> valueFrom != null && valueFrom.getSecretRef() != null)
+            .map(ValueFromSecretSpec::getSecretRef)
+            .collect(Collectors.toCollection(TreeSet::new));
+   }
+
+   /** Get the keys of a Test into the referenced secrets index. */
+   static List<String> getSecretRefIndexKeys(Test test) {
+      return getSecretRefs(test).stream()
+            .map(secretRef -> getSecretRefIndexKey(secretRef, test.getMetadata().getNamespace()))
+            .toList();
+   }
+
+   /** Get the referenced secrets index key for a secret name and namespace. */
+   static String getSecretRefIndexKey(String secretName, String namespace) {
+      return secretName + "#" + namespace;
+   }
 }
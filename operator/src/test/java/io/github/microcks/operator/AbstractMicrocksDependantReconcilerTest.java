@@ -0,0 +1,107 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.github.microcks.operator.api.artifact.v1alpha1.APISource;
+import io.github.microcks.operator.api.artifact.v1alpha1.APISourceSpec;
+import io.github.microcks.operator.api.artifact.v1alpha1.APISourceStatus;
+import io.github.microcks.operator.api.model.Condition;
+import io.github.microcks.operator.api.model.Status;
+import io.github.microcks.operator.model.ConditionUtil;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.ErrorStatusUpdateControl;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbstractMicrocksDependantReconcilerTest {
+
+   @Test
+   void testMicrocksInstanceIndexKeys() {
+      APISource apiSource = new APISource();
+      apiSource.setMetadata(new ObjectMetaBuilder().withName("my-apis").withNamespace("ns")
+            .addToAnnotations(MicrocksOperatorConfig.INSTANCE_SELECTOR, "microcks").build());
+
+      assertEquals(List.of("microcks#ns"), AbstractMicrocksDependantReconciler.getMicrocksInstanceIndexKeys(apiSource));
+
+      // A resource without instance annotation is not indexed.
+      apiSource.setMetadata(new ObjectMetaBuilder().withName("my-apis").withNamespace("ns").build());
+      assertTrue(AbstractMicrocksDependantReconciler.getMicrocksInstanceIndexKeys(apiSource).isEmpty());
+   }
+
+   @Test
+   void testPatchStatusOnlyIfChanged() {
+      DummyReconciler reconciler = new DummyReconciler();
+      APISource apiSource = new APISource();
+      apiSource.setMetadata(new ObjectMetaBuilder().withName("my-apis").withNamespace("ns").build());
+
+      // A resource without status must get one.
+      JsonNode observedStatus = AbstractMicrocksDependantReconciler.snapshotStatus(apiSource);
+      apiSource.setStatus(new APISourceStatus());
+      Condition condition = ConditionUtil.getOrCreateCondition(apiSource.getStatus(), "https://example.com/api.yaml");
+      ConditionUtil.updateCondition(condition, Status.READY, "service-id");
+      UpdateControl<APISource> control = reconciler.patchStatusIfChanged(apiSource, observedStatus);
+      assertTrue(control.isPatchStatus());
+      assertEquals(apiSource.getStatus(), control.getResource().get().getStatus());
+
+      // Same status computed again is not patched.
+      observedStatus = AbstractMicrocksDependantReconciler.snapshotStatus(apiSource);
+      ConditionUtil.updateCondition(condition, Status.READY, "service-id");
+      control = reconciler.patchStatusIfChanged(apiSource, observedStatus);
+      assertFalse(control.isPatchStatus());
+      assertFalse(control.isPatchResource());
+
+      // Any change in condition is patched.
+      condition.setFingerprint("fingerprint");
+      control = reconciler.patchStatusIfChanged(apiSource, observedStatus);
+      assertTrue(control.isPatchStatus());
+   }
+
+   @Test
+   void testThrottledReconciliationIsRescheduled() {
+      DummyReconciler reconciler = new DummyReconciler();
+      APISource apiSource = new APISource();
+      apiSource.setMetadata(new ObjectMetaBuilder().withName("my-apis").withNamespace("ns").build());
+
+      // Throttling may be wrapped by a future or by the reconciler.
+      ErrorStatusUpdateControl<APISource> control = reconciler.updateErrorStatus(apiSource, null,
+            new CompletionException(new ThrottledRequestException("throttled", Duration.ofSeconds(3))));
+      assertFalse(control.isDefaultErrorProcessing());
+      assertTrue(control.isNoRetry());
+      assertTrue(control.getResource().isEmpty());
+      assertEquals(Optional.of(3000L), control.getScheduleDelay());
+
+      control = reconciler.updateErrorStatus(apiSource, null, new IllegalStateException("boom"));
+      assertTrue(control.isDefaultErrorProcessing());
+   }
+
+   private static class DummyReconciler extends AbstractMicrocksDependantReconciler<APISource, APISourceSpec, APISourceStatus> {
+      @Override
+      protected APISource buildCustomResourceInstance() {
+         return new APISource();
+      }
+   }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ApiClientMetricsTest {
+
+   @Test
+   void testGetOperation() {
+      assertEquals("GET /keycloak/config", ApiClientMetrics.getOperation("GET", "/keycloak/config"));
+      assertEquals("GET /jobs/{id}", ApiClientMetrics.getOperation("GET", "/jobs/65a0f1c2e4b0a1b2c3d4e5f6"));
+      assertEquals("DELETE /services/{id}", ApiClientMetrics.getOperation("DELETE", "/services/Petstore%20API:1.0"));
+      assertEquals("GET /tests/{id}/messages", ApiClientMetrics.getOperation("GET",
+            "/tests/3f2504e0-4f89-11d3-9a0c-0305e82c3301/messages"));
+      assertEquals("POST /", ApiClientMetrics.getOperation("POST", ""));
+   }
+
+   @Test
+   void testRequestObservation() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      ApiClientMetrics metrics = new ApiClientMetrics(registry);
+
+      ApiClientMetrics.RequestObservation first = metrics.startRequest("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET, "POST /jobs");
+      ApiClientMetrics.RequestObservation second = metrics.startRequest("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET, "POST /jobs");
+      assertEquals(2, registry.get(ApiClientMetrics.IN_FLIGHT_METRIC_NAME).tags("operation", "POST /jobs").gauge().value());
+
+      first.stop("201");
+      second.stop(ApiClientMetrics.IO_ERROR_STATUS);
+      assertEquals(0, registry.get(ApiClientMetrics.IN_FLIGHT_METRIC_NAME).tags("operation", "POST /jobs").gauge().value());
+      assertEquals(1, registry.get(ApiClientMetrics.REQUESTS_METRIC_NAME)
+            .tags("namespace", "ns", "instance", "microcks", "target", "microcks", "operation", "POST /jobs", "status", "201")
+            .timer().count());
+      assertEquals(1, registry.get(ApiClientMetrics.REQUESTS_METRIC_NAME).tags("status", "io_error").timer().count());
+
+      metrics.startRequest("ns", "other", ApiClientMetrics.KEYCLOAK_TARGET, "POST /token").stop("200");
+      metrics.invalidate("ns", "microcks");
+      assertNull(registry.find(ApiClientMetrics.REQUESTS_METRIC_NAME).tags("instance", "microcks").timer());
+      assertNull(registry.find(ApiClientMetrics.IN_FLIGHT_METRIC_NAME).tags("instance", "microcks").gauge());
+      assertEquals(1, registry.get(ApiClientMetrics.REQUESTS_METRIC_NAME).tags("target", "keycloak").timer().count());
+   }
+
+   @Test
+   void testArtifactImports() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      ApiClientMetrics metrics = new ApiClientMetrics(registry);
+
+      metrics.recordArtifactImport("ns", "microcks", "imported", Duration.ofMillis(120));
+      metrics.recordArtifactImport("ns", "microcks", "skipped", Duration.ofMillis(5));
+      metrics.recordArtifactImport("ns", "microcks", "skipped", Duration.ofMillis(7));
+      assertEquals(1, registry.get(ApiClientMetrics.ARTIFACT_IMPORTS_METRIC_NAME).tags("outcome", "imported").timer().count());
+      assertEquals(2, registry.get(ApiClientMetrics.ARTIFACT_IMPORTS_METRIC_NAME).tags("outcome", "skipped").timer().count());
+
+      metrics.invalidate("ns", "microcks");
+      assertNull(registry.find(ApiClientMetrics.ARTIFACT_IMPORTS_METRIC_NAME).timer());
+   }
+}
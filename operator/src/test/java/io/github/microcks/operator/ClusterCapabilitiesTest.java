@@ -0,0 +1,125 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterCapabilitiesTest {
+
+   @Test
+   void testCapabilitiesAreDiscoveredOnce() {
+      AtomicInteger discoveries = new AtomicInteger();
+      ClusterCapabilities capabilities = new ClusterCapabilities(Duration.ofMinutes(5)) {
+         @Override
+         Snapshot discover(KubernetesClient client) {
+            discoveries.incrementAndGet();
+            return new Snapshot(Set.of(OPENSHIFT_ROUTE_GROUP, GATEWAY_API_GROUP),
+                  Map.of(GATEWAY_API_VERSION, Set.of("HTTPRoute")), Instant.now());
+         }
+      };
+
+      assertTrue(capabilities.isOpenShift(null));
+      assertFalse(capabilities.hasStrimziKafka(null));
+      assertTrue(capabilities.supportsHTTPRoute(null));
+      assertFalse(capabilities.supportsGRPCRoute(null));
+      assertEquals(1, discoveries.get());
+   }
+
+   @Test
+   void testCapabilitiesAreRefreshedAfterPeriod() throws Exception {
+      AtomicInteger discoveries = new AtomicInteger();
+      ClusterCapabilities capabilities = new ClusterCapabilities(Duration.ofMillis(10)) {
+         @Override
+         Snapshot discover(KubernetesClient client) {
+            if (discoveries.incrementAndGet() == 1) {
+               return new Snapshot(Set.of(), Map.of(), Instant.now());
+            }
+            return new Snapshot(Set.of(STRIMZI_KAFKA_GROUP), Map.of(), Instant.now());
+         }
+      };
+
+      assertFalse(capabilities.hasStrimziKafka(null));
+      Thread.sleep(20);
+      assertTrue(capabilities.hasStrimziKafka(null));
+      assertEquals(2, discoveries.get());
+   }
+
+   @Test
+   void testMissingGroupIsRefreshedWhenRequested() {
+      AtomicInteger discoveries = new AtomicInteger();
+      ClusterCapabilities capabilities = new ClusterCapabilities(Duration.ofMinutes(5)) {
+         @Override
+         Snapshot discover(KubernetesClient client) {
+            if (discoveries.incrementAndGet() == 1) {
+               return new Snapshot(Set.of(OPENSHIFT_ROUTE_GROUP), Map.of(), Instant.now());
+            }
+            return new Snapshot(Set.of(OPENSHIFT_ROUTE_GROUP, STRIMZI_KAFKA_GROUP), Map.of(), Instant.now());
+         }
+      };
+
+      // Present groups and cached lookups do not trigger a discovery.
+      assertTrue(capabilities.hasApiGroup(null, ClusterCapabilities.OPENSHIFT_ROUTE_GROUP, true));
+      assertFalse(capabilities.hasStrimziKafka(null));
+      assertEquals(1, discoveries.get());
+
+      assertTrue(capabilities.hasApiGroup(null, ClusterCapabilities.STRIMZI_KAFKA_GROUP, true));
+      assertTrue(capabilities.hasStrimziKafka(null));
+      assertEquals(2, discoveries.get());
+   }
+
+   @Test
+   void testPreviousCapabilitiesAreKeptOnFailure() throws Exception {
+      AtomicInteger discoveries = new AtomicInteger();
+      ClusterCapabilities capabilities = new ClusterCapabilities(Duration.ofMillis(10)) {
+         @Override
+         Snapshot discover(KubernetesClient client) {
+            if (discoveries.incrementAndGet() == 1) {
+               return new Snapshot(Set.of(OPENSHIFT_ROUTE_GROUP), Map.of(), Instant.now());
+            }
+            throw new KubernetesClientException("API server unavailable");
+         }
+      };
+
+      assertTrue(capabilities.isOpenShift(null));
+      Thread.sleep(20);
+      assertTrue(capabilities.isOpenShift(null));
+      assertEquals(2, discoveries.get());
+   }
+
+   @Test
+   void testFirstDiscoveryFailureIsPropagated() {
+      ClusterCapabilities capabilities = new ClusterCapabilities(Duration.ofMinutes(5)) {
+         @Override
+         Snapshot discover(KubernetesClient client) {
+            throw new KubernetesClientException("API server unavailable");
+         }
+      };
+      assertThrows(KubernetesClientException.class, () -> capabilities.isOpenShift(null));
+   }
+}
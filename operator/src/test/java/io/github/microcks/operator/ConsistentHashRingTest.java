@@ -0,0 +1,68 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+   private static final List<String> NAMESPACES = IntStream.range(0, 200).mapToObj(i -> "team-" + i).toList();
+
+   @Test
+   void testOwnersAreStableAndSpread() {
+      ConsistentHashRing ring = new ConsistentHashRing(List.of("operator-a", "operator-b", "operator-c"));
+      ConsistentHashRing sameRing = new ConsistentHashRing(List.of("operator-c", "operator-a", "operator-b"));
+
+      Map<String, Integer> counts = new HashMap<>();
+      for (String namespace : NAMESPACES) {
+         // Every replica must compute the same owners whatever the members order.
+         assertEquals(ring.getOwner(namespace), sameRing.getOwner(namespace));
+         counts.merge(ring.getOwner(namespace), 1, Integer::sum);
+      }
+      assertEquals(Set.of("operator-a", "operator-b", "operator-c"), counts.keySet());
+      counts.values().forEach(count -> assertTrue(count > 200 / 3 / 2, "Unbalanced shards: " + counts));
+   }
+
+   @Test
+   void testOnlyLeavingMemberNamespacesMove() {
+      ConsistentHashRing ring = new ConsistentHashRing(List.of("operator-a", "operator-b", "operator-c"));
+      ConsistentHashRing shrunkRing = new ConsistentHashRing(List.of("operator-a", "operator-b"));
+
+      for (String namespace : NAMESPACES) {
+         String owner = ring.getOwner(namespace);
+         if (!"operator-c".equals(owner)) {
+            assertEquals(owner, shrunkRing.getOwner(namespace));
+         }
+      }
+   }
+
+   @Test
+   void testEmptyRing() {
+      ConsistentHashRing ring = new ConsistentHashRing(List.of());
+      assertNull(ring.getOwner("team-0"));
+      assertTrue(ring.getMembers().isEmpty());
+   }
+}
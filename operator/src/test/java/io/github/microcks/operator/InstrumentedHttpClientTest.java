@@ -0,0 +1,104 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstrumentedHttpClientTest {
+
+   @Test
+   void testRequestsAreRecorded() throws Exception {
+      HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.createContext("/api/jobs", exchange -> {
+         exchange.sendResponseHeaders(404, -1);
+         exchange.close();
+      });
+      server.start();
+      int port = server.getAddress().getPort();
+
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      HttpClient client = new InstrumentedHttpClient(HttpClient.newHttpClient(), "ns", "microcks",
+            "http://localhost:" + port + "/api", new ApiClientMetrics(registry),
+            new MicrocksTrafficLimiter(registry, MicrocksTrafficLimiter.Limits.DEFAULTS, System::nanoTime));
+      try {
+         HttpResponse<String> response = client.send(
+               HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs/65a0f1c2e4b0a1b2c3d4e5f6")).build(),
+               HttpResponse.BodyHandlers.ofString());
+         assertEquals(404, response.statusCode());
+         client.sendAsync(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs")).build(),
+               HttpResponse.BodyHandlers.ofString()).join();
+      } finally {
+         server.stop(0);
+      }
+
+      // Server is now stopped so that request fails without response.
+      assertThrows(IOException.class, () -> client.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs")).build(),
+            HttpResponse.BodyHandlers.ofString()));
+
+      assertEquals(1, registry.get(ApiClientMetrics.REQUESTS_METRIC_NAME)
+            .tags("operation", "GET /jobs/{id}", "status", "404").timer().count());
+      assertEquals(1, registry.get(ApiClientMetrics.REQUESTS_METRIC_NAME)
+            .tags("operation", "GET /jobs", "status", "404").timer().count());
+      assertEquals(1, registry.get(ApiClientMetrics.REQUESTS_METRIC_NAME)
+            .tags("operation", "GET /jobs", "status", ApiClientMetrics.IO_ERROR_STATUS).timer().count());
+      assertEquals(0, registry.get(ApiClientMetrics.IN_FLIGHT_METRIC_NAME).tags("operation", "GET /jobs").gauge().value());
+   }
+
+   @Test
+   void testThrottledRequestsFailWithoutWaiting() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      MicrocksTrafficLimiter limiter = new MicrocksTrafficLimiter(registry,
+            new MicrocksTrafficLimiter.Limits(1, 1000, 10, Duration.ZERO), System::nanoTime);
+      HttpClient client = new InstrumentedHttpClient(HttpClient.newHttpClient(), "ns", "microcks",
+            "http://localhost:1/api", new ApiClientMetrics(registry), limiter);
+      HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:1/api/jobs")).build();
+
+      try (MicrocksTrafficLimiter.Permit permit = limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET)) {
+         assertThrows(ThrottledRequestException.class, () -> client.send(request, HttpResponse.BodyHandlers.ofString()));
+         CompletableFuture<HttpResponse<String>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+         assertTrue(response.isCompletedExceptionally());
+         CompletionException ce = assertThrows(CompletionException.class, response::join);
+         assertInstanceOf(ThrottledRequestException.class, ce.getCause());
+      }
+      assertEquals(2, registry.get(MicrocksTrafficLimiter.THROTTLE_METRIC_NAME).tags("target", "microcks").counter().count());
+      // Throttled requests have not been sent.
+      assertNull(registry.find(ApiClientMetrics.REQUESTS_METRIC_NAME).timer());
+
+      // Permit of a failed asynchronous request is released.
+      assertThrows(CompletionException.class,
+            () -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).join());
+      limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET).close();
+   }
+}
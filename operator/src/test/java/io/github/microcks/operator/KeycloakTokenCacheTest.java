@@ -0,0 +1,96 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeycloakTokenCacheTest {
+
+   private static final KeycloakTokenCache.TokenKey KEY = new KeycloakTokenCache.TokenKey("ns", "microcks", null);
+
+   @Test
+   void testTokenIsCachedUntilRefresh() throws Exception {
+      KeycloakTokenCache cache = new KeycloakTokenCache();
+      AtomicInteger loads = new AtomicInteger();
+
+      String first = cache.getToken(KEY, () -> KeycloakTokenCache.CachedToken.expiringAfter("token-" + loads.incrementAndGet(), Duration.ofMinutes(5)));
+      String second = cache.getToken(KEY, () -> KeycloakTokenCache.CachedToken.expiringAfter("token-" + loads.incrementAndGet(), Duration.ofMinutes(5)));
+      assertEquals("token-1", first);
+      assertEquals("token-1", second);
+      assertEquals(1, loads.get());
+
+      // Invalidating the instance forces a new load.
+      cache.invalidate("ns", "microcks");
+      String third = cache.getToken(KEY, () -> KeycloakTokenCache.CachedToken.expiringAfter("token-" + loads.incrementAndGet(), Duration.ofMinutes(5)));
+      assertEquals("token-2", third);
+   }
+
+   @Test
+   void testExpiringTokenIsRefreshed() throws Exception {
+      KeycloakTokenCache cache = new KeycloakTokenCache();
+      AtomicInteger loads = new AtomicInteger();
+
+      // A 10 ms token is immediately in its refresh window.
+      cache.getToken(KEY, () -> KeycloakTokenCache.CachedToken.expiringAfter("token-" + loads.incrementAndGet(), Duration.ofMillis(10)));
+      Thread.sleep(20);
+      String refreshed = cache.getToken(KEY, () -> KeycloakTokenCache.CachedToken.expiringAfter("token-" + loads.incrementAndGet(), Duration.ofMinutes(5)));
+      assertEquals("token-2", refreshed);
+   }
+
+   @Test
+   void testConcurrentLoadsAreCollapsed() throws Exception {
+      KeycloakTokenCache cache = new KeycloakTokenCache();
+      AtomicInteger loads = new AtomicInteger();
+      CountDownLatch release = new CountDownLatch(1);
+
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+         List<Future<String>> futures = new ArrayList<>();
+         for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> cache.getToken(KEY, () -> {
+               loads.incrementAndGet();
+               try {
+                  release.await(5, TimeUnit.SECONDS);
+               } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+               }
+               return KeycloakTokenCache.CachedToken.expiringAfter("token", Duration.ofMinutes(5));
+            })));
+         }
+         Thread.sleep(100);
+         release.countDown();
+
+         for (Future<String> future : futures) {
+            assertEquals("token", future.get(5, TimeUnit.SECONDS));
+         }
+         assertEquals(1, loads.get());
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+}
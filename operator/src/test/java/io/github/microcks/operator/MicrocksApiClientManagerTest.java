@@ -0,0 +1,60 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.github.microcks.client.ApiClient;
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.base.v1alpha1.MicrocksSpec;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MicrocksApiClientManagerTest {
+
+   @Test
+   void testHttpClientIsReusedUntilInstanceChanges() {
+      MicrocksApiClientManager manager = new MicrocksApiClientManager();
+      Microcks microcks = buildMicrocks(1L);
+
+      ApiClient first = manager.getApiClient(microcks, "token-1");
+      ApiClient second = manager.getApiClient(microcks, "token-2");
+      assertEquals("http://microcks.ns.svc.cluster.local:8080/api", first.getBaseUri());
+      assertSame(first.getHttpClient(), second.getHttpClient());
+      assertSame(first.getHttpClient(), first.getHttpClient());
+
+      // A new generation of Microcks instance renews the client.
+      ApiClient third = manager.getApiClient(buildMicrocks(2L), "token-3");
+      assertNotSame(first.getHttpClient(), third.getHttpClient());
+
+      // Invalidation also renews the client.
+      manager.invalidate("ns", "microcks");
+      ApiClient fourth = manager.getApiClient(buildMicrocks(2L), "token-3");
+      assertNotSame(third.getHttpClient(), fourth.getHttpClient());
+   }
+
+   private Microcks buildMicrocks(Long generation) {
+      Microcks microcks = new Microcks();
+      microcks.setMetadata(new ObjectMetaBuilder().withName("microcks").withNamespace("ns").withGeneration(generation).build());
+      MicrocksSpec spec = new MicrocksSpec();
+      spec.setClusterDomain("cluster.local");
+      microcks.setSpec(spec);
+      return microcks;
+   }
+}
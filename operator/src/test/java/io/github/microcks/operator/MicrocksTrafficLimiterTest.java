@@ -0,0 +1,156 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.base.v1alpha1.MicrocksSpec;
+import io.github.microcks.operator.api.base.v1alpha1.OperatorClientSpec;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicrocksTrafficLimiterTest {
+
+   private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+   @Test
+   void testTokenBucket() {
+      MicrocksTrafficLimiter.TokenBucket bucket = new MicrocksTrafficLimiter.TokenBucket(2, 4, 0);
+
+      // Burst is served immediately, then refused requests are told when the next token comes without consuming it.
+      assertEquals(0, bucket.tryConsume(0));
+      assertEquals(0, bucket.tryConsume(0));
+      assertEquals(SECOND / 4, bucket.tryConsume(0));
+      assertEquals(SECOND / 4, bucket.tryConsume(0));
+
+      // Bucket refills up to its capacity.
+      assertEquals(0, bucket.tryConsume(10 * SECOND));
+      assertEquals(0, bucket.tryConsume(10 * SECOND));
+      assertEquals(SECOND / 4, bucket.tryConsume(10 * SECOND));
+   }
+
+   @Test
+   void testLimitsFromSpecAndDefaults() {
+      MicrocksTrafficLimiter limiter = new MicrocksTrafficLimiter(new SimpleMeterRegistry(),
+            MicrocksTrafficLimiter.Limits.DEFAULTS, System::nanoTime);
+      Microcks microcks = buildMicrocks(null);
+      assertSame(MicrocksTrafficLimiter.Limits.DEFAULTS, limiter.getLimits(microcks));
+
+      OperatorClientSpec spec = new OperatorClientSpec();
+      spec.setMaxConcurrentRequests(2);
+      spec.setInitialReconcileJitterSeconds(0);
+      MicrocksTrafficLimiter.Limits limits = limiter.getLimits(buildMicrocks(spec));
+      assertEquals(2, limits.maxConcurrentRequests());
+      assertEquals(MicrocksTrafficLimiter.Limits.DEFAULTS.requestsPerSecond(), limits.requestsPerSecond());
+      assertEquals(MicrocksTrafficLimiter.Limits.DEFAULTS.burst(), limits.burst());
+      assertEquals(Duration.ZERO, limiter.getInitialReconcileJitter(buildMicrocks(spec)));
+
+      Duration jitter = limiter.getInitialReconcileJitter(microcks);
+      assertTrue(!jitter.isNegative() && jitter.compareTo(MicrocksTrafficLimiter.Limits.DEFAULTS.initialReconcileJitter()) < 0);
+   }
+
+   @Test
+   void testConcurrencyLimit() throws Exception {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      MicrocksTrafficLimiter limiter = new MicrocksTrafficLimiter(registry,
+            new MicrocksTrafficLimiter.Limits(1, 1000, 10, Duration.ZERO), System::nanoTime);
+
+      MicrocksTrafficLimiter.Permit permit = limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET);
+      // Other instances have their own budget.
+      try (MicrocksTrafficLimiter.Permit other = limiter.tryAcquire("ns", "other", ApiClientMetrics.MICROCKS_TARGET)) {
+         assertThrows(ThrottledRequestException.class, () -> limiter.tryAcquire("ns", "other", ApiClientMetrics.MICROCKS_TARGET));
+      }
+      assertThrows(ThrottledRequestException.class, () -> limiter.tryAcquire("ns", "microcks", ApiClientMetrics.KEYCLOAK_TARGET));
+
+      // Closing twice must not release more permits than acquired.
+      permit.close();
+      permit.close();
+      limiter.tryAcquire("ns", "microcks", ApiClientMetrics.KEYCLOAK_TARGET).close();
+      ThrottledRequestException throttled = assertThrows(ThrottledRequestException.class, () -> {
+         try (MicrocksTrafficLimiter.Permit first = limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET)) {
+            limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET);
+         }
+      });
+      assertEquals(MicrocksTrafficLimiter.MIN_RETRY_DELAY, throttled.getRetryAfter());
+
+      assertEquals(1, registry.get(MicrocksTrafficLimiter.THROTTLE_METRIC_NAME)
+            .tags("instance", "microcks", "target", ApiClientMetrics.KEYCLOAK_TARGET).counter().count());
+      limiter.invalidate("ns", "microcks");
+      assertNull(registry.find(MicrocksTrafficLimiter.THROTTLE_METRIC_NAME).tags("instance", "microcks").counter());
+      assertEquals(1, registry.get(MicrocksTrafficLimiter.THROTTLE_METRIC_NAME).tags("instance", "other").counter().count());
+   }
+
+   @Test
+   void testRateLimit() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      long[] now = {0};
+      MicrocksTrafficLimiter limiter = new MicrocksTrafficLimiter(registry,
+            new MicrocksTrafficLimiter.Limits(8, 0.5, 1, Duration.ZERO), () -> now[0]);
+
+      limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET).close();
+      // Refused request is told to retry when next token comes, and doesn't hold a concurrency permit.
+      ThrottledRequestException throttled = assertThrows(ThrottledRequestException.class,
+            () -> limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET));
+      assertEquals(Duration.ofSeconds(2), throttled.getRetryAfter());
+
+      // Retry delay never goes below the minimum one.
+      now[0] = 1900 * TimeUnit.MILLISECONDS.toNanos(1);
+      throttled = assertThrows(ThrottledRequestException.class,
+            () -> limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET));
+      assertEquals(MicrocksTrafficLimiter.MIN_RETRY_DELAY, throttled.getRetryAfter());
+
+      now[0] = 2 * SECOND;
+      limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET).close();
+      assertEquals(2, registry.get(MicrocksTrafficLimiter.THROTTLE_METRIC_NAME).tags("instance", "microcks").counter().count());
+   }
+
+   @Test
+   void testConfigureKeepsLimiterWhenUnchanged() throws Exception {
+      MicrocksTrafficLimiter limiter = new MicrocksTrafficLimiter(new SimpleMeterRegistry(),
+            new MicrocksTrafficLimiter.Limits(8, 1000, 10, Duration.ZERO), System::nanoTime);
+      OperatorClientSpec spec = new OperatorClientSpec();
+      spec.setMaxConcurrentRequests(1);
+
+      limiter.configure(buildMicrocks(spec));
+      MicrocksTrafficLimiter.Permit permit = limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET);
+      limiter.configure(buildMicrocks(spec));
+      assertThrows(ThrottledRequestException.class, () -> limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET));
+
+      // New limits replace the limiter.
+      spec.setMaxConcurrentRequests(2);
+      limiter.configure(buildMicrocks(spec));
+      limiter.tryAcquire("ns", "microcks", ApiClientMetrics.MICROCKS_TARGET).close();
+      permit.close();
+   }
+
+   private Microcks buildMicrocks(OperatorClientSpec operatorClient) {
+      Microcks microcks = new Microcks();
+      microcks.setMetadata(new ObjectMetaBuilder().withNamespace("ns").withName("microcks").build());
+      microcks.setSpec(new MicrocksSpec());
+      microcks.getSpec().setOperatorClient(operatorClient);
+      return microcks;
+   }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NamespaceShardManagerTest {
+
+   @Test
+   void testShardsPartitionNamespaces() {
+      List<String> namespaces = IntStream.range(0, 50).mapToObj(i -> "team-" + i).toList();
+      List<String> members = List.of("operator-a", "operator-b", "operator-c");
+      ConsistentHashRing ring = new ConsistentHashRing(members);
+
+      Set<String> allShards = new HashSet<>();
+      int shardsSize = 0;
+      for (String member : members) {
+         Set<String> shard = NamespaceShardManager.computeShard(namespaces, ring, member);
+         allShards.addAll(shard);
+         shardsSize += shard.size();
+      }
+      // Every namespace is owned by exactly one member.
+      assertEquals(Set.copyOf(namespaces), allShards);
+      assertEquals(namespaces.size(), shardsSize);
+   }
+
+   @Test
+   void testShardIsFencedOnTakeOver() {
+      // Nothing is watched on first rebalance, namespaces are taken after being computed twice.
+      assertEquals(Set.of(), NamespaceShardManager.fenceShard(Set.of("team-1", "team-2"), Set.of(), null));
+      assertEquals(Set.of("team-1", "team-2"),
+            NamespaceShardManager.fenceShard(Set.of("team-1", "team-2"), Set.of("team-1", "team-2"), Set.of()));
+
+      // A namespace moving to this member waits for the next rebalance, a leaving one is released immediately.
+      Set<String> current = Set.of("team-1", "team-2");
+      assertEquals(Set.of("team-1"),
+            NamespaceShardManager.fenceShard(Set.of("team-1", "team-3"), Set.of("team-1", "team-2"), current));
+      assertEquals(Set.of("team-1", "team-3"),
+            NamespaceShardManager.fenceShard(Set.of("team-1", "team-3"), Set.of("team-1", "team-3"), Set.of("team-1")));
+   }
+
+   @Test
+   void testMembershipLeaseLiveness() {
+      Instant now = Instant.parse("2026-01-01T12:00:00Z");
+      Lease lease = new LeaseBuilder().withNewMetadata().withName(ShardMembership.getLeaseName("operator-a")).endMetadata()
+            .withNewSpec().withHolderIdentity("operator-a").withLeaseDurationSeconds(30)
+            .withRenewTime(ZonedDateTime.ofInstant(now.minusSeconds(20), ZoneOffset.UTC)).endSpec().build();
+
+      assertTrue(ShardMembership.isLive(lease, now));
+      assertFalse(ShardMembership.isLive(lease, now.plusSeconds(15)));
+      assertFalse(ShardMembership.isLive(new LeaseBuilder().withNewSpec().withHolderIdentity("operator-b").endSpec().build(), now));
+   }
+
+   @Test
+   void testLeaseName() {
+      assertEquals("microcks-operator-shard-microcks-operator-7d9f-x2z",
+            ShardMembership.getLeaseName("microcks-operator-7d9f-x2z"));
+      assertEquals("microcks-operator-shard-node-1-local", ShardMembership.getLeaseName("Node_1:local"));
+   }
+}
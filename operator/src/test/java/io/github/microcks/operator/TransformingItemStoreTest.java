@@ -0,0 +1,95 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransformingItemStoreTest {
+
+   @Test
+   void testStrippingMetadata() {
+      TransformingItemStore<ConfigMap> store = TransformingItemStore.strippingMetadata();
+      ConfigMap configMap = new ConfigMapBuilder().withNewMetadata().withNamespace("ns").withName("config")
+            .withManagedFields(new ManagedFieldsEntryBuilder().withManager("kubectl").build())
+            .withAnnotations(Map.of(TransformingItemStore.LAST_APPLIED_ANNOTATION, "{}", "foo", "bar")).endMetadata()
+            .withData(Map.of("key", "value")).build();
+
+      String key = store.getKey(configMap);
+      assertEquals("ns/config", key);
+      store.put(key, configMap);
+
+      ConfigMap cached = store.get(key);
+      // Resource is transformed in place so that informer event handlers see the transformed one.
+      assertSame(configMap, cached);
+      assertTrue(cached.getMetadata().getManagedFields() == null || cached.getMetadata().getManagedFields().isEmpty());
+      assertEquals(Map.of("foo", "bar"), cached.getMetadata().getAnnotations());
+      assertEquals(Map.of("key", "value"), cached.getData());
+      assertEquals(1, store.size());
+
+      store.remove(key);
+      assertEquals(0, store.size());
+   }
+
+   @Test
+   void testMetadataOnlySecrets() {
+      TransformingItemStore<Secret> store = TransformingItemStore.metadataOnlySecrets();
+      Secret secret = buildSecret("dXNlcg==");
+      store.put(store.getKey(secret), secret);
+
+      Secret cached = store.get("ns/credentials");
+      assertNull(cached.getData());
+      assertNotNull(cached.getMetadata().getAnnotations().get(TransformingItemStore.DATA_DIGEST_ANNOTATION));
+      assertEquals("ns", cached.getMetadata().getLabels().get("app"));
+
+      // Transforming again must keep the digest.
+      String digest = cached.getMetadata().getAnnotations().get(TransformingItemStore.DATA_DIGEST_ANNOTATION);
+      TransformingItemStore.toMetadataOnlySecret(cached);
+      assertEquals(digest, cached.getMetadata().getAnnotations().get(TransformingItemStore.DATA_DIGEST_ANNOTATION));
+   }
+
+   @Test
+   void testHasDataChanged() {
+      Secret original = TransformingItemStore.toMetadataOnlySecret(buildSecret("dXNlcg=="));
+      Secret sameData = TransformingItemStore.toMetadataOnlySecret(buildSecret("dXNlcg=="));
+      Secret otherData = TransformingItemStore.toMetadataOnlySecret(buildSecret("b3RoZXI="));
+
+      assertFalse(TransformingItemStore.hasDataChanged(sameData, original));
+      assertTrue(TransformingItemStore.hasDataChanged(otherData, original));
+      // Digest of full secrets are computed on the fly.
+      assertFalse(TransformingItemStore.hasDataChanged(buildSecret("dXNlcg=="), original));
+   }
+
+   private Secret buildSecret(String username) {
+      return new SecretBuilder().withNewMetadata().withNamespace("ns").withName("credentials")
+            .withLabels(Map.of("app", "ns"))
+            .withManagedFields(new ManagedFieldsEntryBuilder().withManager("kubectl").build()).endMetadata()
+            .withData(Map.of("username", username, "password", "c2VjcmV0")).build();
+   }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.artifact;
+
+import io.github.microcks.client.ApiClient;
+import io.github.microcks.client.ApiException;
+import io.github.microcks.operator.api.artifact.v1alpha1.ArtifactSpec;
+
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class APISourceReconcilerTest {
+
+   @Test
+   void testImportArtifactsIsBoundedAndOrdered() {
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+
+      APISourceReconciler reconciler = new APISourceReconciler(new KubernetesClientBuilder().build()) {
+         @Override
+         protected String ensureArtifactIsLoaded(ApiClient apiClient, ArtifactSpec artifactSpec) throws ApiException {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+               Thread.sleep(50);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            } finally {
+               running.decrementAndGet();
+            }
+            if (artifactSpec.getUrl().endsWith("/3")) {
+               throw new ApiException(500, "Import failed");
+            }
+            return "service-" + artifactSpec.getUrl().substring(artifactSpec.getUrl().lastIndexOf('/') + 1);
+         }
+
+         @Override
+         protected String computeFingerprint(ArtifactSpec artifactSpec, String importedFingerprint) {
+            return null;
+         }
+      };
+
+      List<ArtifactSpec> artifactSpecs = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         ArtifactSpec artifactSpec = new ArtifactSpec();
+         artifactSpec.setUrl("https://example.com/artifacts/" + i);
+         artifactSpecs.add(artifactSpec);
+      }
+
+      List<APISourceReconciler.ArtifactImport> imports = reconciler.importArtifacts(null, artifactSpecs, 3, Map.of());
+
+      assertEquals(10, imports.size());
+      assertTrue(maxRunning.get() <= 3);
+      assertTrue(maxRunning.get() > 1);
+      for (int i = 0; i < 10; i++) {
+         APISourceReconciler.ArtifactImport artifactImport = imports.get(i);
+         assertEquals(artifactSpecs.get(i), artifactImport.artifactSpec());
+         assertTrue(artifactImport.durationMillis() >= 50);
+         if (i == 3) {
+            assertNull(artifactImport.serviceId());
+            assertNotNull(artifactImport.error());
+         } else {
+            assertEquals("service-" + i, artifactImport.serviceId());
+            assertNull(artifactImport.error());
+         }
+      }
+   }
+
+   @Test
+   void testUnchangedArtifactsAreSkipped() {
+      AtomicInteger loads = new AtomicInteger();
+
+      APISourceReconciler reconciler = new APISourceReconciler(new KubernetesClientBuilder().build()) {
+         @Override
+         protected String ensureArtifactIsLoaded(ApiClient apiClient, ArtifactSpec artifactSpec) {
+            loads.incrementAndGet();
+            return "service";
+         }
+
+         @Override
+         protected String computeFingerprint(ArtifactSpec artifactSpec, String importedFingerprint) {
+            return "fingerprint-" + artifactSpec.getUrl();
+         }
+
+         @Override
+         protected boolean isServicePresent(ApiClient apiClient, String serviceId) {
+            return !"deleted-service".equals(serviceId);
+         }
+      };
+
+      ArtifactSpec unchanged = new ArtifactSpec();
+      unchanged.setUrl("https://example.com/artifacts/unchanged");
+      ArtifactSpec changed = new ArtifactSpec();
+      changed.setUrl("https://example.com/artifacts/changed");
+      ArtifactSpec deleted = new ArtifactSpec();
+      deleted.setUrl("https://example.com/artifacts/deleted");
+
+      List<APISourceReconciler.ArtifactImport> imports = reconciler.importArtifacts(null,
+            List.of(unchanged, changed, deleted), 2,
+            Map.of(unchanged.getUrl(), new APISourceReconciler.ImportedArtifact("service", "fingerprint-" + unchanged.getUrl()),
+                  changed.getUrl(), new APISourceReconciler.ImportedArtifact("service", "previous-fingerprint"),
+                  deleted.getUrl(), new APISourceReconciler.ImportedArtifact("deleted-service", "fingerprint-" + deleted.getUrl())));
+
+      assertEquals(2, loads.get());
+      assertTrue(imports.get(0).skipped());
+      assertEquals("service", imports.get(0).serviceId());
+      assertFalse(imports.get(1).skipped());
+      assertEquals("fingerprint-" + changed.getUrl(), imports.get(1).fingerprint());
+      // Unchanged artifact whose service has been deleted in Microcks is imported again.
+      assertFalse(imports.get(2).skipped());
+      assertEquals("service", imports.get(2).serviceId());
+   }
+}
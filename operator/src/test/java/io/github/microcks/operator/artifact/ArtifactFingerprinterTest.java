@@ -0,0 +1,149 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.artifact;
+
+import io.github.microcks.operator.api.artifact.v1alpha1.ArtifactSpec;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArtifactFingerprinterTest {
+
+   private HttpServer server;
+   private final AtomicReference<String> etag = new AtomicReference<>();
+   private final AtomicReference<String> content = new AtomicReference<>("openapi: 3.0.0");
+   private final AtomicReference<String> receivedIfNoneMatch = new AtomicReference<>();
+   private final AtomicInteger requests = new AtomicInteger();
+
+   @BeforeEach
+   void setUp() throws IOException {
+      server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.createContext("/artifact.yml", exchange -> {
+         requests.incrementAndGet();
+         receivedIfNoneMatch.set(exchange.getRequestHeaders().getFirst("If-None-Match"));
+         if (etag.get() != null && etag.get().equals(receivedIfNoneMatch.get())) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+         }
+         if (etag.get() != null) {
+            exchange.getResponseHeaders().add("ETag", etag.get());
+         }
+         byte[] body = content.get().getBytes(StandardCharsets.UTF_8);
+         exchange.sendResponseHeaders(200, body.length);
+         try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+         }
+      });
+      server.start();
+   }
+
+   @AfterEach
+   void tearDown() {
+      server.stop(0);
+   }
+
+   @Test
+   void testFingerprintUsesConditionalRequestsWithETag() {
+      ArtifactFingerprinter fingerprinter = new ArtifactFingerprinter();
+      ArtifactSpec artifactSpec = buildArtifactSpec();
+      etag.set("\"v1\"");
+
+      String first = fingerprinter.fingerprint(artifactSpec, null);
+      assertNotNull(first);
+      assertTrue(first.endsWith("|etag|\"v1\""));
+      assertNull(receivedIfNoneMatch.get());
+
+      // Unchanged content is validated with a conditional request.
+      assertEquals(first, fingerprinter.fingerprint(artifactSpec, first));
+      assertEquals("\"v1\"", receivedIfNoneMatch.get());
+
+      // Changed content gives a new fingerprint.
+      etag.set("\"v2\"");
+      assertNotEquals(first, fingerprinter.fingerprint(artifactSpec, first));
+
+      // Changed spec gives a new fingerprint.
+      artifactSpec.setMainArtifact(false);
+      assertNotEquals(first, fingerprinter.fingerprint(artifactSpec, first));
+   }
+
+   @Test
+   void testFingerprintFallsBackToContentDigest() {
+      ArtifactFingerprinter fingerprinter = new ArtifactFingerprinter();
+      ArtifactSpec artifactSpec = buildArtifactSpec();
+
+      String first = fingerprinter.fingerprint(artifactSpec, null);
+      assertTrue(first.contains("|sha256|"));
+      assertEquals(first, fingerprinter.fingerprint(artifactSpec, first));
+
+      content.set("openapi: 3.1.0");
+      assertNotEquals(first, fingerprinter.fingerprint(artifactSpec, first));
+   }
+
+   @Test
+   void testNoFingerprintForUnreachableOrSecuredArtifacts() {
+      ArtifactFingerprinter fingerprinter = new ArtifactFingerprinter();
+
+      ArtifactSpec missing = new ArtifactSpec();
+      missing.setUrl("http://localhost:" + server.getAddress().getPort() + "/missing.yml");
+      assertNull(fingerprinter.fingerprint(missing, null));
+
+      ArtifactSpec secured = buildArtifactSpec();
+      secured.setSecretRef("my-secret");
+      assertNull(fingerprinter.fingerprint(secured, null));
+   }
+
+   @Test
+   void testNoFingerprintWithoutOptIn() {
+      ArtifactFingerprinter fingerprinter = new ArtifactFingerprinter();
+      ArtifactSpec artifactSpec = buildArtifactSpec();
+      artifactSpec.setSkipUnchanged(false);
+      etag.set("\"v1\"");
+
+      assertNull(fingerprinter.fingerprint(artifactSpec, null));
+      assertEquals(0, requests.get());
+   }
+
+   @Test
+   void testNoFingerprintForTooLargeContent() {
+      ArtifactFingerprinter fingerprinter = new ArtifactFingerprinter();
+      content.set("a".repeat((int) ArtifactFingerprinter.MAX_DIGESTED_LENGTH + 1));
+
+      assertNull(fingerprinter.fingerprint(buildArtifactSpec(), null));
+   }
+
+   private ArtifactSpec buildArtifactSpec() {
+      ArtifactSpec artifactSpec = new ArtifactSpec();
+      artifactSpec.setUrl("http://localhost:" + server.getAddress().getPort() + "/artifact.yml");
+      artifactSpec.setSkipUnchanged(true);
+      return artifactSpec;
+   }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.base.v1alpha1.MicrocksStatus;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.ReconcileResult;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicrocksReconcileMetricsTest {
+
+   @Test
+   void testMetricsAreTaggedByInstance() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      MicrocksReconcileMetrics metrics = new MicrocksReconcileMetrics(registry);
+      Microcks microcks = buildMicrocks("ns", "microcks");
+
+      metrics.stopPhase(metrics.startPhase(), microcks, MicrocksReconcileMetrics.DEFAULTS_PHASE);
+      metrics.recordModule(microcks, "Keycloak", Duration.ofMillis(100));
+      metrics.recordModule(microcks, "Keycloak", Duration.ofMillis(300));
+
+      assertEquals(1, registry.get(MicrocksReconcileMetrics.PHASE_METRIC_NAME)
+            .tags("namespace", "ns", "instance", "microcks", "phase", "defaults").timer().count());
+      assertEquals(2, registry.get(MicrocksReconcileMetrics.MODULE_METRIC_NAME)
+            .tags("namespace", "ns", "instance", "microcks", "module", "Keycloak").timer().count());
+      assertEquals(400, registry.get(MicrocksReconcileMetrics.MODULE_METRIC_NAME).tags("module", "Keycloak").timer()
+            .totalTime(TimeUnit.MILLISECONDS));
+   }
+
+   @Test
+   void testDependentsCountsAndStatusPatches() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      MicrocksReconcileMetrics metrics = new MicrocksReconcileMetrics(registry);
+      Microcks microcks = buildMicrocks("ns", "microcks");
+
+      DependentResource<?, ?> ready = new TestDependentResource();
+      DependentResource<?, ?> notReady = new TestDependentResource();
+      DependentResource<?, ?> errored = new TestDependentResource();
+      metrics.recordDependents(microcks, "Mongo", new WorkflowReconcileResult() {
+         @Override
+         public List<DependentResource> getReconciledDependents() {
+            return List.of(ready, notReady);
+         }
+
+         @Override
+         public List<DependentResource> getNotReadyDependents() {
+            return List.of(notReady);
+         }
+
+         @Override
+         public Map<DependentResource, Exception> getErroredDependents() {
+            return Map.of(errored, new IllegalStateException());
+         }
+      });
+      assertEquals(1, registry.get(MicrocksReconcileMetrics.DEPENDENTS_METRIC_NAME)
+            .tags("module", "Mongo", "state", "ready").gauge().value());
+      assertEquals(1, registry.get(MicrocksReconcileMetrics.DEPENDENTS_METRIC_NAME)
+            .tags("module", "Mongo", "state", "notReady").gauge().value());
+      assertEquals(1, registry.get(MicrocksReconcileMetrics.DEPENDENTS_METRIC_NAME)
+            .tags("module", "Mongo", "state", "errored").gauge().value());
+
+      // Gauges are updated by next reconciliation.
+      metrics.recordDependents(microcks, "Mongo", WorkflowReconcileResult.EMPTY);
+      assertEquals(0, registry.get(MicrocksReconcileMetrics.DEPENDENTS_METRIC_NAME)
+            .tags("module", "Mongo", "state", "notReady").gauge().value());
+
+      Microcks patch = buildMicrocks("ns", "microcks");
+      patch.setStatus(new MicrocksStatus());
+      metrics.recordStatusPatch(patch);
+      assertEquals(1, registry.get(MicrocksReconcileMetrics.STATUS_PATCH_METRIC_NAME).summary().count());
+      assertTrue(registry.get(MicrocksReconcileMetrics.STATUS_PATCH_METRIC_NAME).summary().totalAmount() > 0);
+   }
+
+   @Test
+   void testInvalidateOnlyRemovesInstanceMetrics() {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      MicrocksReconcileMetrics metrics = new MicrocksReconcileMetrics(registry);
+      Microcks microcks = buildMicrocks("ns", "microcks");
+      Microcks other = buildMicrocks("ns", "other");
+
+      metrics.recordModule(microcks, "Keycloak", Duration.ofMillis(100));
+      metrics.recordDependents(microcks, "Keycloak", WorkflowReconcileResult.EMPTY);
+      metrics.recordModule(other, "Keycloak", Duration.ofMillis(100));
+
+      metrics.invalidate("ns", "microcks");
+      assertNull(registry.find(MicrocksReconcileMetrics.MODULE_METRIC_NAME).tags("instance", "microcks").timer());
+      assertNull(registry.find(MicrocksReconcileMetrics.DEPENDENTS_METRIC_NAME).tags("instance", "microcks").gauge());
+      assertEquals(1, registry.get(MicrocksReconcileMetrics.MODULE_METRIC_NAME).tags("instance", "other").timer().count());
+   }
+
+   private Microcks buildMicrocks(String namespace, String name) {
+      Microcks microcks = new Microcks();
+      microcks.setMetadata(new ObjectMetaBuilder().withNamespace(namespace).withName(name).build());
+      return microcks;
+   }
+
+   private static class TestDependentResource implements DependentResource<ConfigMap, Microcks> {
+      @Override
+      public ReconcileResult<ConfigMap> reconcile(Microcks primary, Context<Microcks> context) {
+         return ReconcileResult.noOperation(null);
+      }
+
+      @Override
+      public Class<ConfigMap> resourceType() {
+         return ConfigMap.class;
+      }
+   }
+}
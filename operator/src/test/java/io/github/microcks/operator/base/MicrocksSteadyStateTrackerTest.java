@@ -0,0 +1,247 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+import io.github.microcks.operator.api.base.v1alpha1.MicrocksStatus;
+import io.github.microcks.operator.api.model.Status;
+import io.github.microcks.operator.model.NamedSecondaryResourceProvider;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.api.config.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.api.reconciler.IndexedResourceCache;
+import io.javaoperatorsdk.operator.api.reconciler.RetryInfo;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.DependentResource;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.ReconcileResult;
+import io.javaoperatorsdk.operator.api.reconciler.dependent.managed.ManagedWorkflowAndDependentResourceContext;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicrocksSteadyStateTrackerTest {
+
+   @Test
+   void testSteadyStateOfReadyInstance() {
+      MicrocksSteadyStateTracker tracker = new MicrocksSteadyStateTracker();
+      Microcks microcks = buildMicrocks(2L, Status.READY, 2L);
+      TestContext context = new TestContext(buildDeployment("microcks", 1L, 1L, 1));
+
+      // Nothing recorded yet.
+      assertFalse(tracker.isSteady(microcks, context));
+
+      tracker.record(microcks, List.of(buildResult()), List.of(), List.of(), context);
+      assertTrue(tracker.isSteady(microcks, context));
+
+      // A new generation is not in steady state.
+      assertFalse(tracker.isSteady(buildMicrocks(3L, Status.READY, 2L), context));
+
+      // Invalidation forgets the steady state.
+      tracker.invalidate("ns", "microcks");
+      assertFalse(tracker.isSteady(microcks, context));
+   }
+
+   @Test
+   void testDependentsChangesBreakSteadyState() {
+      MicrocksSteadyStateTracker tracker = new MicrocksSteadyStateTracker();
+      Microcks microcks = buildMicrocks(2L, Status.READY, 2L);
+      TestContext context = new TestContext(buildDeployment("microcks", 1L, 1L, 1));
+      tracker.record(microcks, List.of(buildResult()), List.of(), List.of(), context);
+
+      // Deployment is no longer ready.
+      context.resources.set(0, buildDeployment("microcks", 1L, 1L, 0));
+      assertFalse(tracker.isSteady(microcks, context));
+
+      // Deployment has been modified.
+      context.resources.set(0, buildDeployment("microcks", 2L, 2L, 1));
+      assertFalse(tracker.isSteady(microcks, context));
+
+      // Deployment has been deleted.
+      context.resources.clear();
+      assertFalse(tracker.isSteady(microcks, context));
+   }
+
+   @Test
+   void testStrimziResourcesChangesBreakSteadyState() {
+      MicrocksSteadyStateTracker tracker = new MicrocksSteadyStateTracker();
+      Microcks microcks = buildMicrocks(2L, Status.READY, 2L);
+      TestContext context = new TestContext(buildDeployment("microcks", 1L, 1L, 1));
+      GenericKubernetesResource kafka = buildKafka(1L, "100");
+      tracker.record(microcks, List.of(buildResult()), List.of(), List.of(kafka), context);
+      assertTrue(tracker.isSteady(microcks, context));
+
+      // Status updates of Kafka don't change its generation.
+      assertFalse(tracker.onGenericResourceEvent("ns", "microcks", buildKafka(1L, "101"), false));
+      assertTrue(tracker.isSteady(microcks, context));
+
+      // Kafka spec has been modified.
+      assertTrue(tracker.onGenericResourceEvent("ns", "microcks", buildKafka(2L, "102"), false));
+      assertFalse(tracker.isSteady(microcks, context));
+
+      // Kafka has been deleted while instance is steady.
+      tracker.record(microcks, List.of(buildResult()), List.of(), List.of(kafka), context);
+      assertTrue(tracker.isSteady(microcks, context));
+      assertTrue(tracker.onGenericResourceEvent("ns", "microcks", kafka, true));
+      assertFalse(tracker.isSteady(microcks, context));
+      assertFalse(tracker.onGenericResourceEvent("ns", "microcks", kafka, true));
+   }
+
+   @Test
+   void testNotReadyInstanceIsNotRecorded() {
+      MicrocksSteadyStateTracker tracker = new MicrocksSteadyStateTracker();
+      TestContext context = new TestContext(buildDeployment("microcks", 1L, 1L, 1));
+
+      Microcks deploying = buildMicrocks(2L, Status.DEPLOYING, 2L);
+      tracker.record(deploying, List.of(buildResult()), List.of(), List.of(), context);
+      deploying.getStatus().setStatus(Status.READY);
+      assertFalse(tracker.isSteady(deploying, context));
+
+      // Dependent not yet in cache.
+      Microcks microcks = buildMicrocks(2L, Status.READY, 2L);
+      tracker.record(microcks, List.of(buildResult()), List.of(), List.of(), new TestContext());
+      assertFalse(tracker.isSteady(microcks, context));
+   }
+
+   private static Microcks buildMicrocks(Long generation, Status status, long observedGeneration) {
+      Microcks microcks = new Microcks();
+      microcks.setMetadata(new ObjectMetaBuilder().withNamespace("ns").withName("microcks").withGeneration(generation).build());
+      microcks.setStatus(new MicrocksStatus());
+      microcks.getStatus().setStatus(status);
+      microcks.getStatus().setObservedGeneration(observedGeneration);
+      return microcks;
+   }
+
+   private static Deployment buildDeployment(String name, Long generation, Long observedGeneration, int readyReplicas) {
+      return new DeploymentBuilder()
+            .withNewMetadata().withNamespace("ns").withName(name).withGeneration(generation).endMetadata()
+            .withNewSpec().withReplicas(1).endSpec()
+            .withNewStatus().withObservedGeneration(observedGeneration).withReadyReplicas(readyReplicas).endStatus()
+            .build();
+   }
+
+   private static GenericKubernetesResource buildKafka(Long generation, String resourceVersion) {
+      return new GenericKubernetesResourceBuilder().withApiVersion("kafka.strimzi.io/v1beta2").withKind("Kafka")
+            .withNewMetadata().withNamespace("ns").withName("microcks-kafka").withGeneration(generation)
+            .withResourceVersion(resourceVersion).endMetadata().build();
+   }
+
+   private static WorkflowReconcileResult buildResult() {
+      DependentResource<?, ?> deployment = new TestDependentResource();
+      return new WorkflowReconcileResult() {
+         @Override
+         public List<DependentResource> getReconciledDependents() {
+            return List.of(deployment);
+         }
+      };
+   }
+
+   private static class TestDependentResource
+         implements DependentResource<Deployment, Microcks>, NamedSecondaryResourceProvider<Microcks> {
+      @Override
+      public ReconcileResult<Deployment> reconcile(Microcks primary, Context<Microcks> context) {
+         return ReconcileResult.noOperation(null);
+      }
+
+      @Override
+      public Class<Deployment> resourceType() {
+         return Deployment.class;
+      }
+
+      @Override
+      public String getSecondaryResourceName(Microcks primary) {
+         return primary.getMetadata().getName();
+      }
+   }
+
+   /** A context only serving secondary resources from a list. */
+   private static class TestContext implements Context<Microcks> {
+      private final List<Object> resources;
+
+      TestContext(Object... resources) {
+         this.resources = new ArrayList<>(List.of(resources));
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public <R> Set<R> getSecondaryResources(Class<R> expectedType) {
+         return (Set<R>) Set.copyOf(resources.stream().filter(expectedType::isInstance).toList());
+      }
+
+      @Override
+      public <R> Optional<R> getSecondaryResource(Class<R> expectedType, String eventSourceName) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Optional<RetryInfo> getRetryInfo() {
+         return Optional.empty();
+      }
+
+      @Override
+      public ControllerConfiguration<Microcks> getControllerConfiguration() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ManagedWorkflowAndDependentResourceContext managedWorkflowAndDependentResourceContext() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public EventSourceRetriever<Microcks> eventSourceRetriever() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public KubernetesClient getClient() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ExecutorService getWorkflowExecutorService() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Microcks getPrimaryResource() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public IndexedResourceCache<Microcks> getPrimaryCache() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean isNextReconciliationImminent() {
+         return false;
+      }
+   }
+}
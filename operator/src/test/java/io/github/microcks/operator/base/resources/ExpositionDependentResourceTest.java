@@ -0,0 +1,56 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.github.microcks.operator.MicrocksOperatorConfig;
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.fabric8.kubernetes.api.model.networking.v1.IngressBuilder;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpositionDependentResourceTest {
+
+   @Test
+   void testDesiredIsManagedAndTargetDoesNotPrepare() {
+      AtomicInteger preparations = new AtomicInteger();
+      ExpositionDependentResource<Ingress> dependent = new ExpositionDependentResource<>(Ingress.class, "test-ingress",
+            microcks -> microcks.getMetadata().getName(), (microcks, context) -> {
+               preparations.incrementAndGet();
+               return new IngressBuilder().withNewMetadata().withName(microcks.getMetadata().getName())
+                     .addToLabels("app", microcks.getMetadata().getName()).endMetadata().build();
+            });
+
+      Microcks microcks = new Microcks();
+      microcks.setMetadata(new ObjectMetaBuilder().withNamespace("ns").withName("microcks").build());
+
+      // Target resource is identified without preparing the desired one.
+      assertEquals(new ResourceID("microcks", "ns"), dependent.targetSecondaryResourceID(microcks, null));
+      assertEquals(0, preparations.get());
+
+      Ingress desired = dependent.desired(microcks, null);
+      assertEquals(1, preparations.get());
+      assertEquals("ns", desired.getMetadata().getNamespace());
+      assertEquals(MicrocksOperatorConfig.OPERATOR_NAME, desired.getMetadata().getLabels().get("app.kubernetes.io/managed-by"));
+      assertEquals("microcks", desired.getMetadata().getLabels().get("app"));
+   }
+}
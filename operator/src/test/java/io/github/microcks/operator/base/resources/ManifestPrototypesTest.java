@@ -0,0 +1,47 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.javaoperatorsdk.operator.ReconcilerUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ManifestPrototypesTest {
+
+   private static final String MANIFEST = "/k8s/microcks-deployment.yml";
+
+   @Test
+   void testPrototypeIsParsedOnceAndNeverModified() {
+      Deployment expected = ReconcilerUtils.loadYaml(Deployment.class, getClass(), MANIFEST);
+      assertSame(ManifestPrototypes.getPrototype(Deployment.class, MANIFEST),
+            ManifestPrototypes.getPrototype(Deployment.class, MANIFEST));
+
+      // Modify a deployment built from prototype, both through builder and built object.
+      Deployment deployment = ManifestPrototypes.deploymentBuilder(MANIFEST)
+            .editMetadata().withName("my-microcks").addToLabels("app", "my-microcks").endMetadata()
+            .build();
+      deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv().add(new EnvVar("FOO", "bar", null));
+      deployment.getSpec().getTemplate().getMetadata().getLabels().put("foo", "bar");
+      deployment.getSpec().setReplicas(42);
+
+      assertEquals(expected, ManifestPrototypes.getPrototype(Deployment.class, MANIFEST));
+      assertEquals(expected, ManifestPrototypes.deploymentBuilder(MANIFEST).build());
+   }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TemplateRenderCacheTest {
+
+   @Test
+   void testRenderingOnlyWhenInputsChange() {
+      TemplateRenderCache cache = new TemplateRenderCache();
+      AtomicInteger renderings = new AtomicInteger();
+
+      Map<String, String> spec = new LinkedHashMap<>();
+      spec.put("a", "1");
+      spec.put("b", "2");
+      cache.getOrRender("config", "ns", "microcks", new Object[] { "microcks", spec }, () -> render(renderings));
+      assertEquals(1, renderings.get());
+
+      // Same inputs in another order are not rendered again.
+      Map<String, String> sameSpec = new LinkedHashMap<>();
+      sameSpec.put("b", "2");
+      sameSpec.put("a", "1");
+      Map<String, String> data = cache.getOrRender("config", "ns", "microcks", new Object[] { "microcks", sameSpec },
+            () -> render(renderings));
+      assertEquals(1, renderings.get());
+      assertEquals("rendering-1", data.get("file"));
+
+      // Changed inputs, other template groups or instances are rendered.
+      sameSpec.put("a", "changed");
+      cache.getOrRender("config", "ns", "microcks", new Object[] { "microcks", sameSpec }, () -> render(renderings));
+      cache.getOrRender("other", "ns", "microcks", new Object[] { "microcks", sameSpec }, () -> render(renderings));
+      cache.getOrRender("config", "ns", "other", new Object[] { "other", sameSpec }, () -> render(renderings));
+      assertEquals(4, renderings.get());
+
+      // Invalidated instance is rendered again.
+      cache.invalidate("ns", "microcks");
+      cache.getOrRender("config", "ns", "microcks", new Object[] { "microcks", sameSpec }, () -> render(renderings));
+      cache.getOrRender("config", "ns", "other", new Object[] { "other", sameSpec }, () -> render(renderings));
+      assertEquals(5, renderings.get());
+   }
+
+   private Map<String, String> render(AtomicInteger renderings) {
+      return Map.of("file", "rendering-" + renderings.incrementAndGet());
+   }
+}
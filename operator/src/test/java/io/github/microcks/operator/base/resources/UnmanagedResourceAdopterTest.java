@@ -0,0 +1,115 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.resources;
+
+import io.github.microcks.operator.MicrocksOperatorConfig;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnmanagedResourceAdopterTest {
+
+   @Test
+   void testUnlabelledResourceIsAdoptedOnce() {
+      UnmanagedResourceAdopter<Secret> adopter = new UnmanagedResourceAdopter<>(Secret.class);
+      Secret legacy = new SecretBuilder().withNewMetadata().withName("microcks-microcks-ingress-secret")
+            .withNamespace("ns").withLabels(Map.of("app", "microcks", "group", "microcks")).endMetadata().build();
+      AtomicInteger gets = new AtomicInteger();
+      AtomicInteger labels = new AtomicInteger();
+
+      ResourceID id = new ResourceID("microcks-microcks-ingress-secret", "ns");
+      Optional<Secret> adopted = adopter.adoptOnce(id, resourceID -> {
+         gets.incrementAndGet();
+         return legacy;
+      }, secret -> {
+         labels.incrementAndGet();
+         secret.getMetadata().getLabels().put("app.kubernetes.io/managed-by", MicrocksOperatorConfig.OPERATOR_NAME);
+         return secret;
+      });
+
+      assertTrue(adopted.isPresent());
+      assertTrue(UnmanagedResourceAdopter.isManaged(adopted.get()));
+      assertEquals("microcks", adopted.get().getMetadata().getLabels().get("app"));
+      assertEquals(1, gets.get());
+      assertEquals(1, labels.get());
+
+      // Resource is only looked up once.
+      assertFalse(adopter.adoptOnce(id, resourceID -> {
+         gets.incrementAndGet();
+         return legacy;
+      }, secret -> secret).isPresent());
+      assertEquals(1, gets.get());
+   }
+
+   @Test
+   void testFailedOrForgottenResourceIsLookedUpAgain() {
+      UnmanagedResourceAdopter<Secret> adopter = new UnmanagedResourceAdopter<>(Secret.class);
+      ResourceID id = new ResourceID("microcks-microcks-ingress-secret", "ns");
+      AtomicInteger gets = new AtomicInteger();
+
+      assertThrows(IllegalStateException.class, () -> adopter.adoptOnce(id, resourceID -> {
+         gets.incrementAndGet();
+         throw new IllegalStateException("API server unavailable");
+      }, secret -> secret));
+
+      // Failed lookup is retried.
+      assertFalse(adopter.adoptOnce(id, resourceID -> {
+         gets.incrementAndGet();
+         return null;
+      }, secret -> secret).isPresent());
+      assertEquals(2, gets.get());
+
+      // Forgotten resource is looked up again.
+      adopter.forget(id);
+      assertFalse(adopter.adoptOnce(id, resourceID -> {
+         gets.incrementAndGet();
+         return null;
+      }, secret -> secret).isPresent());
+      assertEquals(3, gets.get());
+   }
+
+   @Test
+   void testMissingOrManagedResourceIsNotLabelled() {
+      UnmanagedResourceAdopter<Secret> adopter = new UnmanagedResourceAdopter<>(Secret.class);
+      AtomicInteger labels = new AtomicInteger();
+
+      assertFalse(adopter.adoptOnce(new ResourceID("missing", "ns"), resourceID -> null, secret -> {
+         labels.incrementAndGet();
+         return secret;
+      }).isPresent());
+
+      Secret managed = new SecretBuilder().withNewMetadata().withName("managed").withNamespace("ns")
+            .withLabels(Map.of("app.kubernetes.io/managed-by", MicrocksOperatorConfig.OPERATOR_NAME)).endMetadata()
+            .build();
+      Optional<Secret> found = adopter.adoptOnce(new ResourceID("managed", "ns"), resourceID -> managed, secret -> {
+         labels.incrementAndGet();
+         return secret;
+      });
+      assertTrue(found.isPresent());
+      assertEquals(0, labels.get());
+   }
+}
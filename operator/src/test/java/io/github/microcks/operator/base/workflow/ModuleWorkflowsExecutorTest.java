@@ -0,0 +1,161 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.base.workflow;
+
+import io.github.microcks.operator.api.base.v1alpha1.Microcks;
+
+import io.javaoperatorsdk.operator.api.reconciler.Context;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.Workflow;
+import io.javaoperatorsdk.operator.processing.dependent.workflow.WorkflowReconcileResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModuleWorkflowsExecutorTest {
+
+   private ExecutorService executor;
+
+   @BeforeEach
+   void setUp() {
+      executor = Executors.newCachedThreadPool();
+   }
+
+   @AfterEach
+   void tearDown() {
+      executor.shutdownNow();
+   }
+
+   @Test
+   void testIndependentModulesRunConcurrently() {
+      // Both modules wait for each other: this only completes if they're running concurrently.
+      CountDownLatch latch = new CountDownLatch(2);
+      WorkflowReconcileResult resultA = new WorkflowReconcileResult() {};
+      WorkflowReconcileResult resultB = new WorkflowReconcileResult() {};
+
+      Map<String, WorkflowReconcileResult> results = new ModuleWorkflowsExecutor<Microcks>(executor)
+            .addModule("B", awaiting(latch, resultB))
+            .addModule("A", awaiting(latch, resultA))
+            .reconcile(new Microcks(), null);
+
+      assertEquals(List.of("B", "A"), List.copyOf(results.keySet()));
+      assertSame(resultB, results.get("B"));
+      assertSame(resultA, results.get("A"));
+   }
+
+   @Test
+   void testDependentModuleRunsAfterItsDependencies() {
+      List<String> executions = new CopyOnWriteArrayList<>();
+
+      new ModuleWorkflowsExecutor<Microcks>(executor)
+            .addModule("A", recording(executions, "A", 50))
+            .addModule("B", recording(executions, "B", 10))
+            .addModule("C", recording(executions, "C", 0), "A", "B")
+            .reconcile(new Microcks(), null);
+
+      assertEquals(3, executions.size());
+      assertEquals("C", executions.get(2));
+   }
+
+   @Test
+   void testFailureSkipsDependentsAndIsReportedInOrder() {
+      List<String> executions = new CopyOnWriteArrayList<>();
+      IllegalStateException failure = new IllegalStateException("A failed");
+
+      ModuleWorkflowsExecutor<Microcks> modules = new ModuleWorkflowsExecutor<Microcks>(executor)
+            .addModule("A", new Workflow<>() {
+               @Override
+               public WorkflowReconcileResult reconcile(Microcks primary, Context<Microcks> context) {
+                  throw failure;
+               }
+            })
+            .addModule("B", recording(executions, "B", 0), "A")
+            .addModule("C", recording(executions, "C", 0));
+
+      IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> modules.reconcile(new Microcks(), null));
+      assertSame(failure, thrown);
+      assertFalse(executions.contains("B"));
+      assertTrue(executions.contains("C"));
+   }
+
+   @Test
+   void testModulesDurationsAreReported() {
+      List<String> executions = new CopyOnWriteArrayList<>();
+      Map<String, Duration> durations = new ConcurrentHashMap<>();
+
+      new ModuleWorkflowsExecutor<Microcks>(executor)
+            .addModule("A", recording(executions, "A", 50))
+            .addModule("B", recording(executions, "B", 0), "A")
+            .reconcile(new Microcks(), null, durations::put);
+
+      assertEquals(2, durations.size());
+      assertTrue(durations.get("A").toMillis() >= 50);
+      assertTrue(durations.get("B").toMillis() < durations.get("A").toMillis());
+   }
+
+   @Test
+   void testUnknownDependencyIsRejected() {
+      ModuleWorkflowsExecutor<Microcks> modules = new ModuleWorkflowsExecutor<>(executor);
+      assertThrows(IllegalArgumentException.class, () -> modules.addModule("A", new Workflow<>() {}, "B"));
+   }
+
+   private Workflow<Microcks> awaiting(CountDownLatch latch, WorkflowReconcileResult result) {
+      return new Workflow<>() {
+         @Override
+         public WorkflowReconcileResult reconcile(Microcks primary, Context<Microcks> context) {
+            latch.countDown();
+            try {
+               if (!latch.await(5, TimeUnit.SECONDS)) {
+                  throw new IllegalStateException("Modules have not been run concurrently");
+               }
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+            return result;
+         }
+      };
+   }
+
+   private Workflow<Microcks> recording(List<String> executions, String name, long durationMs) {
+      return new Workflow<>() {
+         @Override
+         public WorkflowReconcileResult reconcile(Microcks primary, Context<Microcks> context) {
+            try {
+               Thread.sleep(durationMs);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+            executions.add(name);
+            return WorkflowReconcileResult.EMPTY;
+         }
+      };
+   }
+}
@@ -16,11 +16,16 @@
 package io.github.microcks.operator.model;
 
 import io.github.microcks.operator.api.model.Condition;
+import io.github.microcks.operator.api.model.Status;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This is a unit test for the {@link ConditionUtil} util class.
@@ -46,4 +51,27 @@ class ConditionUtilTest {
       String secondTransitionTime = condition.getLastTransitionTime();
       assertNotEquals(secondTransitionTime, firstTransitionTime);
    }
+
+   @Test
+   void testUpdateConditionOnlyTouchesOnTransition() {
+      Condition condition = new Condition();
+
+      // First update is always a transition.
+      assertTrue(ConditionUtil.updateCondition(condition, Status.DEPLOYING, null));
+      assertNotNull(condition.getLastTransitionTime());
+
+      // Same status and message is not a transition and keeps time.
+      condition.setLastTransitionTime("2024-01-01T00:00:00Z");
+      assertFalse(ConditionUtil.updateCondition(condition, Status.DEPLOYING, null));
+      assertEquals("2024-01-01T00:00:00Z", condition.getLastTransitionTime());
+
+      // Changing status or message are transitions.
+      assertTrue(ConditionUtil.updateCondition(condition, Status.READY, null));
+      assertNotEquals("2024-01-01T00:00:00Z", condition.getLastTransitionTime());
+      condition.setLastTransitionTime("2024-01-01T00:00:00Z");
+      assertTrue(ConditionUtil.updateCondition(condition, Status.READY, "id"));
+      assertEquals(Status.READY, condition.getStatus());
+      assertEquals("id", condition.getMessage());
+      assertNotEquals("2024-01-01T00:00:00Z", condition.getLastTransitionTime());
+   }
 }
@@ -64,4 +64,19 @@ class MicrocksReconcilerTest {
       Assertions.assertEquals("quay.io/microcks/microcks-postman-runtime:0.6.0", spec.getPostman().getImage().getCoordinates());
       Assertions.assertEquals(1, spec.getMicrocks().getReplicas());
    }
+
+   @Test
+   void testLoadDefaultMicrocksSpecReturnsIsolatedCopies() throws Exception {
+      MicrocksReconciler reconciler = new MicrocksReconciler(new KubernetesClientBuilder().build());
+
+      MicrocksSpec spec = reconciler.loadDefaultMicrocksSpec("1.10.1");
+      spec.getMicrocks().setReplicas(3);
+      spec.getPostman().getImage().setTag("modified");
+
+      // Second load comes from cache and must not see the previous modifications.
+      MicrocksSpec otherSpec = reconciler.loadDefaultMicrocksSpec("1.10.1");
+      Assertions.assertNotSame(spec, otherSpec);
+      Assertions.assertEquals(1, otherSpec.getMicrocks().getReplicas());
+      Assertions.assertEquals("quay.io/microcks/microcks-postman-runtime:0.6.0", otherSpec.getPostman().getImage().getCoordinates());
+   }
 }
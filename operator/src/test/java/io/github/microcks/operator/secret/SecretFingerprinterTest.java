@@ -0,0 +1,59 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.secret;
+
+import io.github.microcks.client.model.Secret;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SecretFingerprinterTest {
+
+   @Test
+   void testFingerprintDependsOnValues() {
+      SecretFingerprinter fingerprinter = new SecretFingerprinter("test-key".getBytes(StandardCharsets.UTF_8));
+
+      String fingerprint = fingerprinter.fingerprint(buildSecret("admin", "s3cr3t"));
+      assertEquals(fingerprint, fingerprinter.fingerprint(buildSecret("admin", "s3cr3t")));
+      assertNotEquals(fingerprint, fingerprinter.fingerprint(buildSecret("admin", "changed")));
+
+      // Values cannot be shifted from one field to another.
+      assertNotEquals(fingerprinter.fingerprint(buildSecret("ab", "c")), fingerprinter.fingerprint(buildSecret("a", "bc")));
+      // Null and empty values are different.
+      assertNotEquals(fingerprinter.fingerprint(buildSecret(null, "s3cr3t")), fingerprinter.fingerprint(buildSecret("", "s3cr3t")));
+   }
+
+   @Test
+   void testFingerprintDependsOnKey() {
+      SecretFingerprinter fingerprinter = new SecretFingerprinter();
+      SecretFingerprinter otherFingerprinter = new SecretFingerprinter();
+
+      assertNotEquals(fingerprinter.fingerprint(buildSecret("admin", "s3cr3t")),
+            otherFingerprinter.fingerprint(buildSecret("admin", "s3cr3t")));
+   }
+
+   private Secret buildSecret(String username, String password) {
+      Secret secret = new Secret();
+      secret.setName("my-secret");
+      secret.setUsername(username);
+      secret.setPassword(password);
+      return secret;
+   }
+}
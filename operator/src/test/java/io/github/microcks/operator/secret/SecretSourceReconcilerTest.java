@@ -0,0 +1,60 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.secret;
+
+import io.github.microcks.operator.api.secret.v1alpha1.SecretSource;
+import io.github.microcks.operator.api.secret.v1alpha1.SecretSourceSpec;
+import io.github.microcks.operator.api.secret.v1alpha1.SecretSpec;
+import io.github.microcks.operator.api.secret.v1alpha1.SecretValuesFromSpec;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecretSourceReconcilerTest {
+
+   @Test
+   void testSecretRefIndexKeys() {
+      SecretSource secretSource = new SecretSource();
+      secretSource.setMetadata(new ObjectMetaBuilder().withName("my-secrets").withNamespace("ns").build());
+      SecretSourceSpec spec = new SecretSourceSpec();
+      spec.setSecrets(List.of(buildSecretSpec("kube-secret-1"), buildSecretSpec(null), buildSecretSpec("kube-secret-2"),
+            buildSecretSpec("kube-secret-1")));
+      secretSource.setSpec(spec);
+
+      assertEquals(List.of("kube-secret-1#ns", "kube-secret-2#ns"), SecretSourceReconciler.getSecretRefIndexKeys(secretSource));
+      assertEquals("kube-secret-1#ns", SecretSourceReconciler.getSecretRefIndexKey("kube-secret-1", "ns"));
+
+      // A SecretSource without secrets is not indexed.
+      secretSource.setSpec(new SecretSourceSpec());
+      assertTrue(SecretSourceReconciler.getSecretRefIndexKeys(secretSource).isEmpty());
+   }
+
+   private SecretSpec buildSecretSpec(String secretRef) {
+      SecretSpec secretSpec = new SecretSpec();
+      secretSpec.setName("secret-" + secretRef);
+      if (secretRef != null) {
+         SecretValuesFromSpec valuesFromSpec = new SecretValuesFromSpec();
+         valuesFromSpec.setSecretRef(secretRef);
+         secretSpec.setValuesFrom(valuesFromSpec);
+      }
+      return secretSpec;
+   }
+}
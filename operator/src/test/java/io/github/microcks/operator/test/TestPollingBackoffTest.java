@@ -0,0 +1,95 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.test;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestPollingBackoffTest {
+
+   @Test
+   void testDelaysGrowUntilMax() {
+      MutableClock clock = new MutableClock();
+      TestPollingBackoff backoff = new TestPollingBackoff(clock);
+
+      // Long timeout so that it doesn't bound the delays.
+      assertEquals(Duration.ofSeconds(2), backoff.start("uid", 600_000));
+      assertEquals(Duration.ofSeconds(4), backoff.next("uid", null, 600_000));
+      assertEquals(Duration.ofSeconds(8), backoff.next("uid", null, 600_000));
+      assertEquals(Duration.ofSeconds(16), backoff.next("uid", null, 600_000));
+      assertEquals(Duration.ofSeconds(30), backoff.next("uid", null, 600_000));
+      assertEquals(Duration.ofSeconds(30), backoff.next("uid", null, 600_000));
+   }
+
+   @Test
+   void testDelaysAreBoundedByTimeout() {
+      MutableClock clock = new MutableClock();
+      TestPollingBackoff backoff = new TestPollingBackoff(clock);
+
+      assertEquals(Duration.ofSeconds(2), backoff.start("uid", 5000));
+      clock.advance(Duration.ofSeconds(2));
+      assertEquals(Duration.ofSeconds(4), backoff.next("uid", null, 5000));
+      clock.advance(Duration.ofSeconds(2));
+      // Next would be 8 sec but test is expected to end in 1 sec (+1 sec of grace).
+      assertEquals(Duration.ofSeconds(2), backoff.next("uid", null, 5000));
+      clock.advance(Duration.ofSeconds(2));
+      // Once past the deadline, backoff goes on.
+      assertEquals(Duration.ofSeconds(16), backoff.next("uid", null, 5000));
+   }
+
+   @Test
+   void testUntrackedTestRestartsFromCreation() {
+      MutableClock clock = new MutableClock();
+      TestPollingBackoff backoff = new TestPollingBackoff(clock);
+
+      Instant createdAt = clock.instant().minusSeconds(1);
+      assertEquals(Duration.ofSeconds(2), backoff.next("uid", createdAt, 60_000));
+      assertEquals(Duration.ofSeconds(4), backoff.next("uid", createdAt, 60_000));
+
+      backoff.stop("uid");
+      assertEquals(Duration.ofSeconds(2), backoff.next("uid", createdAt, 60_000));
+   }
+
+   private static class MutableClock extends Clock {
+      private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+      void advance(Duration duration) {
+         instant = instant.plus(duration);
+      }
+
+      @Override
+      public ZoneId getZone() {
+         return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone(ZoneId zone) {
+         return this;
+      }
+
+      @Override
+      public Instant instant() {
+         return instant;
+      }
+   }
+}
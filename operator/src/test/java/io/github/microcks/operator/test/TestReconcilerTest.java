@@ -0,0 +1,82 @@
+/*
+ * Copyright The Microcks Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microcks.operator.test;
+
+import io.github.microcks.operator.api.model.ValueFromSecretSpec;
+import io.github.microcks.operator.api.test.v1alpha1.OAuth2ClientContext;
+import io.github.microcks.operator.api.test.v1alpha1.TestSpec;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestReconcilerTest {
+
+   @Test
+   void testSecretRefIndexKeys() {
+      OAuth2ClientContext oAuth2Context = new OAuth2ClientContext();
+      oAuth2Context.setClientIdFrom(buildValueFrom("oauth-client", "client-id"));
+      oAuth2Context.setClientSecretFrom(buildValueFrom("oauth-client", "client-secret"));
+      oAuth2Context.setPasswordFrom(buildValueFrom("oauth-user", "password"));
+      io.github.microcks.operator.api.test.v1alpha1.Test test = buildTest(oAuth2Context);
+
+      assertEquals(Set.of("oauth-client", "oauth-user"), TestReconciler.getSecretRefs(test));
+      assertEquals(List.of("oauth-client#ns", "oauth-user#ns"), TestReconciler.getSecretRefIndexKeys(test));
+
+      // A Test without OAuth2 context is not indexed.
+      assertTrue(TestReconciler.getSecretRefIndexKeys(buildTest(null)).isEmpty());
+   }
+
+   @Test
+   void testGetSecretValue() {
+      Secret kubeSecret = new SecretBuilder().withNewMetadata().withName("oauth-client").endMetadata()
+            .addToData("client-id", Base64.getEncoder().encodeToString("my-client".getBytes(StandardCharsets.UTF_8)))
+            .build();
+      Map<String, Secret> secrets = Map.of("oauth-client", kubeSecret);
+
+      // Secret is looked up by its reference and value is decoded.
+      assertEquals("my-client", TestReconciler.getSecretValue(buildValueFrom("oauth-client", "client-id"), secrets));
+      assertNull(TestReconciler.getSecretValue(buildValueFrom("oauth-client", "client-secret"), secrets));
+      assertNull(TestReconciler.getSecretValue(buildValueFrom("unknown", "client-id"), secrets));
+   }
+
+   private io.github.microcks.operator.api.test.v1alpha1.Test buildTest(OAuth2ClientContext oAuth2Context) {
+      io.github.microcks.operator.api.test.v1alpha1.Test test = new io.github.microcks.operator.api.test.v1alpha1.Test();
+      test.setMetadata(new ObjectMetaBuilder().withName("my-test").withNamespace("ns").build());
+      TestSpec spec = new TestSpec();
+      spec.setOAuth2Context(oAuth2Context);
+      test.setSpec(spec);
+      return test;
+   }
+
+   private ValueFromSecretSpec buildValueFrom(String secretRef, String secretKey) {
+      ValueFromSecretSpec valueFrom = new ValueFromSecretSpec();
+      valueFrom.setSecretRef(secretRef);
+      valueFrom.setSecretKey(secretKey);
+      return valueFrom;
+   }
+}